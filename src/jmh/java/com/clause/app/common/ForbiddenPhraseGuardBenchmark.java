@@ -0,0 +1,117 @@
+package com.clause.app.common;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 큰 items 배열에서 금지 표현 검사 비용: 표현마다 contains(기존 동작) vs Aho-Corasick 한 번 스캔,
+ * 그리고 items 사본의 항목마다 guardItem()을 SENTENCE/PHRASE 모드로 돌린 비용. 항목 10개 중 1개에 금지 표현이 들어 있다.
+ * ./gradlew jmh -Pjmh.includes=ForbiddenPhraseGuardBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ForbiddenPhraseGuardBenchmark {
+
+    private static final Set<String> LEGACY_PHRASES = new HashSet<>(Arrays.asList(
+            "불법", "위법", "무효", "반드시", "확실히", "100%", "절대", "무조건",
+            "틀림없이", "확정적으로", "원천적으로", "법적으로"
+    ));
+
+    @Param({"100", "1000", "5000"})
+    private int itemCount;
+
+    private ForbiddenPhraseGuard sentenceGuard;
+    private ForbiddenPhraseGuard phraseGuard;
+    private PhraseMatcher matcher;
+    private JsonNode root;
+    private List<String> texts;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        DefaultResourceLoader resourceLoader = new DefaultResourceLoader();
+        String dictionaryPath = "classpath:guard/forbidden-phrases.txt";
+        sentenceGuard = new ForbiddenPhraseGuard(objectMapper, resourceLoader, dictionaryPath,
+                ForbiddenPhraseGuard.Mode.SENTENCE);
+        phraseGuard = new ForbiddenPhraseGuard(objectMapper, resourceLoader, dictionaryPath,
+                ForbiddenPhraseGuard.Mode.PHRASE);
+        matcher = PhraseMatcher.compile(LEGACY_PHRASES);
+
+        ObjectNode document = objectMapper.createObjectNode();
+        ArrayNode items = document.putArray("items");
+        texts = new ArrayList<>();
+        for (int i = 0; i < itemCount; i++) {
+            ObjectNode item = items.addObject();
+            item.put("clause_id", "C-" + i);
+            item.put("title", "제" + i + "조 (손해배상)");
+            item.put("label", "WARNING");
+            item.put("risk_reason", i % 10 == 0
+                    ? "을은 계약 위반 시 갑에게 발생한 손해를 반드시 전액 배상해야 하는 조항이에요."
+                    : "을은 계약 위반 시 갑에게 발생한 손해를 전액 배상해야 하는 조항이라 범위를 확인해 보면 좋아요.");
+            ArrayNode suggestions = item.putArray("soft_suggestion");
+            suggestions.add("배상 범위를 통상 손해로 한정하는 문구를 제안해 볼 수 있어요.");
+            suggestions.add("손해배상 예정액의 상한을 정해 두는 방법도 있어요.");
+            item.putArray("triggers").add("UNLIMITED_LIABILITY");
+
+            texts.add(item.get("title").asText());
+            texts.add(item.get("risk_reason").asText());
+            suggestions.forEach(suggestion -> texts.add(suggestion.asText()));
+        }
+        root = document;
+    }
+
+    @Benchmark
+    public int legacyContains() {
+        int flagged = 0;
+        for (String text : texts) {
+            String lowerText = text.toLowerCase();
+            if (LEGACY_PHRASES.stream().anyMatch(lowerText::contains)) {
+                flagged++;
+            }
+        }
+        return flagged;
+    }
+
+    @Benchmark
+    public int ahoCorasick() {
+        int flagged = 0;
+        for (String text : texts) {
+            if (matcher.matches(text)) {
+                flagged++;
+            }
+        }
+        return flagged;
+    }
+
+    @Benchmark
+    public int guardSentenceMode() {
+        return guardItems(sentenceGuard);
+    }
+
+    @Benchmark
+    public int guardPhraseMode() {
+        return guardItems(phraseGuard);
+    }
+
+    private int guardItems(ForbiddenPhraseGuard guard) {
+        int modified = 0;
+        for (JsonNode item : root.get("items").deepCopy()) {
+            if (guard.guardItem((ObjectNode) item)) {
+                modified++;
+            }
+        }
+        return modified;
+    }
+}
@@ -0,0 +1,100 @@
+package com.clause.app.domain.llm;
+
+import com.clause.app.domain.llm.dto.LlmRequest;
+import com.clause.app.domain.llm.dto.LlmResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 50~200KB 프롬프트 기준 요청 인코딩 + 응답 디코딩 비용: Map/JsonNode 트리(기존 동작) vs 스트리밍 코덱.
+ * ./gradlew jmh -Pjmh.includes=LlmJsonCodecBenchmark (-prof gc로 할당량 비교)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LlmJsonCodecBenchmark {
+
+    @Param({"50", "100", "200"})
+    private int promptKb;
+
+    private ObjectMapper objectMapper;
+    private LlmJsonCodec codec;
+    private DefaultDataBufferFactory bufferFactory;
+    private LlmRequest request;
+    private byte[] responseBody;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = new ObjectMapper();
+        codec = new LlmJsonCodec(objectMapper.getFactory());
+        bufferFactory = new DefaultDataBufferFactory();
+
+        String clause = "제%d조 (손해배상) 을은 계약 위반 시 갑에게 발생한 모든 손해를 \"무제한\"으로 배상한다.\n";
+        StringBuilder userPrompt = new StringBuilder();
+        for (int i = 1; userPrompt.length() * 3 < promptKb * 1024; i++) {
+            userPrompt.append(String.format(clause, i));
+        }
+        request = LlmRequest.builder()
+                .systemPrompt("너는 계약서 분석 도우미야.")
+                .developerPrompt("다음 규칙에 따라 JSON으로만 답해.\n".repeat(200))
+                .userPrompt(userPrompt.toString())
+                .build();
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("id", "chatcmpl-bench");
+        response.put("model", "gpt-4o-mini");
+        response.put("choices", List.of(Map.of("index", 0,
+                "message", Map.of("role", "assistant", "content", "{\"items\": []}".repeat(400)))));
+        response.put("usage", Map.of("prompt_tokens", 30000, "completion_tokens", 2000, "total_tokens", 32000));
+        responseBody = objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public LlmResponse treeBased() throws Exception {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("model", "gpt-4o-mini");
+        payload.put("temperature", 0.3);
+        payload.put("max_tokens", 4000);
+        List<Map<String, String>> messages = new ArrayList<>();
+        Map<String, String> systemMsg = new HashMap<>();
+        systemMsg.put("role", "system");
+        systemMsg.put("content", request.getSystemPrompt());
+        messages.add(systemMsg);
+        Map<String, String> userMsg = new HashMap<>();
+        userMsg.put("role", "user");
+        userMsg.put("content", request.getDeveloperPrompt() + "\n\n" + request.getUserPrompt());
+        messages.add(userMsg);
+        payload.put("messages", messages);
+
+        DataBuffer buffer = bufferFactory.wrap(objectMapper.writeValueAsBytes(payload));
+        DataBufferUtils.release(buffer);
+
+        JsonNode json = objectMapper.readTree(responseBody);
+        JsonNode usage = json.get("usage");
+        return LlmResponse.builder()
+                .content(json.get("choices").get(0).get("message").get("content").asText())
+                .model(json.get("model").asText())
+                .promptTokens(usage.get("prompt_tokens").asInt())
+                .completionTokens(usage.get("completion_tokens").asInt())
+                .usageTokens(usage.get("total_tokens").asInt())
+                .build();
+    }
+
+    @Benchmark
+    public LlmResponse streaming() throws Exception {
+        DataBuffer buffer = codec.writeRequest(bufferFactory, request, "gpt-4o-mini", false);
+        DataBufferUtils.release(buffer);
+        return codec.readResponse(new ByteArrayInputStream(responseBody), "gpt-4o-mini");
+    }
+}
@@ -0,0 +1,43 @@
+package com.clause.app.domain.llm;
+
+import com.clause.app.domain.llm.token.BpeTokenCounter;
+import com.clause.app.domain.llm.token.TokenBudgetManager;
+import com.clause.app.domain.rules.engine.RuleCatalogLoader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청당 개발자 프롬프트 비용: 매번 렌더링(기존 동작) vs 메모이즈된 조회.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PromptBuilderBenchmark {
+
+    private PromptBuilder promptBuilder;
+
+    @Setup
+    public void setUp() {
+        DefaultResourceLoader resourceLoader = new DefaultResourceLoader();
+        RuleCatalogLoader loader = new RuleCatalogLoader(
+                resourceLoader, new ObjectMapper(), "classpath:rules/rule-catalog.yml");
+        TokenBudgetManager budgetManager = new TokenBudgetManager(
+                new BpeTokenCounter(resourceLoader, "classpath:tokenizer/cl100k_base.tiktoken", true), 12000, 600, 350, 4000);
+        promptBuilder = new PromptBuilder(loader, budgetManager,
+                new ClauseExcerptor(ClauseExcerptor.Mode.FULL, 160, 600), PromptBuilder.RuleScope.ALL);
+        promptBuilder.warmUpPromptCache();
+    }
+
+    @Benchmark
+    public String renderEveryRequest() {
+        return promptBuilder.renderDeveloperPrompt();
+    }
+
+    @Benchmark
+    public String memoized() {
+        return promptBuilder.buildDeveloperPrompt();
+    }
+}
@@ -0,0 +1,180 @@
+package com.clause.app.common;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 분석 결과 트리의 후처리(스키마 검증, 보정, 금지 표현 치환, 라벨 집계, 면책 문구)를 한 번의 순회로 한다.
+ * 예전의 트리 단위 체인(검증 → (실패 시) 보정 → 금지 표현 치환 → 라벨 집계, 테스트의 LegacyAnalysisChain에 고정)과
+ * 같은 트리를 만들되, 깊은 복사 없이 root를 그 자리에서 고치고 검증 오류 목록을 함께 돌려준다.
+ * 규칙 기반/fan-out 결과나 structured output 응답처럼 이미 형식이 맞는 트리는 validate=false로 검증과 보정을 건너뛴다.
+ * strict json_schema는 문자열 maxLength를 표현하지 못하므로 길이 제한(title, risk_reason, negotiation_suggestions)만은
+ * validate=false에서도 잘라 맞춘다.
+ */
+@Component
+public class AnalysisPostProcessor {
+
+    private final ObjectMapper objectMapper;
+    private final SchemaValidator schemaValidator;
+    private final ForbiddenPhraseGuard forbiddenPhraseGuard;
+
+    public AnalysisPostProcessor(ObjectMapper objectMapper, SchemaValidator schemaValidator,
+                                 ForbiddenPhraseGuard forbiddenPhraseGuard) {
+        this.objectMapper = objectMapper;
+        this.schemaValidator = schemaValidator;
+        this.forbiddenPhraseGuard = forbiddenPhraseGuard;
+    }
+
+    public Result process(ObjectNode root, boolean validate) {
+        List<String> errors = new ArrayList<>();
+
+        if (validate) {
+            JsonNode summary = root.get("overall_summary");
+            if (!root.has("overall_summary")) {
+                errors.add("Missing 'overall_summary'");
+                schemaValidator.sanitizeSummary(root);
+            } else if (SchemaValidator.missingCountField(summary)) {
+                errors.add("Missing count fields in overall_summary");
+                schemaValidator.sanitizeSummary(root);
+            }
+        }
+        processKeyPoints(root.get("overall_summary"), validate, errors);
+
+        int warningCount = 0;
+        int checkCount = 0;
+        int okCount = 0;
+        JsonNode itemsNode = root.get("items");
+        if (itemsNode == null || !itemsNode.isArray()) {
+            if (validate) {
+                errors.add("Missing or invalid 'items' array");
+                itemsNode = objectMapper.createArrayNode();
+                root.set("items", itemsNode);
+            }
+        } else {
+            ArrayNode items = (ArrayNode) itemsNode;
+            for (int i = 0; i < items.size(); i++) {
+                JsonNode item = items.get(i);
+                if (validate) {
+                    int errorCount = errors.size();
+                    schemaValidator.validateItem(item, errors);
+                    // 검증을 통과한 항목은 sanitizeItem이 바꾸는 것이 없으므로, 오류가 난 항목만 보정한다.
+                    if (errors.size() > errorCount) {
+                        ObjectNode sanitized = schemaValidator.sanitizeItem(item);
+                        if (sanitized != item) {
+                            items.set(i, sanitized);
+                        }
+                        item = sanitized;
+                    }
+                }
+                if (item instanceof ObjectNode itemNode) {
+                    if (!validate) {
+                        truncate(itemNode, "title", AnalysisSchema.MAX_TITLE_LENGTH);
+                        truncate(itemNode, "risk_reason", AnalysisSchema.MAX_RISK_REASON_LENGTH);
+                    }
+                    forbiddenPhraseGuard.guardItem(itemNode);
+                }
+                JsonNode labelNode = item.get("label");
+                if (labelNode != null && !labelNode.isNull()) {
+                    String label = labelNode.asText();
+                    if ("WARNING".equals(label)) warningCount++;
+                    else if ("CHECK".equals(label)) checkCount++;
+                    else if ("OK".equals(label)) okCount++;
+                }
+            }
+        }
+
+        processSuggestions(root, validate, errors);
+
+        if (validate && !root.has("disclaimer")) {
+            errors.add("Missing 'disclaimer'");
+        }
+        if (!errors.isEmpty()) {
+            // 오류가 하나라도 있으면 sanitize가 개수 필드가 있는 overall_summary에도 빈 key_points를 채운다.
+            schemaValidator.sanitizeSummary(root);
+        }
+
+        if (itemsNode != null && itemsNode.isArray()) {
+            JsonNode summaryNode = root.get("overall_summary");
+            ObjectNode summary;
+            if (summaryNode != null && summaryNode.isObject()) {
+                summary = (ObjectNode) summaryNode;
+            } else {
+                summary = objectMapper.createObjectNode();
+                root.set("overall_summary", summary);
+            }
+            summary.put("warning_count", warningCount);
+            summary.put("check_count", checkCount);
+            summary.put("ok_count", okCount);
+        }
+        root.put("disclaimer", AnalysisSchema.DISCLAIMER);
+
+        return new Result(root, errors);
+    }
+
+    private void processKeyPoints(JsonNode summary, boolean validate, List<String> errors) {
+        if (summary == null || !summary.isObject()) {
+            return;
+        }
+        JsonNode keyPointsNode = summary.get("key_points");
+        if (keyPointsNode == null || !keyPointsNode.isArray()) {
+            return;
+        }
+        ArrayNode keyPoints = (ArrayNode) keyPointsNode;
+        for (int i = 0; i < keyPoints.size(); i++) {
+            String point = keyPoints.get(i).asText();
+            if (validate && point.length() > AnalysisSchema.MAX_KEY_POINT_LENGTH) {
+                errors.add("key_point exceeds max length");
+            }
+            String guarded = forbiddenPhraseGuard.guardText(point, ForbiddenPhraseGuard.KEY_POINT_REPLACEMENT);
+            if (guarded != point) {
+                keyPoints.set(i, TextNode.valueOf(guarded));
+            }
+        }
+    }
+
+    private void processSuggestions(ObjectNode root, boolean validate, List<String> errors) {
+        JsonNode suggestionsNode = root.get("negotiation_suggestions");
+        if (suggestionsNode == null || !suggestionsNode.isArray()) {
+            if (validate) {
+                errors.add("Missing or invalid 'negotiation_suggestions'");
+                root.set("negotiation_suggestions", objectMapper.createArrayNode());
+            }
+            return;
+        }
+        ArrayNode suggestions = (ArrayNode) suggestionsNode;
+        for (int i = 0; i < suggestions.size(); i++) {
+            String suggestion = suggestions.get(i).asText();
+            if (suggestion.length() > AnalysisSchema.MAX_SUGGESTION_LENGTH) {
+                if (validate) {
+                    errors.add("negotiation_suggestion exceeds max length");
+                }
+                suggestion = suggestion.substring(0, AnalysisSchema.MAX_SUGGESTION_LENGTH);
+                suggestions.set(i, TextNode.valueOf(suggestion));
+            }
+            String guarded = forbiddenPhraseGuard.guardText(suggestion, ForbiddenPhraseGuard.SUGGESTION_REPLACEMENT);
+            if (guarded != suggestion) {
+                suggestions.set(i, TextNode.valueOf(guarded));
+            }
+        }
+    }
+
+    private static void truncate(ObjectNode node, String field, int maxLength) {
+        JsonNode value = node.get(field);
+        if (value != null && value.isTextual() && value.asText().length() > maxLength) {
+            node.put(field, value.asText().substring(0, maxLength));
+        }
+    }
+
+    public record Result(ObjectNode root, List<String> errors) {
+        public boolean valid() {
+            return errors.isEmpty();
+        }
+    }
+}
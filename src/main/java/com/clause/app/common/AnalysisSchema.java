@@ -0,0 +1,135 @@
+package com.clause.app.common;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.List;
+
+/**
+ * 분석 결과 JSON의 형식 정의. SchemaValidator의 검증/보정과 structured output 모드에서 보내는
+ * response_format(strict json_schema)이 모두 여기서 필드 이름, 타입, 라벨, 길이 제한을 가져온다.
+ * strict 모드는 문자열 maxLength를 지원하지 않으므로 길이 제한은 description으로만 전달한다.
+ */
+public final class AnalysisSchema {
+
+    public static final String NAME = "contract_analysis";
+    public static final String DISCLAIMER = "Clause는 법률 자문이 아니며, 정보 제공 목적입니다. 중요한 계약은 전문가 상담을 권장드립니다.";
+    public static final List<String> LABELS = List.of("WARNING", "CHECK", "OK");
+    public static final String DEFAULT_LABEL = "OK";
+
+    public static final int MAX_RISK_REASON_LENGTH = 300;
+    public static final int MAX_SUGGESTION_LENGTH = 200;
+    public static final int MAX_TITLE_LENGTH = 200;
+    public static final int MAX_KEY_POINT_LENGTH = 200;
+
+    static final List<Field> SUMMARY_FIELDS = List.of(
+            new Field("warning_count", Type.INTEGER, 0),
+            new Field("check_count", Type.INTEGER, 0),
+            new Field("ok_count", Type.INTEGER, 0),
+            new Field("key_points", Type.STRING_ARRAY, MAX_KEY_POINT_LENGTH));
+
+    static final List<Field> ITEM_FIELDS = List.of(
+            new Field("clause_id", Type.STRING, 0),
+            new Field("title", Type.STRING, MAX_TITLE_LENGTH),
+            new Field("label", Type.LABEL, 0),
+            new Field("risk_reason", Type.STRING, MAX_RISK_REASON_LENGTH),
+            new Field("what_to_confirm", Type.STRING_ARRAY, 0),
+            new Field("soft_suggestion", Type.STRING_ARRAY, 0),
+            new Field("triggers", Type.STRING_ARRAY, 0));
+
+    static final Field SUGGESTIONS_FIELD = new Field("negotiation_suggestions", Type.STRING_ARRAY, MAX_SUGGESTION_LENGTH);
+    static final Field DISCLAIMER_FIELD = new Field("disclaimer", Type.STRING, 0);
+
+    private static final String RESPONSE_FORMAT = buildResponseFormat().toString();
+
+    private AnalysisSchema() {
+    }
+
+    /**
+     * chat/completions의 response_format 값(JSON). 매번 같은 바이트라 프롬프트 캐시 prefix를 깨지 않는다.
+     */
+    public static String responseFormat() {
+        return RESPONSE_FORMAT;
+    }
+
+    private static ObjectNode buildResponseFormat() {
+        JsonNodeFactory nodes = JsonNodeFactory.instance;
+
+        ObjectNode item = object(nodes, ITEM_FIELDS);
+        ObjectNode items = nodes.objectNode().put("type", "array");
+        items.set("items", item);
+
+        ObjectNode schema = nodes.objectNode();
+        schema.put("type", "object");
+        ObjectNode properties = schema.putObject("properties");
+        properties.set("overall_summary", object(nodes, SUMMARY_FIELDS));
+        properties.set("items", items);
+        properties.set(SUGGESTIONS_FIELD.name(), property(nodes, SUGGESTIONS_FIELD));
+        properties.set(DISCLAIMER_FIELD.name(), property(nodes, DISCLAIMER_FIELD)
+                .put("description", "Must be exactly: " + DISCLAIMER));
+        ArrayNode required = schema.putArray("required");
+        properties.fieldNames().forEachRemaining(required::add);
+        schema.put("additionalProperties", false);
+
+        ObjectNode format = nodes.objectNode();
+        format.put("type", "json_schema");
+        ObjectNode jsonSchema = format.putObject("json_schema");
+        jsonSchema.put("name", NAME);
+        jsonSchema.put("strict", true);
+        jsonSchema.set("schema", schema);
+        return format;
+    }
+
+    // strict 모드는 모든 속성을 required에 넣고 additionalProperties를 false로 둬야 한다.
+    private static ObjectNode object(JsonNodeFactory nodes, List<Field> fields) {
+        ObjectNode object = nodes.objectNode();
+        object.put("type", "object");
+        ObjectNode properties = object.putObject("properties");
+        ArrayNode required = object.putArray("required");
+        for (Field field : fields) {
+            properties.set(field.name(), property(nodes, field));
+            required.add(field.name());
+        }
+        object.put("additionalProperties", false);
+        return object;
+    }
+
+    private static ObjectNode property(JsonNodeFactory nodes, Field field) {
+        ObjectNode property = nodes.objectNode();
+        switch (field.type()) {
+            case STRING -> property.put("type", "string");
+            case INTEGER -> property.put("type", "integer");
+            case LABEL -> {
+                property.put("type", "string");
+                ArrayNode values = property.putArray("enum");
+                LABELS.forEach(values::add);
+            }
+            case STRING_ARRAY -> {
+                property.put("type", "array");
+                ObjectNode element = property.putObject("items").put("type", "string");
+                if (field.maxLength() > 0) {
+                    element.put("description", "At most " + field.maxLength() + " characters");
+                }
+                return property;
+            }
+        }
+        if (field.maxLength() > 0) {
+            property.put("description", "At most " + field.maxLength() + " characters");
+        }
+        return property;
+    }
+
+    enum Type {
+        STRING,
+        INTEGER,
+        LABEL,
+        STRING_ARRAY
+    }
+
+    /**
+     * maxLength가 0이면 길이 제한이 없다. 배열이면 원소 하나의 길이 제한이다.
+     */
+    record Field(String name, Type type, int maxLength) {
+    }
+}
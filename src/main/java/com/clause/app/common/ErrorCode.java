@@ -14,9 +14,12 @@ public enum ErrorCode {
     FILE_TOO_LARGE(HttpStatus.PAYLOAD_TOO_LARGE, "파일 용량이 너무 커요(최대 10MB)."),
     EXTRACTION_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, "텍스트 추출에 실패했어요."),
     LLM_UPSTREAM_ERROR(HttpStatus.BAD_GATEWAY, "분석 엔진 응답이 불안정해요. 잠시 후 다시 시도해 주세요."),
+    LLM_OVERLOADED(HttpStatus.SERVICE_UNAVAILABLE, "분석 요청이 몰려 있어요. 잠시 후 다시 시도해 주세요."),
     JSON_REPAIR_FAILED(HttpStatus.BAD_GATEWAY, "분석 결과 형식이 올바르지 않아 처리하지 못했어요."),
     RATE_LIMITED(HttpStatus.TOO_MANY_REQUESTS, "요청이 너무 많아요. 잠시 후 다시 시도해 주세요."),
     VALIDATION_ERROR(HttpStatus.BAD_REQUEST, "요청 값이 올바르지 않아요."),
+    IDEMPOTENCY_KEY_MISMATCH(HttpStatus.UNPROCESSABLE_ENTITY, "같은 Idempotency-Key로 다른 요청이 들어왔어요."),
+    IDEMPOTENCY_IN_PROGRESS(HttpStatus.CONFLICT, "같은 요청을 처리하고 있어요. 잠시 후 다시 시도해 주세요."),
     INTERNAL_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "서버 오류가 발생했어요.");
 
     private final HttpStatus httpStatus;
@@ -5,123 +5,254 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.util.Arrays;
-import java.util.HashSet;
-import java.util.Set;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
 
+/**
+ * 분석 결과의 단정적/법률 판단 표현을 찾아 바꾼다.
+ * 표현 사전(clause.guard.forbidden-phrases.path)은 PhraseMatcher로 컴파일해 두고, 주기적으로 내용이 바뀌었는지 보고 다시 읽는다.
+ * SENTENCE 모드는 표현이 든 문장을 통째로 안내 문장으로 바꾸고,
+ * PHRASE 모드는 사전에 대체 표현이 있으면 그 표현만 바꾼다.
+ */
 @Slf4j
 @Component
 public class ForbiddenPhraseGuard {
 
-    private static final Set<String> FORBIDDEN_PHRASES = new HashSet<>(Arrays.asList(
-            "불법", "위법", "무효", "반드시", "확실히", "100%", "절대", "무조건",
-            "틀림없이", "확정적으로", "원천적으로", "법적으로", "위법", "무효"
-    ));
+    public enum Mode {
+        SENTENCE,
+        PHRASE
+    }
+
+    static final String KEY_POINT_REPLACEMENT = "추가 확인이 필요한 부분이 있어요.";
+    static final String SUGGESTION_REPLACEMENT = "일반적으로 주의가 필요할 수 있어요.";
+    static final String TITLE_REPLACEMENT = "추가 확인이 필요한 조항";
+    static final String RISK_REASON_REPLACEMENT = "추가 확인이 필요해요.";
 
     private final ObjectMapper objectMapper;
+    private final ResourceLoader resourceLoader;
+    private final String dictionaryPath;
+    private final Mode mode;
+    private volatile Dictionary dictionary;
 
-    public ForbiddenPhraseGuard(ObjectMapper objectMapper) {
+    public ForbiddenPhraseGuard(
+            ObjectMapper objectMapper,
+            ResourceLoader resourceLoader,
+            @Value("${clause.guard.forbidden-phrases.path:classpath:guard/forbidden-phrases.txt}") String dictionaryPath,
+            @Value("${clause.guard.forbidden-phrases.mode:SENTENCE}") Mode mode) {
         this.objectMapper = objectMapper;
+        this.resourceLoader = resourceLoader;
+        this.dictionaryPath = dictionaryPath;
+        this.mode = mode;
+        try {
+            this.dictionary = loadDictionary();
+        } catch (Exception e) {
+            log.error("Failed to load forbidden phrases from {}", dictionaryPath, e);
+            throw new IllegalStateException("Failed to load forbidden phrases", e);
+        }
+        log.info("Loaded {} forbidden phrases (version {}, mode {})",
+                dictionary.matcher().size(), dictionary.version(), mode);
     }
 
+    /**
+     * 사전 파일이 바뀌었으면 다시 컴파일해 교체한다. 읽기에 실패하면 이전 사전을 그대로 쓴다.
+     *
+     * @return 사전을 교체했으면 true
+     */
+    @Scheduled(fixedDelayString = "${clause.guard.forbidden-phrases.reload-interval-ms:60000}",
+            initialDelayString = "${clause.guard.forbidden-phrases.reload-interval-ms:60000}")
+    public boolean reloadDictionary() {
+        Dictionary loaded;
+        try {
+            loaded = loadDictionary();
+        } catch (Exception e) {
+            log.warn("Failed to reload forbidden phrases from {}, keeping version {}: {}",
+                    dictionaryPath, dictionary.version(), e.getMessage());
+            return false;
+        }
+        if (loaded.version().equals(dictionary.version())) {
+            return false;
+        }
+        dictionary = loaded;
+        log.info("Reloaded {} forbidden phrases (version {})", loaded.matcher().size(), loaded.version());
+        return true;
+    }
+
+    public String getDictionaryVersion() {
+        return dictionary.version();
+    }
+
+    /**
+     * 분석 결과 트리 전체(key_points, items, negotiation_suggestions)를 검사한 사본을 돌려준다.
+     * 분석 파이프라인은 AnalysisPostProcessor가 한 번 순회하며 guardItem/guardText를 부른다.
+     */
     public JsonNode guard(JsonNode root) {
         ObjectNode result = root.deepCopy();
 
-        boolean foundForbidden = false;
-
         if (result.has("overall_summary")) {
             ObjectNode summary = (ObjectNode) result.get("overall_summary");
             if (summary.has("key_points") && summary.get("key_points").isArray()) {
-                ArrayNode keyPoints = (ArrayNode) summary.get("key_points");
-                for (int i = 0; i < keyPoints.size(); i++) {
-                    String point = keyPoints.get(i).asText();
-                    if (containsForbiddenPhrase(point)) {
-                        keyPoints.set(i, objectMapper.valueToTree("추가 확인이 필요한 부분이 있어요."));
-                        foundForbidden = true;
-                    }
-                }
+                guardArray((ArrayNode) summary.get("key_points"), KEY_POINT_REPLACEMENT);
             }
         }
 
         if (result.has("items") && result.get("items").isArray()) {
-            ArrayNode items = (ArrayNode) result.get("items");
-            for (JsonNode item : items) {
-                ObjectNode itemNode = (ObjectNode) item;
-                boolean itemModified = false;
-
-                if (itemNode.has("title")) {
-                    String title = itemNode.get("title").asText();
-                    if (containsForbiddenPhrase(title)) {
-                        itemNode.put("title", "추가 확인이 필요한 조항");
-                        itemModified = true;
-                    }
-                }
+            for (JsonNode item : result.get("items")) {
+                guardItem((ObjectNode) item);
+            }
+        }
 
-                if (itemNode.has("risk_reason")) {
-                    String reason = itemNode.get("risk_reason").asText();
-                    if (containsForbiddenPhrase(reason)) {
-                        itemNode.put("risk_reason", "추가 확인이 필요해요.");
-                        itemModified = true;
-                    }
-                }
+        if (result.has("negotiation_suggestions") && result.get("negotiation_suggestions").isArray()) {
+            guardArray((ArrayNode) result.get("negotiation_suggestions"), SUGGESTION_REPLACEMENT);
+        }
 
-                if (itemNode.has("soft_suggestion") && itemNode.get("soft_suggestion").isArray()) {
-                    ArrayNode suggestions = (ArrayNode) itemNode.get("soft_suggestion");
-                    for (int i = 0; i < suggestions.size(); i++) {
-                        String suggestion = suggestions.get(i).asText();
-                        if (containsForbiddenPhrase(suggestion)) {
-                            suggestions.set(i, objectMapper.valueToTree("일반적으로 주의가 필요할 수 있어요."));
-                            itemModified = true;
-                        }
-                    }
-                }
+        return result;
+    }
 
-                if (itemModified && itemNode.has("label") && itemNode.get("label").asText().equals("WARNING")) {
-                    itemNode.put("label", "CHECK");
-                }
+    public boolean guardItem(ObjectNode itemNode) {
+        boolean itemModified = false;
 
-                if (itemModified) {
-                    if (!itemNode.has("triggers") || !itemNode.get("triggers").isArray()) {
-                        itemNode.set("triggers", objectMapper.createArrayNode());
-                    }
-                    ArrayNode triggers = (ArrayNode) itemNode.get("triggers");
-                    boolean hasForbidden = false;
-                    for (JsonNode trigger : triggers) {
-                        if (trigger.asText().equals("FORBIDDEN_PHRASE")) {
-                            hasForbidden = true;
-                            break;
-                        }
-                    }
-                    if (!hasForbidden) {
-                        triggers.add("FORBIDDEN_PHRASE");
-                    }
-                    foundForbidden = true;
-                }
+        if (itemNode.has("title")) {
+            String title = itemNode.get("title").asText();
+            String guarded = guardText(title, TITLE_REPLACEMENT);
+            if (guarded != title) {
+                itemNode.put("title", guarded);
+                itemModified = true;
             }
         }
 
-        if (result.has("negotiation_suggestions") && result.get("negotiation_suggestions").isArray()) {
-            ArrayNode suggestions = (ArrayNode) result.get("negotiation_suggestions");
-            for (int i = 0; i < suggestions.size(); i++) {
-                String suggestion = suggestions.get(i).asText();
-                if (containsForbiddenPhrase(suggestion)) {
-                    suggestions.set(i, objectMapper.valueToTree("일반적으로 주의가 필요할 수 있어요."));
-                    foundForbidden = true;
+        if (itemNode.has("risk_reason")) {
+            String reason = itemNode.get("risk_reason").asText();
+            String guarded = guardText(reason, RISK_REASON_REPLACEMENT);
+            if (guarded != reason) {
+                itemNode.put("risk_reason", guarded);
+                itemModified = true;
+            }
+        }
+
+        if (itemNode.has("soft_suggestion") && itemNode.get("soft_suggestion").isArray()) {
+            if (guardArray((ArrayNode) itemNode.get("soft_suggestion"), SUGGESTION_REPLACEMENT)) {
+                itemModified = true;
+            }
+        }
+
+        if (itemModified && itemNode.has("label") && itemNode.get("label").asText().equals("WARNING")) {
+            itemNode.put("label", "CHECK");
+        }
+
+        if (itemModified) {
+            if (!itemNode.has("triggers") || !itemNode.get("triggers").isArray()) {
+                itemNode.set("triggers", objectMapper.createArrayNode());
+            }
+            ArrayNode triggers = (ArrayNode) itemNode.get("triggers");
+            boolean hasForbidden = false;
+            for (JsonNode trigger : triggers) {
+                if (trigger.asText().equals("FORBIDDEN_PHRASE")) {
+                    hasForbidden = true;
+                    break;
                 }
             }
+            if (!hasForbidden) {
+                triggers.add("FORBIDDEN_PHRASE");
+            }
         }
 
-        return result;
+        return itemModified;
     }
 
-    private boolean containsForbiddenPhrase(String text) {
+    /**
+     * 금지 표현이 없으면 text를 그대로(같은 인스턴스로) 돌려준다.
+     * 있으면 SENTENCE 모드에서는 sentenceReplacement를, PHRASE 모드에서는 표현만 바꾼 문장을 돌려주되
+     * 대체 표현이 없는 표현이 하나라도 있으면 sentenceReplacement를 돌려준다.
+     */
+    String guardText(String text, String sentenceReplacement) {
         if (text == null || text.isBlank()) {
-            return false;
+            return text;
+        }
+        Dictionary current = dictionary;
+        if (mode == Mode.SENTENCE) {
+            return current.matcher().matches(text) ? sentenceReplacement : text;
         }
-        String lowerText = text.toLowerCase();
-        return FORBIDDEN_PHRASES.stream().anyMatch(lowerText::contains);
+        List<PhraseMatcher.Match> matches = current.matcher().findAll(text);
+        if (matches.isEmpty()) {
+            return text;
+        }
+        StringBuilder redacted = new StringBuilder(text.length());
+        int copiedUpTo = 0;
+        for (PhraseMatcher.Match match : matches) {
+            String replacement = current.replacements().get(match.phrase());
+            if (replacement == null) {
+                return sentenceReplacement;
+            }
+            redacted.append(text, copiedUpTo, match.start()).append(replacement);
+            copiedUpTo = match.end();
+        }
+        return redacted.append(text, copiedUpTo, text.length()).toString();
     }
-}
 
+    private boolean guardArray(ArrayNode texts, String sentenceReplacement) {
+        boolean modified = false;
+        for (int i = 0; i < texts.size(); i++) {
+            String text = texts.get(i).asText();
+            String guarded = guardText(text, sentenceReplacement);
+            if (guarded != text) {
+                texts.set(i, objectMapper.valueToTree(guarded));
+                modified = true;
+            }
+        }
+        return modified;
+    }
+
+    private Dictionary loadDictionary() throws Exception {
+        Resource resource = resourceLoader.getResource(dictionaryPath);
+        if (!resource.exists()) {
+            throw new IllegalStateException("Forbidden phrases file not found: " + dictionaryPath);
+        }
+        byte[] content;
+        try (InputStream inputStream = resource.getInputStream()) {
+            content = inputStream.readAllBytes();
+        }
+        String version = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content), 0, 6);
+        Dictionary current = dictionary;
+        if (current != null && current.version().equals(version)) {
+            return current;
+        }
+
+        // 한 줄에 "표현" 또는 "표현=대체 표현", '#'로 시작하는 줄은 주석
+        List<String> phrases = new ArrayList<>();
+        Map<String, String> replacements = new HashMap<>();
+        for (String line : new String(content, StandardCharsets.UTF_8).split("\\R")) {
+            String entry = line.strip();
+            if (entry.isEmpty() || entry.startsWith("#")) {
+                continue;
+            }
+            int separator = entry.indexOf('=');
+            String phrase = separator < 0 ? entry : entry.substring(0, separator).strip();
+            if (phrase.isEmpty()) {
+                continue;
+            }
+            phrases.add(phrase);
+            if (separator >= 0) {
+                String replacement = entry.substring(separator + 1).strip();
+                if (!replacement.isEmpty()) {
+                    replacements.put(PhraseMatcher.normalize(phrase), replacement);
+                }
+            }
+        }
+        return new Dictionary(version, PhraseMatcher.compile(phrases), Map.copyOf(replacements));
+    }
+
+    private record Dictionary(String version, PhraseMatcher matcher, Map<String, String> replacements) {
+    }
+}
@@ -1,59 +1,136 @@
 package com.clause.app.common;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.json.JsonReadFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.springframework.stereotype.Component;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
+/**
+ * LLM 응답에서 JSON 객체를 꺼내 고친다.
+ * 정규식 대신 문자열 리터럴을 구분하는 한 번의 스캔으로 첫 '{'부터 짝이 맞는 '}'까지를 찾으므로
+ * 코드 펜스나 앞뒤 설명 문장은 자연히 빠진다. 문자열 밖의 스마트 따옴표만 '"'로 바꾸고,
+ * 끝에 붙은 쉼표는 파서(ALLOW_TRAILING_COMMA)가 문자열 밖에서만 허용한다.
+ */
 @Component
 public class JsonRepairUtil {
 
-    private static final Pattern JSON_BLOCK = Pattern.compile("```(?:json)?\\s*(.*?)\\s*```", Pattern.DOTALL);
-    private static final Pattern JSON_OBJECT = Pattern.compile("\\{.*\\}", Pattern.DOTALL);
-    private static final Pattern SMART_QUOTES = Pattern.compile("[\u201C\u201D\u2018\u2019]");
-    
     private final ObjectMapper objectMapper;
+    private final ObjectReader lenientReader;
 
     public JsonRepairUtil(ObjectMapper objectMapper) {
         this.objectMapper = objectMapper;
+        this.lenientReader = objectMapper.reader().with(JsonReadFeature.ALLOW_TRAILING_COMMA);
     }
 
     public String extractAndRepair(String rawText) {
+        try {
+            return objectMapper.writeValueAsString(extractAndRepairTree(rawText));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to serialize JSON: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    /**
+     * extractAndRepair와 같지만 문자열로 다시 쓰지 않고 파싱한 트리를 그대로 돌려준다.
+     */
+    public ObjectNode extractAndRepairTree(String rawText) {
         if (rawText == null || rawText.isBlank()) {
             throw new IllegalArgumentException("Raw text is empty");
         }
+        String jsonText = new Scanner(rawText).extractObject();
+        try {
+            // 첫 글자가 '{'인 한 값만 넘기므로 결과는 항상 객체다.
+            return (ObjectNode) lenientReader.readTree(jsonText);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to parse JSON: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    private static final class Scanner {
+        private static final char LEFT_DOUBLE = '\u201C';
+        private static final char RIGHT_DOUBLE = '\u201D';
+        private static final char LEFT_SINGLE = '\u2018';
+        private static final char RIGHT_SINGLE = '\u2019';
 
-        String jsonText = rawText.trim();
+        private final String text;
+        // 고칠 곳이 있을 때만 만든다. 없으면 원문의 해당 구간을 그대로 쓴다.
+        private StringBuilder repaired;
+        private int copiedUpTo;
 
-        Matcher blockMatcher = JSON_BLOCK.matcher(jsonText);
-        if (blockMatcher.find()) {
-            jsonText = blockMatcher.group(1).trim();
+        Scanner(String text) {
+            this.text = text;
         }
 
-        Matcher objectMatcher = JSON_OBJECT.matcher(jsonText);
-        if (objectMatcher.find()) {
-            jsonText = objectMatcher.group();
-        } else {
-            throw new IllegalArgumentException("No JSON object found");
+        String extractObject() {
+            int start = text.indexOf('{');
+            if (start < 0) {
+                throw new IllegalArgumentException("No JSON object found");
+            }
+            copiedUpTo = start;
+
+            int depth = 0;
+            // 0: 문자열 밖, '"': 일반 문자열, 그 외: 해당 스마트 따옴표로 연 문자열
+            char quote = 0;
+            for (int i = start; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (quote == '"') {
+                    if (c == '\\') {
+                        i++;
+                    } else if (c == '"') {
+                        quote = 0;
+                    }
+                } else if (quote != 0) {
+                    if (c == '\\') {
+                        i++;
+                    } else if (closes(quote, c)) {
+                        replace(i, "\"");
+                        quote = 0;
+                    } else if (c == '"') {
+                        replace(i, "\\\"");
+                    }
+                } else if (c == '"') {
+                    quote = '"';
+                } else if (isSmartQuote(c)) {
+                    replace(i, "\"");
+                    quote = c;
+                } else if (c == '{' || c == '[') {
+                    depth++;
+                } else if (c == '}' || c == ']') {
+                    depth--;
+                    if (depth == 0) {
+                        return finish(start, i + 1);
+                    }
+                }
+            }
+            throw new IllegalArgumentException("Unterminated JSON object");
         }
 
-        jsonText = SMART_QUOTES.matcher(jsonText).replaceAll("\"");
-        jsonText = removeTrailingCommas(jsonText);
+        private void replace(int index, String replacement) {
+            if (repaired == null) {
+                repaired = new StringBuilder(text.length() - copiedUpTo + 16);
+            }
+            repaired.append(text, copiedUpTo, index).append(replacement);
+            copiedUpTo = index + 1;
+        }
 
-        try {
-            JsonNode node = objectMapper.readTree(jsonText);
-            return objectMapper.writeValueAsString(node);
-        } catch (Exception e) {
-            throw new IllegalArgumentException("Failed to parse JSON: " + e.getMessage(), e);
+        private String finish(int start, int end) {
+            if (repaired == null) {
+                return text.substring(start, end);
+            }
+            return repaired.append(text, copiedUpTo, end).toString();
         }
-    }
 
-    private String removeTrailingCommas(String json) {
-        json = json.replaceAll(",\\s*}", "}");
-        json = json.replaceAll(",\\s*]", "]");
-        return json;
+        private static boolean isSmartQuote(char c) {
+            return c == LEFT_DOUBLE || c == RIGHT_DOUBLE || c == LEFT_SINGLE || c == RIGHT_SINGLE;
+        }
+
+        private static boolean closes(char open, char c) {
+            if (open == LEFT_DOUBLE || open == RIGHT_DOUBLE) {
+                return c == LEFT_DOUBLE || c == RIGHT_DOUBLE;
+            }
+            return c == LEFT_SINGLE || c == RIGHT_SINGLE;
+        }
     }
 }
-
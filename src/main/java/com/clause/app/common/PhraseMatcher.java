@@ -0,0 +1,233 @@
+package com.clause.app.common;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * 여러 표현을 한 번의 스캔으로 찾는 Aho-Corasick 매처. 만든 뒤에는 바뀌지 않으므로 스레드 간에 공유해도 된다.
+ * 대소문자는 글자 단위 Character.toLowerCase로 맞추므로 돌려주는 위치는 원문 인덱스와 같다.
+ */
+public final class PhraseMatcher {
+
+    // 노드별 전이: keys는 정렬되어 있고 같은 인덱스의 children이 다음 노드다.
+    private final char[][] keys;
+    private final int[][] children;
+    private final int[] fail;
+    // 이 노드에서 끝나는 표현 (없으면 null)
+    private final String[] phrases;
+    // fail 사슬에서 가장 가까운, 표현이 끝나는 노드 (없으면 -1)
+    private final int[] outputLink;
+
+    private PhraseMatcher(char[][] keys, int[][] children, int[] fail, String[] phrases, int[] outputLink) {
+        this.keys = keys;
+        this.children = children;
+        this.fail = fail;
+        this.phrases = phrases;
+        this.outputLink = outputLink;
+    }
+
+    public static PhraseMatcher compile(Collection<String> phrases) {
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String phrase : phrases) {
+            if (phrase != null && !phrase.isBlank()) {
+                normalized.add(normalize(phrase));
+            }
+        }
+        return new Builder(normalized).build();
+    }
+
+    public boolean matches(CharSequence text) {
+        if (text == null) {
+            return false;
+        }
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            state = next(state, Character.toLowerCase(text.charAt(i)));
+            if (phrases[state] != null || outputLink[state] >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 겹치지 않는 일치 구간을 앞에서부터 돌려준다. 같은 위치에서 시작하면 더 긴 표현을 고른다.
+     */
+    public List<Match> findAll(CharSequence text) {
+        if (text == null) {
+            return List.of();
+        }
+        List<Match> found = null;
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            state = next(state, Character.toLowerCase(text.charAt(i)));
+            int node = phrases[state] != null ? state : outputLink[state];
+            while (node >= 0) {
+                if (found == null) {
+                    found = new ArrayList<>();
+                }
+                String phrase = phrases[node];
+                found.add(new Match(i + 1 - phrase.length(), i + 1, phrase));
+                node = outputLink[node];
+            }
+        }
+        if (found == null) {
+            return List.of();
+        }
+        found.sort(Comparator.comparingInt(Match::start).thenComparing(Comparator.comparingInt(Match::end).reversed()));
+        List<Match> selected = new ArrayList<>(found.size());
+        int end = 0;
+        for (Match match : found) {
+            if (match.start() >= end) {
+                selected.add(match);
+                end = match.end();
+            }
+        }
+        return selected;
+    }
+
+    public int size() {
+        int count = 0;
+        for (String phrase : phrases) {
+            if (phrase != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private int next(int state, char c) {
+        while (true) {
+            int index = Arrays.binarySearch(keys[state], c);
+            if (index >= 0) {
+                return children[state][index];
+            }
+            if (state == 0) {
+                return 0;
+            }
+            state = fail[state];
+        }
+    }
+
+    /**
+     * 사전 표현을 매처가 비교하는 형태(앞뒤 공백 제거, 글자 단위 소문자)로 맞춘다. Match.phrase도 이 형태다.
+     */
+    static String normalize(String phrase) {
+        char[] chars = phrase.strip().toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * 원문에서 [start, end) 구간이 phrase(normalize한 사전 표현)와 일치한다.
+     */
+    public record Match(int start, int end, String phrase) {
+    }
+
+    private static final class Builder {
+        private final List<StringBuilder> nodeKeys = new ArrayList<>();
+        private final List<List<Integer>> nodeChildren = new ArrayList<>();
+        private final List<String> nodePhrases = new ArrayList<>();
+
+        Builder(Set<String> phrases) {
+            addNode();
+            for (String phrase : phrases) {
+                int state = 0;
+                for (int i = 0; i < phrase.length(); i++) {
+                    state = childOrCreate(state, phrase.charAt(i));
+                }
+                nodePhrases.set(state, phrase);
+            }
+        }
+
+        PhraseMatcher build() {
+            int size = nodeKeys.size();
+            char[][] keys = new char[size][];
+            int[][] children = new int[size][];
+            for (int node = 0; node < size; node++) {
+                sortTransitions(node, keys, children);
+            }
+
+            int[] fail = new int[size];
+            int[] outputLink = new int[size];
+            String[] phrases = nodePhrases.toArray(new String[0]);
+            outputLink[0] = -1;
+            Queue<Integer> queue = new ArrayDeque<>();
+            for (int child : children[0]) {
+                fail[child] = 0;
+                outputLink[child] = -1;
+                queue.add(child);
+            }
+            while (!queue.isEmpty()) {
+                int node = queue.poll();
+                for (int i = 0; i < keys[node].length; i++) {
+                    char c = keys[node][i];
+                    int child = children[node][i];
+                    int state = fail[node];
+                    int target;
+                    while (true) {
+                        int index = Arrays.binarySearch(keys[state], c);
+                        if (index >= 0) {
+                            target = children[state][index];
+                            break;
+                        }
+                        if (state == 0) {
+                            target = 0;
+                            break;
+                        }
+                        state = fail[state];
+                    }
+                    fail[child] = target;
+                    outputLink[child] = phrases[target] != null ? target : outputLink[target];
+                    queue.add(child);
+                }
+            }
+            return new PhraseMatcher(keys, children, fail, phrases, outputLink);
+        }
+
+        private void sortTransitions(int node, char[][] keys, int[][] children) {
+            StringBuilder nodeKey = nodeKeys.get(node);
+            List<Integer> nodeChild = nodeChildren.get(node);
+            Integer[] order = new Integer[nodeKey.length()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparingInt(nodeKey::charAt));
+            keys[node] = new char[order.length];
+            children[node] = new int[order.length];
+            for (int i = 0; i < order.length; i++) {
+                keys[node][i] = nodeKey.charAt(order[i]);
+                children[node][i] = nodeChild.get(order[i]);
+            }
+        }
+
+        private int childOrCreate(int state, char c) {
+            StringBuilder nodeKey = nodeKeys.get(state);
+            for (int i = 0; i < nodeKey.length(); i++) {
+                if (nodeKey.charAt(i) == c) {
+                    return nodeChildren.get(state).get(i);
+                }
+            }
+            int child = addNode();
+            nodeKey.append(c);
+            nodeChildren.get(state).add(child);
+            return child;
+        }
+
+        private int addNode() {
+            nodeKeys.add(new StringBuilder());
+            nodeChildren.add(new ArrayList<>());
+            nodePhrases.add(null);
+            return nodeKeys.size() - 1;
+        }
+    }
+}
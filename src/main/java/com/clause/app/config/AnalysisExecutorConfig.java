@@ -0,0 +1,58 @@
+package com.clause.app.config;
+
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.Map;
+
+@Configuration
+public class AnalysisExecutorConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor analysisStreamExecutor(
+            @Value("${clause.analysis.stream.pool-size:8}") int poolSize,
+            @Value("${clause.analysis.stream.queue-capacity:32}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("analysis-stream-");
+        executor.setTaskDecorator(mdcPropagatingDecorator());
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor llmFanOutExecutor(
+            @Value("${clause.analysis.fan-out.pool-size:16}") int poolSize,
+            @Value("${clause.analysis.fan-out.queue-capacity:64}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("llm-fan-out-");
+        executor.setTaskDecorator(mdcPropagatingDecorator());
+        executor.initialize();
+        return executor;
+    }
+
+    static TaskDecorator mdcPropagatingDecorator() {
+        return runnable -> {
+            Map<String, String> context = MDC.getCopyOfContextMap();
+            return () -> {
+                if (context != null) {
+                    MDC.setContextMap(context);
+                }
+                try {
+                    runnable.run();
+                } finally {
+                    MDC.clear();
+                }
+            };
+        };
+    }
+}
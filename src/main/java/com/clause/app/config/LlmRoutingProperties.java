@@ -0,0 +1,47 @@
+package com.clause.app.config;
+
+import com.clause.app.domain.llm.ModelTierPolicy;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * LLM 엔드포인트 목록과 라우팅 설정(clause.llm.routing.*).
+ * endpoints가 비어 있으면 clause.llm.base-url/api-key/model 하나만 사용한다.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "clause.llm.routing")
+public class LlmRoutingProperties {
+
+    private List<Endpoint> endpoints = new ArrayList<>();
+    private double ewmaAlpha = 0.3;
+    private int ejectAfterFailures = 3;
+    private long ejectDurationMs = 30000;
+    // 측정 전 EWMA 지연 시간과, 측정이 끊긴 EWMA가 되돌아갈 값
+    private double initialLatencyMs = 3000;
+    // EWMA를 사전값 쪽으로, 오류율을 0 쪽으로 되돌리는 시간 상수. 0이면 되돌리지 않는다.
+    private long latencyDecayMs = 60000;
+    // 이 시간 넘게 선택되지 않은 엔드포인트에는 요청 하나를 보내 다시 측정한다. 0이면 끈다.
+    private long probeIntervalMs = 30000;
+
+    @Getter
+    @Setter
+    public static class Endpoint {
+        private String name;
+        private String baseUrl;
+        private String apiKey;
+        private String model;
+        // 이 엔드포인트로 보낼 수 있는 최대 입력 토큰 수. 0이면 제한 없음.
+        private int maxInputTokens;
+        // 모델 등급별로 이 엔드포인트에서 쓸 모델. 없는 등급은 model을 쓴다.
+        private Map<ModelTierPolicy.Tier, String> tierModels = new EnumMap<>(ModelTierPolicy.Tier.class);
+    }
+}
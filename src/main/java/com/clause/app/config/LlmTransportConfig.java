@@ -0,0 +1,123 @@
+package com.clause.app.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.ConnectionObserver;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * LLM 호출 전용 HTTP 전송 계층.
+ * 다른 WebClient와 풀을 나눠 쓰지 않는 전용 커넥션 풀을 두고, 유휴/수명 기준으로 연결을 정리한다.
+ * 풀 상태는 clause.llm.http.pool.*, 새 연결과 재사용 횟수는 clause.llm.http.connections{event}로 내보낸다.
+ */
+@Configuration
+public class LlmTransportConfig {
+
+    static final String POOL_NAME = "llm";
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider llmConnectionProvider(
+            MeterRegistry meterRegistry,
+            @Value("${clause.llm.transport.max-connections:50}") int maxConnections,
+            @Value("${clause.llm.transport.pending-acquire-max-count:200}") int pendingAcquireMaxCount,
+            @Value("${clause.llm.transport.pending-acquire-timeout-ms:10000}") long pendingAcquireTimeoutMs,
+            @Value("${clause.llm.transport.max-idle-time-ms:30000}") long maxIdleTimeMs,
+            @Value("${clause.llm.transport.max-life-time-ms:300000}") long maxLifeTimeMs,
+            @Value("${clause.llm.transport.evict-interval-ms:30000}") long evictIntervalMs) {
+        return ConnectionProvider.builder(POOL_NAME)
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+                .maxIdleTime(Duration.ofMillis(maxIdleTimeMs))
+                .maxLifeTime(Duration.ofMillis(maxLifeTimeMs))
+                .evictInBackground(Duration.ofMillis(evictIntervalMs))
+                // 최근에 쓴 연결부터 다시 써서, 부하가 줄면 남는 연결만 유휴 시간으로 정리되게 한다.
+                .lifo()
+                .metrics(true, () -> new PoolMeterRegistrar(meterRegistry))
+                .build();
+    }
+
+    @Bean
+    public WebClient.Builder llmWebClientBuilder(
+            @Qualifier("llmConnectionProvider") ConnectionProvider connectionProvider,
+            MeterRegistry meterRegistry,
+            @Value("${clause.llm.transport.connect-timeout-ms:5000}") int connectTimeoutMs,
+            @Value("${clause.llm.transport.http2-enabled:false}") boolean http2Enabled,
+            @Value("${clause.llm.transport.compression-enabled:false}") boolean compressionEnabled) {
+        return WebClient.builder().clientConnector(new ReactorClientHttpConnector(
+                llmHttpClient(connectionProvider, meterRegistry, connectTimeoutMs, http2Enabled, compressionEnabled)));
+    }
+
+    static HttpClient llmHttpClient(ConnectionProvider connectionProvider, MeterRegistry meterRegistry,
+                                    int connectTimeoutMs, boolean http2Enabled, boolean compressionEnabled) {
+        Counter newConnections = Counter.builder("clause.llm.http.connections")
+                .tag("event", "new").register(meterRegistry);
+        Counter reusedConnections = Counter.builder("clause.llm.http.connections")
+                .tag("event", "reused").register(meterRegistry);
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .keepAlive(true)
+                .compress(compressionEnabled)
+                .observe((connection, state) -> {
+                    if (state == ConnectionObserver.State.CONNECTED) {
+                        newConnections.increment();
+                    } else if (state == ConnectionObserver.State.ACQUIRED) {
+                        reusedConnections.increment();
+                    }
+                });
+        if (http2Enabled) {
+            // TLS(ALPN)로 h2를 협상하고, 서버가 지원하지 않거나 평문 연결이면 HTTP/1.1을 쓴다.
+            httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11);
+        }
+        return httpClient;
+    }
+
+    private static final class PoolMeterRegistrar implements ConnectionProvider.MeterRegistrar {
+
+        private final MeterRegistry meterRegistry;
+
+        PoolMeterRegistrar(MeterRegistry meterRegistry) {
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public void registerMetrics(String poolName, String id, SocketAddress remoteAddress, ConnectionPoolMetrics metrics) {
+            Tags tags = Tags.of("pool", poolName, "remote", describe(remoteAddress));
+            gauge("clause.llm.http.pool.active", metrics, ConnectionPoolMetrics::acquiredSize, tags);
+            gauge("clause.llm.http.pool.idle", metrics, ConnectionPoolMetrics::idleSize, tags);
+            gauge("clause.llm.http.pool.total", metrics, ConnectionPoolMetrics::allocatedSize, tags);
+            gauge("clause.llm.http.pool.pending", metrics, ConnectionPoolMetrics::pendingAcquireSize, tags);
+            gauge("clause.llm.http.pool.max", metrics, ConnectionPoolMetrics::maxAllocatedSize, tags);
+        }
+
+        private void gauge(String name, ConnectionPoolMetrics metrics, ToDoubleFunction<ConnectionPoolMetrics> value, Tags tags) {
+            Gauge.builder(name, metrics, value).tags(tags).strongReference(true).register(meterRegistry);
+        }
+
+        private static String describe(SocketAddress address) {
+            if (address instanceof InetSocketAddress inet) {
+                return inet.getHostString() + ":" + inet.getPort();
+            }
+            return String.valueOf(address);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.clause.app.config;
+
+import com.clause.app.domain.llm.ModelTierPolicy;
+import com.clause.app.domain.rules.enums.ContractType;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 규칙 엔진 결과로 LLM 모델 등급을 고르는 설정(clause.llm.tier.*).
+ * contract-types에 계약 유형별 기준을 두면 적은 항목만 기본 기준(thresholds)을 덮어쓴다.
+ * 등급별 model은 clause.llm.base-url 하나만 쓸 때(routing.endpoints가 비어 있을 때)와 배치 API에만 적용된다.
+ * routing.endpoints를 쓰면 엔드포인트마다 tier-models로 등급별 모델을 따로 정한다.
+ */
+@Getter
+@Setter
+@ToString
+@Component
+@ConfigurationProperties(prefix = "clause.llm.tier")
+public class ModelTierProperties {
+
+    private boolean enabled = false;
+    private TierModel light = new TierModel(null, 1500);
+    private TierModel standard = new TierModel(null, 4000);
+    private TierModel heavy = new TierModel(null, 4000);
+    private Thresholds thresholds = Thresholds.defaults();
+    private Map<ContractType, Thresholds> contractTypes = new EnumMap<>(ContractType.class);
+
+    public TierModel tierModel(ModelTierPolicy.Tier tier) {
+        return switch (tier) {
+            case LIGHT -> light;
+            case STANDARD -> standard;
+            case HEAVY -> heavy;
+        };
+    }
+
+    /**
+     * 등급에 설정된 모델. 등급이 없거나 모델을 비워 두었으면 defaultModel.
+     */
+    public String modelFor(ModelTierPolicy.Tier tier, String defaultModel) {
+        if (tier == null) {
+            return defaultModel;
+        }
+        String model = tierModel(tier).getModel();
+        return model != null && !model.isBlank() ? model : defaultModel;
+    }
+
+    @Getter
+    @Setter
+    @ToString
+    public static class TierModel {
+        // 비워두면 엔드포인트 기본 모델을 쓴다.
+        private String model;
+        private int maxTokens;
+
+        public TierModel() {
+        }
+
+        public TierModel(String model, int maxTokens) {
+            this.model = model;
+            this.maxTokens = maxTokens;
+        }
+    }
+
+    @Getter
+    @Setter
+    @ToString
+    public static class Thresholds {
+        private Integer lightMaxScore;
+        private Integer lightMaxWarnings;
+        private Integer lightMaxCandidates;
+        private Integer lightMaxInputTokens;
+        private Integer heavyMinScore;
+        private Integer heavyMinWarnings;
+
+        static Thresholds defaults() {
+            Thresholds thresholds = new Thresholds();
+            thresholds.lightMaxScore = 20;
+            thresholds.lightMaxWarnings = 0;
+            thresholds.lightMaxCandidates = 5;
+            thresholds.lightMaxInputTokens = 4000;
+            thresholds.heavyMinScore = 120;
+            thresholds.heavyMinWarnings = 6;
+            return thresholds;
+        }
+
+        public Thresholds orElse(Thresholds fallback) {
+            Thresholds merged = new Thresholds();
+            merged.lightMaxScore = lightMaxScore != null ? lightMaxScore : fallback.lightMaxScore;
+            merged.lightMaxWarnings = lightMaxWarnings != null ? lightMaxWarnings : fallback.lightMaxWarnings;
+            merged.lightMaxCandidates = lightMaxCandidates != null ? lightMaxCandidates : fallback.lightMaxCandidates;
+            merged.lightMaxInputTokens = lightMaxInputTokens != null ? lightMaxInputTokens : fallback.lightMaxInputTokens;
+            merged.heavyMinScore = heavyMinScore != null ? heavyMinScore : fallback.heavyMinScore;
+            merged.heavyMinWarnings = heavyMinWarnings != null ? heavyMinWarnings : fallback.heavyMinWarnings;
+            return merged;
+        }
+    }
+}
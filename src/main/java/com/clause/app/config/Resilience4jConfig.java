@@ -1,7 +1,8 @@
 package com.clause.app.config;
 
+import com.clause.app.domain.llm.LlmAvailability;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
-import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.common.circuitbreaker.configuration.CircuitBreakerConfigCustomizer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -11,21 +12,9 @@ import java.time.Duration;
 @Configuration
 public class Resilience4jConfig {
 
-    @Value("${clause.llm.max-retry:2}")
-    private int maxRetry;
-
     @Value("${clause.llm.timeout-ms:60000}")
     private int timeoutMs;
 
-    @Bean
-    public RetryConfig retryConfig() {
-        return RetryConfig.custom()
-                .maxAttempts(maxRetry + 1)
-                .waitDuration(Duration.ofMillis(500))
-                .retryExceptions(Exception.class)
-                .build();
-    }
-
     @Bean
     public CircuitBreakerConfig circuitBreakerConfig() {
         return CircuitBreakerConfig.custom()
@@ -35,5 +24,11 @@ public class Resilience4jConfig {
                 .minimumNumberOfCalls(5)
                 .build();
     }
-}
 
+    // 동시성 한도 대기열에서 거절된 호출(LLM_OVERLOADED)은 llmCircuitBreaker의 성공/실패 어느 쪽에도 세지 않는다.
+    @Bean
+    public CircuitBreakerConfigCustomizer llmCircuitBreakerCustomizer() {
+        return CircuitBreakerConfigCustomizer.of(LlmAvailability.CIRCUIT_BREAKER_NAME,
+                builder -> builder.ignoreException(LlmAvailability::isLoadShedding));
+    }
+}
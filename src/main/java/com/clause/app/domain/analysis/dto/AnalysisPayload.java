@@ -0,0 +1,17 @@
+package com.clause.app.domain.analysis.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * analysis_result.payload에 저장하는 분석 결과 본문. AnalysisPayloadCodec이 인코딩/디코딩한다.
+ * 조회 응답의 타입을 그대로 써서 디코딩한 값을 AnalysisResponse에 바로 넣는다.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AnalysisPayload(
+        AnalysisResponse.OverallSummary overallSummary,
+        List<AnalysisResponse.AnalysisItem> items,
+        List<String> negotiationSuggestions,
+        List<String> ruleTriggers) {
+}
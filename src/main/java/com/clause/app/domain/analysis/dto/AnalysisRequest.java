@@ -25,5 +25,7 @@ public class AnalysisRequest {
 
     @NotBlank(message = "language는 필수입니다.")
     private String language; // ko-KR
+
+    private Boolean bypassCache; // true면 결과 캐시를 무시하고 새로 분석
 }
 
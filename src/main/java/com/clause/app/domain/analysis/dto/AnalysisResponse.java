@@ -18,6 +18,7 @@ import java.util.UUID;
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class AnalysisResponse {
     private UUID analysisId;
+    private String status; // DONE, DEGRADED
     private OverallSummary overallSummary;
     private List<AnalysisItem> items;
     private List<String> negotiationSuggestions;
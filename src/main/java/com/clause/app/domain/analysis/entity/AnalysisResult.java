@@ -36,6 +36,12 @@ public class AnalysisResult {
     @Builder.Default
     private String status = "PENDING";
 
+    // 요약, 항목, 협상 제안, 규칙 트리거를 묶은 AnalysisPayload (AnalysisPayloadCodec 형식)
+    @Column(name = "payload", columnDefinition = "BYTEA")
+    private byte[] payload;
+
+    // payload 전환 릴리스 동안 이전 버전 인스턴스와 롤백을 위해 함께 쓰는 JSON 컬럼.
+    // payload를 검증한 뒤 다음 릴리스에서 컬럼과 함께 제거한다. 조회는 AnalysisPayloadCodec.read로만 한다.
     @Column(name = "overall_summary_json", columnDefinition = "TEXT")
     private String overallSummaryJson;
 
@@ -45,12 +51,12 @@ public class AnalysisResult {
     @Column(name = "negotiation_suggestions_json", columnDefinition = "TEXT")
     private String negotiationSuggestionsJson;
 
-    @Column(name = "disclaimer", length = 400)
-    private String disclaimer;
-
     @Column(name = "rule_triggers_json", columnDefinition = "TEXT")
     private String ruleTriggersJson;
 
+    @Column(name = "disclaimer", length = 400)
+    private String disclaimer;
+
     @Column(name = "llm_model", length = 100)
     private String llmModel;
 
@@ -60,6 +66,29 @@ public class AnalysisResult {
     @Column(name = "error_code", length = 50)
     private String errorCode;
 
+    @Column(name = "cache_key", length = 64)
+    private String cacheKey;
+
+    @Column(name = "prompt_tokens")
+    private Integer promptTokens;
+
+    @Column(name = "completion_tokens")
+    private Integer completionTokens;
+
+    @Column(name = "cached_prompt_tokens")
+    private Integer cachedPromptTokens;
+
+    @Column(name = "batch_job_id")
+    private UUID batchJobId;
+
+    // DEGRADED 재분석 시도 횟수와 재분석 중인 인스턴스의 점유 만료 시각
+    @Column(name = "upgrade_attempts", nullable = false)
+    @Builder.Default
+    private Integer upgradeAttempts = 0;
+
+    @Column(name = "upgrade_claimed_until")
+    private Instant upgradeClaimedUntil;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
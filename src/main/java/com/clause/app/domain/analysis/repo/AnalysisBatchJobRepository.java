@@ -0,0 +1,16 @@
+package com.clause.app.domain.analysis.repo;
+
+import com.clause.app.domain.analysis.entity.AnalysisBatchJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface AnalysisBatchJobRepository extends JpaRepository<AnalysisBatchJob, UUID> {
+    List<AnalysisBatchJob> findByStatusOrderByCreatedAtAsc(String status);
+    boolean existsByStatusIn(List<String> statuses);
+    List<AnalysisBatchJob> findByStatusAndCreatedAtBefore(String status, Instant createdBefore);
+}
@@ -3,9 +3,15 @@ package com.clause.app.domain.analysis.repo;
 import com.clause.app.domain.analysis.entity.AnalysisResult;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
@@ -13,5 +19,24 @@ public interface AnalysisRepository extends JpaRepository<AnalysisResult, UUID>
     List<AnalysisResult> findByDocumentIdOrderByCreatedAtDesc(UUID documentId, Pageable pageable);
     List<AnalysisResult> findByStatus(String status);
     List<AnalysisResult> findAllByOrderByCreatedAtDesc(Pageable pageable);
+    Optional<AnalysisResult> findFirstByCacheKeyAndStatusAndCreatedAtAfterOrderByCreatedAtDesc(
+            String cacheKey, String status, Instant createdAfter);
+    Optional<AnalysisResult> findFirstByCacheKeyAndStatusOrderByCreatedAtDesc(String cacheKey, String status);
+
+    // 재분석 대상: 시도 횟수가 남았고 다른 인스턴스가 잡고 있지 않은 결과
+    @Query("SELECT a FROM AnalysisResult a WHERE a.status = :status AND a.upgradeAttempts < :maxAttempts "
+            + "AND (a.upgradeClaimedUntil IS NULL OR a.upgradeClaimedUntil < :now) ORDER BY a.createdAt ASC")
+    List<AnalysisResult> findUpgradeCandidates(@Param("status") String status, @Param("maxAttempts") int maxAttempts,
+                                               @Param("now") Instant now, Pageable pageable);
+
+    // 조건부 갱신으로 한 인스턴스만 결과를 잡는다. 잡으면 1을 돌려준다.
+    @Transactional
+    @Modifying
+    @Query("UPDATE AnalysisResult a SET a.upgradeClaimedUntil = :until, a.upgradeAttempts = a.upgradeAttempts + 1 "
+            + "WHERE a.id = :id AND a.status = :status AND (a.upgradeClaimedUntil IS NULL OR a.upgradeClaimedUntil < :now)")
+    int claimUpgrade(@Param("id") UUID id, @Param("status") String status,
+                     @Param("now") Instant now, @Param("until") Instant until);
+    List<AnalysisResult> findByStatusOrderByCreatedAtAsc(String status, Pageable pageable);
+    List<AnalysisResult> findByBatchJobIdAndStatus(UUID batchJobId, String status);
 }
 
@@ -0,0 +1,103 @@
+package com.clause.app.domain.analysis.service;
+
+import com.clause.app.common.ClauseException;
+import com.clause.app.common.ErrorCode;
+import com.clause.app.domain.analysis.dto.AnalysisRequest;
+import com.clause.app.domain.analysis.entity.AnalysisResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 같은 문서/파라미터로 동시에 들어온 분석 요청을 하나로 합친다(single-flight).
+ * 먼저 들어온 요청(리더)만 분석을 수행하고, 나머지(팔로워)는 리더의 결과를 기다려 그대로 돌려받는다.
+ * 팔로워의 타임아웃이나 인터럽트는 자신의 대기만 끝내며 리더의 작업은 취소하지 않는다.
+ */
+@Slf4j
+@Component
+public class AnalysisCoalescer {
+
+    private final Map<CoalesceKey, CompletableFuture<AnalysisResult>> inFlight = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final long followerTimeoutMs;
+
+    private final Counter leaders;
+    private final Counter followers;
+    private final Counter followerTimeouts;
+
+    public AnalysisCoalescer(
+            MeterRegistry meterRegistry,
+            @Value("${clause.analysis.coalesce.enabled:true}") boolean enabled,
+            @Value("${clause.analysis.coalesce.follower-timeout-ms:90000}") long followerTimeoutMs) {
+        this.enabled = enabled;
+        this.followerTimeoutMs = followerTimeoutMs;
+        this.leaders = Counter.builder("clause.analysis.coalesce.requests").tag("role", "leader").register(meterRegistry);
+        this.followers = Counter.builder("clause.analysis.coalesce.requests").tag("role", "follower").register(meterRegistry);
+        this.followerTimeouts = Counter.builder("clause.analysis.coalesce.follower.timeouts").register(meterRegistry);
+    }
+
+    public AnalysisResult execute(AnalysisRequest request, Supplier<AnalysisResult> analysis) {
+        if (!enabled) {
+            return analysis.get();
+        }
+
+        CoalesceKey key = CoalesceKey.of(request);
+        CompletableFuture<AnalysisResult> leaderFuture = new CompletableFuture<>();
+        CompletableFuture<AnalysisResult> existing = inFlight.putIfAbsent(key, leaderFuture);
+        if (existing != null) {
+            followers.increment();
+            log.info("Coalesced analysis request for document {}", request.getDocumentId());
+            return awaitLeader(existing);
+        }
+
+        leaders.increment();
+        try {
+            AnalysisResult result = analysis.get();
+            leaderFuture.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            leaderFuture.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, leaderFuture);
+        }
+    }
+
+    private AnalysisResult awaitLeader(CompletableFuture<AnalysisResult> leaderFuture) {
+        try {
+            // copy()에서 기다려야 팔로워 쪽 취소가 리더의 future에 전파되지 않는다.
+            return leaderFuture.copy().get(followerTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            followerTimeouts.increment();
+            throw new ClauseException(ErrorCode.LLM_UPSTREAM_ERROR, "동일한 분석 요청의 결과를 기다리는 중 시간이 초과되었어요.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ClauseException(ErrorCode.INTERNAL_ERROR);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new ClauseException(ErrorCode.INTERNAL_ERROR);
+        }
+    }
+
+    private record CoalesceKey(UUID documentId, String contractType, String userProfile, String language,
+                               boolean bypassCache) {
+
+        static CoalesceKey of(AnalysisRequest request) {
+            return new CoalesceKey(request.getDocumentId(), request.getContractType(), request.getUserProfile(),
+                    request.getLanguage(), Boolean.TRUE.equals(request.getBypassCache()));
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.clause.app.domain.analysis.service;
+
+import com.clause.app.domain.analysis.dto.AnalysisPayload;
+import com.clause.app.domain.analysis.dto.AnalysisResponse;
+import com.clause.app.domain.analysis.entity.AnalysisResult;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * 분석 결과 본문(analysis_result.payload)의 저장 형식.
+ * 첫 바이트는 형식 버전이고, 나머지는 AnalysisPayload를 Smile로 쓴 뒤 deflate로 압축한 값이다.
+ * Smile은 필드 이름과 반복되는 짧은 문자열(라벨, 규칙 ID)을 back-reference로 한 번만 쓴다.
+ */
+@Component
+public class AnalysisPayloadCodec {
+
+    public static final int FORMAT_VERSION = 1;
+
+    private final ObjectMapper smileMapper;
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+
+    public AnalysisPayloadCodec() {
+        SmileFactory smileFactory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        this.smileMapper = new ObjectMapper(smileFactory)
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    }
+
+    /**
+     * 후처리를 마친 결과 트리의 overall_summary, items, negotiation_suggestions로 payload를 만든다.
+     * 트리에 없는 부분은 null로 남는다.
+     */
+    public AnalysisPayload toPayload(JsonNode overallSummary, JsonNode items, JsonNode negotiationSuggestions,
+                                     List<String> ruleTriggers) {
+        return new AnalysisPayload(
+                toSummary(overallSummary),
+                toItems(items),
+                negotiationSuggestions != null ? toStrings(negotiationSuggestions) : null,
+                ruleTriggers);
+    }
+
+    public byte[] encode(AnalysisPayload payload) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+        bytes.write(FORMAT_VERSION);
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try (OutputStream out = new DeflaterOutputStream(bytes, deflater)) {
+            smileMapper.writeValue(out, payload);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to encode analysis payload", e);
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * payload가 null이면 null을 돌려준다.
+     */
+    public AnalysisPayload decode(byte[] payload) {
+        if (payload == null || payload.length == 0) {
+            return null;
+        }
+        int version = payload[0] & 0xFF;
+        if (version != FORMAT_VERSION) {
+            throw new IllegalStateException("Unsupported analysis payload format version: " + version);
+        }
+        Inflater inflater = new Inflater();
+        try (InputStream in = new InflaterInputStream(
+                new ByteArrayInputStream(payload, 1, payload.length - 1), inflater)) {
+            return smileMapper.readValue(in, AnalysisPayload.class);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to decode analysis payload", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * 저장된 결과의 본문. payload가 없는 행(payload 전환 전 버전이 쓴 행)은 예전 JSON 컬럼에서 만든다.
+     * JSON 컬럼을 제거하는 릴리스에서 이 대체 경로도 함께 없앤다. 본문이 전혀 없으면 null이다.
+     */
+    public AnalysisPayload read(AnalysisResult result) {
+        if (result.getPayload() != null) {
+            return decode(result.getPayload());
+        }
+        if (result.getOverallSummaryJson() == null && result.getItemsJson() == null
+                && result.getNegotiationSuggestionsJson() == null && result.getRuleTriggersJson() == null) {
+            return null;
+        }
+        try {
+            JsonNode negotiationSuggestions = readTree(result.getNegotiationSuggestionsJson());
+            JsonNode ruleTriggers = readTree(result.getRuleTriggersJson());
+            return new AnalysisPayload(
+                    toSummary(readTree(result.getOverallSummaryJson())),
+                    toItems(readTree(result.getItemsJson())),
+                    negotiationSuggestions != null ? toStrings(negotiationSuggestions) : null,
+                    ruleTriggers != null ? toStrings(ruleTriggers) : null);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to read legacy analysis columns", e);
+        }
+    }
+
+    private JsonNode readTree(String json) throws JsonProcessingException {
+        return json != null ? jsonMapper.readTree(json) : null;
+    }
+
+    /**
+     * JSON 배열의 원소를 문자열로 읽는다. 배열이 아니면 빈 목록이다.
+     */
+    private static List<String> toStrings(JsonNode array) {
+        List<String> values = new ArrayList<>();
+        if (array != null && array.isArray()) {
+            array.forEach(value -> values.add(value.asText()));
+        }
+        return values;
+    }
+
+    // 예전 조회 코드(AnalysisController.convertToResponse)와 같이 빠진 개수는 0, 빠진 key_points는 빈 목록으로 둔다.
+    private static AnalysisResponse.OverallSummary toSummary(JsonNode summary) {
+        if (summary == null || summary.isNull()) {
+            return null;
+        }
+        return AnalysisResponse.OverallSummary.builder()
+                .warningCount(summary.path("warning_count").asInt(0))
+                .checkCount(summary.path("check_count").asInt(0))
+                .okCount(summary.path("ok_count").asInt(0))
+                .keyPoints(toStrings(summary.get("key_points")))
+                .build();
+    }
+
+    private List<AnalysisResponse.AnalysisItem> toItems(JsonNode items) {
+        if (items == null || !items.isArray()) {
+            return null;
+        }
+        List<AnalysisResponse.AnalysisItem> values = new ArrayList<>(items.size());
+        for (JsonNode item : items) {
+            try {
+                values.add(smileMapper.treeToValue(item, AnalysisResponse.AnalysisItem.class));
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Invalid analysis item: " + e.getOriginalMessage(), e);
+            }
+        }
+        return values;
+    }
+}
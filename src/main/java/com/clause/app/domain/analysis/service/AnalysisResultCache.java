@@ -0,0 +1,200 @@
+package com.clause.app.domain.analysis.service;
+
+import com.clause.app.config.ModelTierProperties;
+import com.clause.app.domain.analysis.dto.AnalysisRequest;
+import com.clause.app.domain.analysis.entity.AnalysisResult;
+import com.clause.app.domain.analysis.repo.AnalysisRepository;
+import com.clause.app.domain.document.entity.Document;
+import com.clause.app.domain.llm.LlmEndpointRouter;
+import com.clause.app.domain.llm.PromptBuilder;
+import com.clause.app.domain.llm.ResponseFormatPolicy;
+import com.clause.app.domain.rules.engine.RuleCatalogLoader;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 같은 텍스트와 분석 파라미터에 대한 결과 캐시.
+ * 프로세스 내 LRU를 먼저 보고, 없으면 analysis_result 테이블(cache_key)에서 TTL 안의 최신 DONE 결과를 찾는다.
+ * 키에는 엔드포인트별 모델과 등급별 모델, 등급 기준을 함께 넣는다. 같은 텍스트의 등급은 이 설정으로 정해지므로,
+ * 모델이나 등급 설정이 바뀌면 이전 모델의 결과를 돌려주지 않는다.
+ * 프롬프트 설정(규칙 범위, 조항 본문 선택, 토큰 예산, fan-out, 출력 모드)도 같은 이유로 키에 넣는다.
+ */
+@Slf4j
+@Component
+public class AnalysisResultCache {
+
+    private static final String STATUS_DONE = "DONE";
+
+    private final AnalysisRepository analysisRepository;
+    private final RuleCatalogLoader ruleCatalogLoader;
+    private final boolean enabled;
+    private final Duration ttl;
+    private final int maxEntries;
+    private final String modelSignature;
+    private final String promptSignature;
+    private final Map<String, CachedAnalysis> localEntries;
+
+    private final Counter localHits;
+    private final Counter sharedHits;
+    private final Counter misses;
+
+    public AnalysisResultCache(
+            AnalysisRepository analysisRepository,
+            RuleCatalogLoader ruleCatalogLoader,
+            LlmEndpointRouter endpointRouter,
+            ModelTierProperties tierProperties,
+            PromptBuilder promptBuilder,
+            ResponseFormatPolicy responseFormatPolicy,
+            LlmFanOutAnalyzer fanOutAnalyzer,
+            MeterRegistry meterRegistry,
+            @Value("${clause.analysis.cache.enabled:true}") boolean enabled,
+            @Value("${clause.analysis.cache.ttl-minutes:1440}") long ttlMinutes,
+            @Value("${clause.analysis.cache.max-entries:500}") int maxEntries) {
+        this.analysisRepository = analysisRepository;
+        this.ruleCatalogLoader = ruleCatalogLoader;
+        this.enabled = enabled;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.maxEntries = maxEntries;
+        this.modelSignature = endpointRouter.modelSignature()
+                + "|" + (tierProperties.isEnabled() ? tierProperties.toString() : "tier:off");
+        this.promptSignature = promptBuilder.promptSignature()
+                + "|" + fanOutAnalyzer.signature()
+                + "|output:" + responseFormatPolicy.getMode();
+        this.localEntries = Collections.synchronizedMap(new LinkedHashMap<String, CachedAnalysis>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedAnalysis> eldest) {
+                return size() > AnalysisResultCache.this.maxEntries;
+            }
+        });
+
+        this.localHits = Counter.builder("clause.analysis.cache.requests").tag("result", "local_hit").register(meterRegistry);
+        this.sharedHits = Counter.builder("clause.analysis.cache.requests").tag("result", "shared_hit").register(meterRegistry);
+        this.misses = Counter.builder("clause.analysis.cache.requests").tag("result", "miss").register(meterRegistry);
+    }
+
+    public String keyFor(Document document, AnalysisRequest request) {
+        if (document.getTextSha256() == null) {
+            return null;
+        }
+        String raw = String.join("|",
+                document.getTextSha256(),
+                request.getContractType(),
+                request.getUserProfile(),
+                request.getLanguage(),
+                ruleCatalogLoader.getCatalogVersion(),
+                modelSignature,
+                promptSignature);
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(raw.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (Exception e) {
+            throw new IllegalStateException("SHA256 calculation failed", e);
+        }
+    }
+
+    public Optional<CachedAnalysis> lookup(String cacheKey) {
+        if (!enabled || cacheKey == null) {
+            return Optional.empty();
+        }
+
+        Instant cutoff = Instant.now().minus(ttl);
+        CachedAnalysis local = localEntries.get(cacheKey);
+        if (local != null) {
+            if (local.createdAt().isAfter(cutoff)) {
+                localHits.increment();
+                return Optional.of(local);
+            }
+            localEntries.remove(cacheKey);
+        }
+
+        Optional<CachedAnalysis> shared = analysisRepository
+                .findFirstByCacheKeyAndStatusAndCreatedAtAfterOrderByCreatedAtDesc(cacheKey, STATUS_DONE, cutoff)
+                .map(CachedAnalysis::from);
+        if (shared.isPresent()) {
+            sharedHits.increment();
+            localEntries.put(cacheKey, shared.get());
+        } else {
+            misses.increment();
+        }
+        return shared;
+    }
+
+    /**
+     * TTL과 관계없이 같은 cache_key의 가장 최근 DONE 결과를 찾는다. LLM을 쓸 수 없을 때(degraded)만 사용한다.
+     */
+    public Optional<CachedAnalysis> lookupIncludingExpired(String cacheKey) {
+        if (!enabled || cacheKey == null) {
+            return Optional.empty();
+        }
+        CachedAnalysis local = localEntries.get(cacheKey);
+        if (local != null) {
+            return Optional.of(local);
+        }
+        return analysisRepository.findFirstByCacheKeyAndStatusOrderByCreatedAtDesc(cacheKey, STATUS_DONE)
+                .map(CachedAnalysis::from);
+    }
+
+    public void put(AnalysisResult result) {
+        if (!enabled || result.getCacheKey() == null || !STATUS_DONE.equals(result.getStatus())) {
+            return;
+        }
+        localEntries.put(result.getCacheKey(), CachedAnalysis.from(result));
+    }
+
+    public record CachedAnalysis(
+            UUID sourceId,
+            byte[] payload,
+            String overallSummaryJson,
+            String itemsJson,
+            String negotiationSuggestionsJson,
+            String ruleTriggersJson,
+            String disclaimer,
+            String llmModel,
+            Instant createdAt) {
+
+        static CachedAnalysis from(AnalysisResult result) {
+            return new CachedAnalysis(
+                    result.getId(),
+                    result.getPayload(),
+                    result.getOverallSummaryJson(),
+                    result.getItemsJson(),
+                    result.getNegotiationSuggestionsJson(),
+                    result.getRuleTriggersJson(),
+                    result.getDisclaimer(),
+                    result.getLlmModel(),
+                    result.getCreatedAt() != null ? result.getCreatedAt() : Instant.now());
+        }
+
+        // 복사본에는 cache_key를 남기지 않는다. 복사본이 원본의 TTL을 계속 연장하지 않도록 하기 위함.
+        public AnalysisResult copyFor(AnalysisRequest request) {
+            return AnalysisResult.builder()
+                    .documentId(request.getDocumentId())
+                    .contractType(request.getContractType())
+                    .userProfile(request.getUserProfile())
+                    .language(request.getLanguage())
+                    .status(STATUS_DONE)
+                    .payload(payload)
+                    .overallSummaryJson(overallSummaryJson)
+                    .itemsJson(itemsJson)
+                    .negotiationSuggestionsJson(negotiationSuggestionsJson)
+                    .ruleTriggersJson(ruleTriggersJson)
+                    .disclaimer(disclaimer)
+                    .llmModel(llmModel)
+                    .build();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.clause.app.domain.analysis.service;
 
 import com.clause.app.common.*;
+import com.clause.app.domain.analysis.dto.AnalysisPayload;
 import com.clause.app.domain.analysis.dto.AnalysisRequest;
 import com.clause.app.domain.analysis.dto.AnalysisResponse;
 import com.clause.app.domain.analysis.entity.AnalysisResult;
@@ -8,8 +9,15 @@ import com.clause.app.domain.analysis.repo.AnalysisRepository;
 import com.clause.app.domain.document.entity.Document;
 import com.clause.app.domain.document.repo.DocumentRepository;
 import com.clause.app.domain.document.service.DocumentService;
+import com.clause.app.domain.llm.LlmAvailability;
 import com.clause.app.domain.llm.LlmClient;
+import com.clause.app.domain.llm.LlmUsageMetrics;
+import com.clause.app.domain.llm.ModelTierPolicy;
 import com.clause.app.domain.llm.PromptBuilder;
+import com.clause.app.domain.llm.PromptBundle;
+import com.clause.app.domain.llm.ResponseFormatPolicy;
+import com.clause.app.domain.llm.StreamingItemExtractor;
+import com.clause.app.domain.llm.batch.LlmBatchClient;
 import com.clause.app.domain.llm.dto.LlmRequest;
 import com.clause.app.domain.llm.dto.LlmResponse;
 import com.clause.app.domain.rules.engine.ClauseSegmenter;
@@ -20,13 +28,17 @@ import com.clause.app.domain.rules.model.ClauseCandidate;
 import com.clause.app.domain.rules.model.RuleRunResult;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -34,6 +46,9 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class AnalysisService {
 
+    public static final String STATUS_DEGRADED = "DEGRADED";
+    public static final String STATUS_BATCH_PENDING = "BATCH_PENDING";
+
     private final DocumentRepository documentRepository;
     private final DocumentService documentService;
     private final AnalysisRepository analysisRepository;
@@ -46,10 +61,239 @@ public class AnalysisService {
     private final JsonRepairUtil jsonRepairUtil;
     private final SchemaValidator schemaValidator;
     private final ForbiddenPhraseGuard forbiddenPhraseGuard;
+    private final AnalysisPostProcessor postProcessor;
     private final ObjectMapper objectMapper;
+    private final AnalysisResultCache resultCache;
+    private final AnalysisPayloadCodec payloadCodec;
+    private final LlmUsageMetrics llmUsageMetrics;
+    private final LlmFanOutAnalyzer fanOutAnalyzer;
+    private final ModelTierPolicy modelTierPolicy;
+    private final ResponseFormatPolicy responseFormatPolicy;
+    private final RuleOnlyReportGenerator ruleOnlyReportGenerator;
+    private final LlmAvailability llmAvailability;
+    private final MeterRegistry meterRegistry;
 
     @Transactional
     public AnalysisResult analyze(AnalysisRequest request) {
+        Document document = loadDocument(request);
+        String cacheKey = resultCache.keyFor(document, request);
+        Optional<AnalysisResultCache.CachedAnalysis> cached = lookupCache(cacheKey, request);
+        if (cached.isPresent()) {
+            return saveCachedCopy(cached.get(), request);
+        }
+
+        PreparedAnalysis prepared = prepare(request, document, cacheKey);
+        AnalysisResult analysisResult = prepared.analysisResult();
+        if (!prepared.isRuleOnly() && llmAvailability.isCircuitOpen()) {
+            return serveDegraded(request, prepared);
+        }
+
+        try {
+            if (prepared.isRuleOnly()) {
+                applyRuleOnlyReport(prepared);
+            } else {
+                runLlmAnalysis(request, prepared);
+            }
+        } catch (ClauseException e) {
+            if (LlmAvailability.isCircuitOpen(e)) {
+                return serveDegraded(request, prepared);
+            }
+            throw e;
+        } catch (Exception e) {
+            log.error("Analysis failed", e);
+            analysisResult.setStatus("FAILED");
+            analysisResult.setErrorCode(ErrorCode.JSON_REPAIR_FAILED.name());
+        }
+
+        AnalysisResult saved = analysisRepository.save(analysisResult);
+        resultCache.put(saved);
+        return saved;
+    }
+
+    /**
+     * DEGRADED 결과를 LLM 분석으로 다시 채워 같은 analysisId를 DONE으로 바꾼다.
+     * 실패하면 예외를 그대로 던지고 결과는 DEGRADED로 남는다.
+     */
+    @Transactional
+    public AnalysisResult upgradeDegraded(UUID analysisId) throws Exception {
+        AnalysisResult degraded = getAnalysis(analysisId);
+        if (!STATUS_DEGRADED.equals(degraded.getStatus())) {
+            return degraded;
+        }
+        AnalysisRequest request = toRequest(degraded);
+        PreparedAnalysis prepared = prepare(request, loadDocument(request), degraded.getCacheKey());
+        if (prepared.isRuleOnly()) {
+            applyRuleOnlyReport(prepared);
+        } else {
+            runLlmAnalysis(request, prepared);
+        }
+
+        copyAnalysis(prepared.analysisResult(), degraded);
+        AnalysisResult saved = analysisRepository.save(degraded);
+        resultCache.put(saved);
+        log.info("Upgraded degraded analysis {} to {}", analysisId, saved.getStatus());
+        return saved;
+    }
+
+    /**
+     * 기존 결과를 현재 룰 카탈로그/모델 기준으로 다시 분석할 배치 요청을 만든다.
+     * 이미 최신이거나(같은 cache_key) 최신 키의 DONE 결과나 대기 중인 배치 요청이 있으면 비어 있다.
+     * 규칙만으로 답하는 문서는 바로 DONE으로 저장하고, 나머지는 BATCH_PENDING 결과를 새로 저장한 뒤 그 ID로 요청을 돌려준다.
+     * 배치 요청은 문서당 한 건이라 fan-out은 쓰지 않는다.
+     */
+    @Transactional
+    public Optional<LlmBatchClient.BatchEntry> prepareBatchAnalysis(AnalysisResult source, UUID batchJobId) throws Exception {
+        AnalysisRequest request = toRequest(source);
+        Document document = loadDocument(request);
+        String cacheKey = resultCache.keyFor(document, request);
+        if (cacheKey == null || cacheKey.equals(source.getCacheKey())
+                || analysisRepository.findFirstByCacheKeyAndStatusOrderByCreatedAtDesc(cacheKey, "DONE").isPresent()
+                || analysisRepository.findFirstByCacheKeyAndStatusOrderByCreatedAtDesc(cacheKey, STATUS_BATCH_PENDING).isPresent()) {
+            return Optional.empty();
+        }
+
+        PreparedAnalysis prepared = prepare(request, document, cacheKey);
+        AnalysisResult analysisResult = prepared.analysisResult();
+        analysisResult.setBatchJobId(batchJobId);
+        if (prepared.isRuleOnly()) {
+            applyRuleOnlyReport(prepared);
+            resultCache.put(analysisRepository.save(analysisResult));
+            return Optional.empty();
+        }
+        analysisResult.setStatus(STATUS_BATCH_PENDING);
+        AnalysisResult saved = analysisRepository.save(analysisResult);
+        return Optional.of(new LlmBatchClient.BatchEntry(saved.getId().toString(), prepared.llmRequest()));
+    }
+
+    /**
+     * 배치 응답을 실시간 분석과 같은 JSON 복구/스키마 검증/후처리 경로로 반영한다.
+     * 복구에 실패하면 FAILED로 저장한다.
+     */
+    @Transactional
+    public AnalysisResult completeBatchAnalysis(UUID analysisId, LlmResponse llmResponse) {
+        AnalysisResult pending = getAnalysis(analysisId);
+        if (!STATUS_BATCH_PENDING.equals(pending.getStatus())) {
+            return pending;
+        }
+        AnalysisRequest request = toRequest(pending);
+        PreparedAnalysis prepared = prepare(request, loadDocument(request), pending.getCacheKey());
+        try {
+            applyLlmResponse(prepared, llmResponse);
+        } catch (Exception e) {
+            log.error("Batch analysis {} failed", analysisId, e);
+            pending.setStatus("FAILED");
+            pending.setErrorCode(ErrorCode.JSON_REPAIR_FAILED.name());
+            return analysisRepository.save(pending);
+        }
+
+        copyAnalysis(prepared.analysisResult(), pending);
+        AnalysisResult saved = analysisRepository.save(pending);
+        resultCache.put(saved);
+        return saved;
+    }
+
+    @Transactional
+    public void failBatchAnalysis(UUID analysisId, String reason) {
+        AnalysisResult pending = getAnalysis(analysisId);
+        if (!STATUS_BATCH_PENDING.equals(pending.getStatus())) {
+            return;
+        }
+        log.warn("Batch analysis {} failed: {}", analysisId, reason);
+        pending.setStatus("FAILED");
+        pending.setErrorCode(ErrorCode.LLM_UPSTREAM_ERROR.name());
+        analysisRepository.save(pending);
+    }
+
+    private static AnalysisRequest toRequest(AnalysisResult result) {
+        return AnalysisRequest.builder()
+                .documentId(result.getDocumentId())
+                .contractType(result.getContractType())
+                .userProfile(result.getUserProfile())
+                .language(result.getLanguage())
+                .build();
+    }
+
+    private static void copyAnalysis(AnalysisResult from, AnalysisResult to) {
+        to.setPayload(from.getPayload());
+        to.setOverallSummaryJson(from.getOverallSummaryJson());
+        to.setItemsJson(from.getItemsJson());
+        to.setNegotiationSuggestionsJson(from.getNegotiationSuggestionsJson());
+        to.setRuleTriggersJson(from.getRuleTriggersJson());
+        to.setDisclaimer(from.getDisclaimer());
+        to.setLlmModel(from.getLlmModel());
+        to.setPromptTokens(from.getPromptTokens());
+        to.setCompletionTokens(from.getCompletionTokens());
+        to.setCachedPromptTokens(from.getCachedPromptTokens());
+        to.setStatus(from.getStatus());
+    }
+
+    @Transactional
+    public AnalysisResult analyzeStreaming(AnalysisRequest request, Consumer<JsonNode> itemListener) {
+        Document document = loadDocument(request);
+        String cacheKey = resultCache.keyFor(document, request);
+        Optional<AnalysisResultCache.CachedAnalysis> cached = lookupCache(cacheKey, request);
+        if (cached.isPresent()) {
+            AnalysisResult copy = saveCachedCopy(cached.get(), request);
+            emitStoredItems(copy, itemListener);
+            return copy;
+        }
+
+        PreparedAnalysis prepared = prepare(request, document, cacheKey);
+        AnalysisResult analysisResult = prepared.analysisResult();
+        if (prepared.isRuleOnly()) {
+            try {
+                applyRuleOnlyReport(prepared);
+            } catch (Exception e) {
+                log.error("Rule-only analysis failed", e);
+                analysisResult.setStatus("FAILED");
+                analysisResult.setErrorCode(ErrorCode.INTERNAL_ERROR.name());
+            }
+            AnalysisResult saved = analysisRepository.save(analysisResult);
+            resultCache.put(saved);
+            emitStoredItems(saved, itemListener);
+            return saved;
+        }
+        if (llmAvailability.isCircuitOpen()) {
+            AnalysisResult degraded = serveDegraded(request, prepared);
+            emitStoredItems(degraded, itemListener);
+            return degraded;
+        }
+        StreamingItemExtractor extractor = new StreamingItemExtractor();
+
+        try {
+            LlmResponse llmResponse = llmClient.stream(prepared.llmRequest(), delta -> {
+                for (String itemJson : extractor.feed(delta)) {
+                    JsonNode item = guardStreamedItem(itemJson);
+                    if (item == null) {
+                        continue;
+                    }
+                    try {
+                        itemListener.accept(item);
+                    } catch (Exception e) {
+                        log.warn("Streamed item listener failed: {}", e.getMessage());
+                    }
+                }
+            });
+            applyLlmResponse(prepared, llmResponse);
+        } catch (ClauseException e) {
+            if (LlmAvailability.isCircuitOpen(e)) {
+                AnalysisResult degraded = serveDegraded(request, prepared);
+                emitStoredItems(degraded, itemListener);
+                return degraded;
+            }
+            throw e;
+        } catch (Exception e) {
+            log.error("Streaming analysis failed", e);
+            analysisResult.setStatus("FAILED");
+            analysisResult.setErrorCode(ErrorCode.JSON_REPAIR_FAILED.name());
+        }
+
+        AnalysisResult saved = analysisRepository.save(analysisResult);
+        resultCache.put(saved);
+        return saved;
+    }
+
+    private Document loadDocument(AnalysisRequest request) {
         Document document = documentRepository.findById(request.getDocumentId())
                 .orElseThrow(() -> new ClauseException(ErrorCode.DOCUMENT_NOT_FOUND));
 
@@ -61,110 +305,241 @@ public class AnalysisService {
         if (extractedText == null || extractedText.isBlank()) {
             throw new ClauseException(ErrorCode.EXTRACTION_FAILED, "추출된 텍스트가 없습니다.");
         }
+        return document;
+    }
+
+    private Optional<AnalysisResultCache.CachedAnalysis> lookupCache(String cacheKey, AnalysisRequest request) {
+        if (Boolean.TRUE.equals(request.getBypassCache())) {
+            return Optional.empty();
+        }
+        return resultCache.lookup(cacheKey);
+    }
+
+    private AnalysisResult saveCachedCopy(AnalysisResultCache.CachedAnalysis cached, AnalysisRequest request) {
+        log.info("Analysis cache hit for document {} (source analysis {})", request.getDocumentId(), cached.sourceId());
+        return analysisRepository.save(cached.copyFor(request));
+    }
 
-        String normalizedText = textNormalizer.normalize(extractedText);
+    private void emitStoredItems(AnalysisResult result, Consumer<JsonNode> itemListener) {
+        try {
+            AnalysisPayload payload = payloadCodec.read(result);
+            if (payload == null || payload.items() == null) {
+                return;
+            }
+            for (AnalysisResponse.AnalysisItem item : payload.items()) {
+                itemListener.accept(objectMapper.valueToTree(item));
+            }
+        } catch (Exception e) {
+            log.warn("Failed to emit stored items for analysis {}: {}", result.getId(), e.getMessage());
+        }
+    }
+
+    private PreparedAnalysis prepare(AnalysisRequest request, Document document, String cacheKey) {
+        String normalizedText = textNormalizer.normalize(document.getExtractedText());
         String maskedText = maskingUtil.maskForLlm(normalizedText);
         List<ClauseCandidate> segments = clauseSegmenter.segment(maskedText);
 
         ContractType contractType = ContractType.valueOf(request.getContractType());
         RuleRunResult ruleResult = ruleEngine.runRules(maskedText, contractType, segments);
 
-        List<ClauseCandidate> topCandidates = ruleEngine.selectTopCandidates(
+        List<ClauseCandidate> rankedCandidates = ruleEngine.selectTopCandidates(
                 ruleResult.getCandidates(), 10, contractType);
 
-        UserProfile userProfile = UserProfile.valueOf(request.getUserProfile());
-        String systemPrompt = promptBuilder.buildSystemPrompt();
-        String developerPrompt = promptBuilder.buildDeveloperPrompt(
-                contractType, userProfile, request.getLanguage());
-        String userPrompt = promptBuilder.buildUserPrompt(
-                topCandidates, contractType, userProfile, request.getLanguage());
-
-        LlmRequest llmRequest = LlmRequest.builder()
-                .systemPrompt(systemPrompt)
-                .developerPrompt(developerPrompt)
-                .userPrompt(userPrompt)
-                .model("gpt-4o-mini")
-                .temperature(0.3)
-                .maxTokens(4000)
-                .build();
-
         AnalysisResult analysisResult = AnalysisResult.builder()
                 .documentId(request.getDocumentId())
                 .contractType(request.getContractType())
                 .userProfile(request.getUserProfile())
                 .language(request.getLanguage())
                 .status("PENDING")
+                .cacheKey(cacheKey)
                 .build();
 
-        try {
-            LlmResponse llmResponse = llmClient.call(llmRequest);
-            String rawJson = llmResponse.getContent();
-            if (rawJson == null || rawJson.isBlank()) {
-                throw new ClauseException(ErrorCode.JSON_REPAIR_FAILED, "LLM 응답이 비어있습니다.");
-            }
+        if (ruleOnlyReportGenerator.shouldSkipLlm(ruleResult)) {
+            return new PreparedAnalysis(rankedCandidates, null, analysisResult, 0, null);
+        }
 
-            String repairedJson;
-            try {
-                repairedJson = jsonRepairUtil.extractAndRepair(rawJson);
-            } catch (Exception e) {
-                log.error("JSON 복구 실패. 원본 응답: {}", rawJson.substring(0, Math.min(500, rawJson.length())), e);
-                throw new ClauseException(ErrorCode.JSON_REPAIR_FAILED, "JSON 복구 실패: " + e.getMessage());
-            }
-            
-            JsonNode rootNode = objectMapper.readTree(repairedJson);
-            com.fasterxml.jackson.databind.node.ObjectNode root = 
-                    rootNode.isObject() ? (com.fasterxml.jackson.databind.node.ObjectNode) rootNode 
-                                       : objectMapper.createObjectNode();
-
-            SchemaValidator.ValidationResult validation = schemaValidator.validate(root);
-            if (!validation.valid()) {
-                log.warn("Schema validation failed: {}", validation.errors());
-                root = (com.fasterxml.jackson.databind.node.ObjectNode) schemaValidator.sanitize(root);
-            }
+        UserProfile userProfile = UserProfile.valueOf(request.getUserProfile());
+        PromptBundle prompts = promptBuilder.buildPrompts(
+                rankedCandidates, contractType, userProfile, request.getLanguage());
 
-            JsonNode guardedRoot = forbiddenPhraseGuard.guard(root);
-            if (!guardedRoot.isObject()) {
-                guardedRoot = root;
-            } else {
-                root = (com.fasterxml.jackson.databind.node.ObjectNode) guardedRoot;
-            }
+        ModelTierPolicy.Decision tier = modelTierPolicy.decide(
+                contractType, prompts.candidates(), prompts.estimatedInputTokens(), prompts.maxOutputTokens());
 
-            root = postProcess(root, topCandidates);
-            JsonNode overallSummary = root.get("overall_summary");
-            JsonNode items = root.get("items");
-            JsonNode negotiationSuggestions = root.get("negotiation_suggestions");
-            JsonNode disclaimer = root.get("disclaimer");
-            
-            if (overallSummary != null) {
-                analysisResult.setOverallSummaryJson(objectMapper.writeValueAsString(overallSummary));
-            }
-            if (items != null) {
-                analysisResult.setItemsJson(objectMapper.writeValueAsString(items));
+        LlmRequest llmRequest = LlmRequest.builder()
+                .systemPrompt(prompts.systemPrompt())
+                .developerPrompt(prompts.developerPrompt())
+                .userPrompt(prompts.userPrompt())
+                .tier(tier != null ? tier.tier() : null)
+                .temperature(0.3)
+                .maxTokens(tier != null ? tier.maxTokens() : prompts.maxOutputTokens())
+                .estimatedInputTokens(prompts.estimatedInputTokens())
+                .responseFormat(responseFormatPolicy.analysisResponseFormat())
+                .build();
+
+        return new PreparedAnalysis(prompts.candidates(), llmRequest, analysisResult, prompts.estimatedInputTokens(), tier);
+    }
+
+    private void runLlmAnalysis(AnalysisRequest request, PreparedAnalysis prepared) throws Exception {
+        if (fanOutAnalyzer.shouldFanOut(prepared.topCandidates())) {
+            LlmFanOutAnalyzer.FanOutResult fanOut = fanOutAnalyzer.analyze(prepared.topCandidates(),
+                    ContractType.valueOf(request.getContractType()),
+                    UserProfile.valueOf(request.getUserProfile()),
+                    request.getLanguage(),
+                    prepared.llmRequest());
+            applyAnalysis(prepared.analysisResult(), fanOut.root(), fanOut.candidates(),
+                    prepared.modelLabel(fanOut.model()), false);
+            if (fanOut.degradedGroups() > 0) {
+                // 일부 조항이 규칙 기반 항목이므로 캐시하지 않고, DegradedAnalysisUpgrader가 나중에 다시 분석하게 한다.
+                prepared.analysisResult().setStatus(STATUS_DEGRADED);
+                meterRegistry.counter("clause.analysis.degraded", "source", "fan_out").increment();
             }
-            if (negotiationSuggestions != null) {
-                analysisResult.setNegotiationSuggestionsJson(objectMapper.writeValueAsString(negotiationSuggestions));
+        } else {
+            LlmResponse llmResponse = llmClient.call(prepared.llmRequest());
+            applyLlmResponse(prepared, llmResponse);
+        }
+    }
+
+    /**
+     * LLM 서킷 브레이커가 열려 있을 때의 응답. 같은 텍스트/파라미터의 캐시 결과가 있으면(TTL 무시) 그 복사본을,
+     * 없으면 규칙 기반 결과를 DEGRADED 상태로 저장해 돌려준다. bypassCache는 여기서 무시한다.
+     */
+    private AnalysisResult serveDegraded(AnalysisRequest request, PreparedAnalysis prepared) {
+        log.warn("LLM circuit breaker is open. Serving degraded analysis for document {}", request.getDocumentId());
+        Optional<AnalysisResultCache.CachedAnalysis> cached =
+                resultCache.lookupIncludingExpired(prepared.analysisResult().getCacheKey());
+        if (cached.isPresent()) {
+            meterRegistry.counter("clause.analysis.degraded", "source", "cache").increment();
+            return saveCachedCopy(cached.get(), request);
+        }
+
+        AnalysisResult analysisResult = prepared.analysisResult();
+        try {
+            applyAnalysis(analysisResult, ruleOnlyReportGenerator.generate(prepared.topCandidates()),
+                    prepared.topCandidates(), RuleOnlyReportGenerator.MODEL, false);
+        } catch (Exception e) {
+            throw new ClauseException(ErrorCode.LLM_UPSTREAM_ERROR, e);
+        }
+        analysisResult.setStatus(STATUS_DEGRADED);
+        meterRegistry.counter("clause.analysis.degraded", "source", "rules").increment();
+        return analysisRepository.save(analysisResult);
+    }
+
+    private void applyRuleOnlyReport(PreparedAnalysis prepared) throws Exception {
+        log.info("No rule triggers above threshold. Building rule-only report without LLM call");
+        applyAnalysis(prepared.analysisResult(), ruleOnlyReportGenerator.generate(prepared.topCandidates()),
+                prepared.topCandidates(), RuleOnlyReportGenerator.MODEL, false);
+    }
+
+    private void applyLlmResponse(PreparedAnalysis prepared, LlmResponse llmResponse) throws Exception {
+        AnalysisResult analysisResult = prepared.analysisResult();
+        List<ClauseCandidate> topCandidates = prepared.topCandidates();
+        llmUsageMetrics.recordPromptTokens(promptBuilder.getRuleScope(), prepared.estimatedInputTokens(), llmResponse);
+        analysisResult.setPromptTokens(llmResponse.getPromptTokens());
+        analysisResult.setCompletionTokens(llmResponse.getCompletionTokens());
+        analysisResult.setCachedPromptTokens(llmResponse.getCachedPromptTokens());
+
+        String outputMode = prepared.isStructuredOutput() ? "structured" : "prompt";
+        String rawJson = llmResponse.getContent();
+        if (rawJson == null || rawJson.isBlank()) {
+            recordJsonOutcome(outputMode, "repair_failed");
+            throw new ClauseException(ErrorCode.JSON_REPAIR_FAILED, "LLM 응답이 비어있습니다.");
+        }
+
+        // 스키마 준수가 보장된 응답은 복구와 보정 없이 쓰고, 스키마로 표현하지 못하는 길이 제한만 후처리에서 맞춘다.
+        // max_tokens에 걸려 잘린 응답처럼 파싱되지 않으면 PROMPT 모드와 같은 복구 경로로 넘긴다.
+        if (prepared.isStructuredOutput()) {
+            ObjectNode root = parseStructured(rawJson);
+            if (root != null) {
+                recordJsonOutcome(outputMode, "parsed");
+                applyAnalysis(analysisResult, root, topCandidates, prepared.modelLabel(llmResponse.getModel()), false);
+                return;
             }
-            if (disclaimer != null && !disclaimer.isNull()) {
-                analysisResult.setDisclaimer(disclaimer.asText());
+        }
+
+        ObjectNode root;
+        try {
+            root = jsonRepairUtil.extractAndRepairTree(rawJson);
+        } catch (Exception e) {
+            recordJsonOutcome(outputMode, "repair_failed");
+            log.error("JSON 복구 실패. 원본 응답: {}", rawJson.substring(0, Math.min(500, rawJson.length())), e);
+            throw new ClauseException(ErrorCode.JSON_REPAIR_FAILED, "JSON 복구 실패: " + e.getMessage());
+        }
+        recordJsonOutcome(outputMode, "repaired");
+
+        applyAnalysis(analysisResult, root, topCandidates, prepared.modelLabel(llmResponse.getModel()), true);
+    }
+
+    private ObjectNode parseStructured(String rawJson) {
+        try {
+            JsonNode parsed = objectMapper.readTree(rawJson);
+            if (parsed instanceof ObjectNode root) {
+                return root;
             }
-            analysisResult.setRuleTriggersJson(objectMapper.writeValueAsString(
-                    topCandidates.stream()
-                            .flatMap(c -> c.getRuleTriggers().stream())
-                            .map(t -> t.getCategory().name())
-                            .distinct()
-                            .collect(Collectors.toList())));
-            analysisResult.setLlmModel(llmResponse.getModel());
-            analysisResult.setStatus("DONE");
+            log.warn("Structured output is not a JSON object. Falling back to JSON repair");
+        } catch (Exception e) {
+            log.warn("Structured output is not valid JSON. Falling back to JSON repair: {}", e.getMessage());
+        }
+        return null;
+    }
 
-        } catch (ClauseException e) {
-            throw e;
+    // 모드별 JSON_REPAIR_FAILED 비율 = result=repair_failed / 전체
+    private void recordJsonOutcome(String outputMode, String result) {
+        meterRegistry.counter("clause.analysis.llm.json", "mode", outputMode, "result", result).increment();
+    }
+
+    /**
+     * validate가 true면 LLM 응답처럼 형식을 믿을 수 없는 트리로 보고 스키마 검증과 보정까지 한다.
+     */
+    private void applyAnalysis(AnalysisResult analysisResult, ObjectNode root,
+                               List<ClauseCandidate> topCandidates, String llmModel, boolean validate) throws Exception {
+        AnalysisPostProcessor.Result processed = postProcessor.process(root, validate);
+        if (!processed.valid()) {
+            log.warn("Schema validation failed: {}", processed.errors());
+        }
+
+        JsonNode overallSummary = root.get("overall_summary");
+        JsonNode items = root.get("items");
+        JsonNode negotiationSuggestions = root.get("negotiation_suggestions");
+        JsonNode disclaimer = root.get("disclaimer");
+        List<String> ruleTriggers = topCandidates.stream()
+                .flatMap(c -> c.getRuleTriggers().stream())
+                .map(t -> t.getCategory().name())
+                .distinct()
+                .collect(Collectors.toList());
+
+        analysisResult.setPayload(payloadCodec.encode(
+                payloadCodec.toPayload(overallSummary, items, negotiationSuggestions, ruleTriggers)));
+        // 전환 릴리스 동안은 예전 JSON 컬럼도 함께 쓴다.
+        analysisResult.setOverallSummaryJson(overallSummary != null ? objectMapper.writeValueAsString(overallSummary) : null);
+        analysisResult.setItemsJson(items != null ? objectMapper.writeValueAsString(items) : null);
+        analysisResult.setNegotiationSuggestionsJson(
+                negotiationSuggestions != null ? objectMapper.writeValueAsString(negotiationSuggestions) : null);
+        analysisResult.setRuleTriggersJson(objectMapper.writeValueAsString(ruleTriggers));
+        if (disclaimer != null && !disclaimer.isNull()) {
+            analysisResult.setDisclaimer(disclaimer.asText());
+        }
+        analysisResult.setLlmModel(llmModel);
+        analysisResult.setStatus("DONE");
+    }
+
+    private JsonNode guardStreamedItem(String itemJson) {
+        JsonNode item;
+        try {
+            item = objectMapper.readTree(itemJson);
         } catch (Exception e) {
-            log.error("Analysis failed", e);
-            analysisResult.setStatus("FAILED");
-            analysisResult.setErrorCode(ErrorCode.JSON_REPAIR_FAILED.name());
+            log.debug("Skipping unparseable streamed item: {}", e.getMessage());
+            return null;
+        }
+        if (!item.isObject()) {
+            return null;
         }
 
-        return analysisRepository.save(analysisResult);
+        ObjectNode itemNode = (ObjectNode) item;
+        if (!schemaValidator.validateItem(itemNode).valid()) {
+            itemNode = schemaValidator.sanitizeItem(itemNode);
+        }
+        forbiddenPhraseGuard.guardItem(itemNode);
+        return itemNode;
     }
 
     @Transactional(readOnly = true)
@@ -185,40 +560,24 @@ public class AnalysisService {
                 org.springframework.data.domain.PageRequest.of(page, size));
     }
 
-    private com.fasterxml.jackson.databind.node.ObjectNode postProcess(
-            com.fasterxml.jackson.databind.node.ObjectNode root, List<ClauseCandidate> candidates) {
-        JsonNode items = root.get("items");
-        if (items != null && items.isArray()) {
-            int warningCount = 0;
-            int checkCount = 0;
-            int okCount = 0;
-
-            for (JsonNode item : items) {
-                JsonNode labelNode = item.get("label");
-                if (labelNode != null && !labelNode.isNull()) {
-                    String label = labelNode.asText();
-                    if ("WARNING".equals(label)) warningCount++;
-                    else if ("CHECK".equals(label)) checkCount++;
-                    else if ("OK".equals(label)) okCount++;
-                }
-            }
+    private record PreparedAnalysis(
+            List<ClauseCandidate> topCandidates,
+            LlmRequest llmRequest,
+            AnalysisResult analysisResult,
+            int estimatedInputTokens,
+            ModelTierPolicy.Decision tier) {
 
-            JsonNode summaryNode = root.get("overall_summary");
-            com.fasterxml.jackson.databind.node.ObjectNode summary;
-            if (summaryNode != null && summaryNode.isObject()) {
-                summary = (com.fasterxml.jackson.databind.node.ObjectNode) summaryNode;
-            } else {
-                summary = objectMapper.createObjectNode();
-                root.set("overall_summary", summary);
-            }
-            summary.put("warning_count", warningCount);
-            summary.put("check_count", checkCount);
-            summary.put("ok_count", okCount);
+        // 규칙만으로 답하는 경우 llmRequest가 없다.
+        boolean isRuleOnly() {
+            return llmRequest == null;
         }
 
-        root.put("disclaimer", "Clause는 법률 자문이 아니며, 정보 제공 목적입니다. 중요한 계약은 전문가 상담을 권장드립니다.");
+        boolean isStructuredOutput() {
+            return llmRequest != null && llmRequest.getResponseFormat() != null;
+        }
 
-        return root;
+        String modelLabel(String responseModel) {
+            return tier != null ? tier.label(responseModel) : responseModel;
+        }
     }
 }
-
@@ -0,0 +1,206 @@
+package com.clause.app.domain.analysis.service;
+
+import com.clause.app.domain.analysis.entity.AnalysisBatchJob;
+import com.clause.app.domain.analysis.entity.AnalysisResult;
+import com.clause.app.domain.analysis.repo.AnalysisBatchJobRepository;
+import com.clause.app.domain.analysis.repo.AnalysisRepository;
+import com.clause.app.domain.llm.batch.LlmBatchClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 룰 카탈로그나 모델이 바뀌어 cache_key가 달라진 DONE 결과를 공급자 배치 API로 다시 분석한다.
+ * 실시간 호출과 속도 제한을 나눠 쓰지 않도록 LlmClient 대신 LlmBatchClient로 한 번에 제출하고,
+ * 끝난 배치의 응답은 AnalysisService의 일반 JSON 복구/검증/저장 경로로 반영한다.
+ * 제출 중이거나 진행 중인 배치가 있으면 새로 제출하지 않는다. 제출 도중 프로세스가 죽어 PREPARING에 남았거나
+ * 공급자 완료 기한을 넘겨도 SUBMITTED인 작업은 시간 제한이 지나면 FAILED로 닫고, 그 작업의 BATCH_PENDING 결과도 실패로 닫는다.
+ */
+@Slf4j
+@Component
+public class BatchReanalysisJob {
+
+    private static final int PAGE_SIZE = 100;
+    private static final List<String> ACTIVE_STATUSES =
+            List.of(AnalysisBatchJob.STATUS_PREPARING, AnalysisBatchJob.STATUS_SUBMITTED);
+
+    private final AnalysisRepository analysisRepository;
+    private final AnalysisBatchJobRepository batchJobRepository;
+    private final AnalysisService analysisService;
+    private final LlmBatchClient batchClient;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int maxRequests;
+    private final Duration preparingTimeout;
+    private final Duration submittedTimeout;
+
+    public BatchReanalysisJob(
+            AnalysisRepository analysisRepository,
+            AnalysisBatchJobRepository batchJobRepository,
+            AnalysisService analysisService,
+            LlmBatchClient batchClient,
+            MeterRegistry meterRegistry,
+            @Value("${clause.llm.batch.enabled:false}") boolean enabled,
+            @Value("${clause.llm.batch.max-requests:1000}") int maxRequests,
+            @Value("${clause.llm.batch.preparing-timeout-ms:3600000}") long preparingTimeoutMs,
+            @Value("${clause.llm.batch.submitted-timeout-ms:93600000}") long submittedTimeoutMs) {
+        this.analysisRepository = analysisRepository;
+        this.batchJobRepository = batchJobRepository;
+        this.analysisService = analysisService;
+        this.batchClient = batchClient;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.maxRequests = maxRequests;
+        this.preparingTimeout = Duration.ofMillis(preparingTimeoutMs);
+        this.submittedTimeout = Duration.ofMillis(submittedTimeoutMs);
+    }
+
+    @Scheduled(cron = "${clause.llm.batch.submit-cron:0 0 3 * * *}")
+    public void submitStale() {
+        if (!enabled) {
+            return;
+        }
+        expireStaleJobs();
+        if (batchJobRepository.existsByStatusIn(ACTIVE_STATUSES)) {
+            return;
+        }
+        AnalysisBatchJob job = batchJobRepository.save(
+                AnalysisBatchJob.builder().status(AnalysisBatchJob.STATUS_PREPARING).build());
+        List<LlmBatchClient.BatchEntry> entries = collectStale(job.getId());
+        if (entries.isEmpty()) {
+            batchJobRepository.delete(job);
+            return;
+        }
+
+        job.setRequestCount(entries.size());
+        try {
+            job.setProviderBatchId(batchClient.submit(entries));
+            job.setStatus(AnalysisBatchJob.STATUS_SUBMITTED);
+            log.info("Submitted batch re-analysis job {} ({} requests)", job.getId(), entries.size());
+        } catch (Exception e) {
+            log.error("Batch re-analysis submit failed", e);
+            job.setStatus(AnalysisBatchJob.STATUS_FAILED);
+            job.setErrorMessage(truncate(e.getMessage()));
+            job.setCompletedAt(Instant.now());
+            failPending(job.getId(), "배치 제출 실패");
+        }
+        batchJobRepository.save(job);
+    }
+
+    @Scheduled(fixedDelayString = "${clause.llm.batch.poll-interval-ms:300000}")
+    public void pollSubmitted() {
+        if (!enabled) {
+            return;
+        }
+        expireStaleJobs();
+        for (AnalysisBatchJob job : batchJobRepository.findByStatusOrderByCreatedAtAsc(AnalysisBatchJob.STATUS_SUBMITTED)) {
+            try {
+                poll(job);
+            } catch (Exception e) {
+                log.warn("Failed to poll batch re-analysis job {}: {}", job.getId(), e.getMessage());
+            }
+        }
+    }
+
+    private void poll(AnalysisBatchJob job) {
+        LlmBatchClient.BatchStatus status = batchClient.poll(job.getProviderBatchId());
+        if (!status.isTerminal()) {
+            log.debug("Batch re-analysis job {} in progress ({}/{})", job.getId(), status.completed(), status.total());
+            return;
+        }
+
+        for (LlmBatchClient.BatchResult result : batchClient.results(job.getProviderBatchId())) {
+            UUID analysisId;
+            try {
+                analysisId = UUID.fromString(result.customId());
+            } catch (RuntimeException e) {
+                log.warn("Ignoring batch result with unknown custom_id {}", result.customId());
+                continue;
+            }
+            if (result.isSuccess()) {
+                AnalysisResult saved = analysisService.completeBatchAnalysis(analysisId, result.response());
+                count("DONE".equals(saved.getStatus()) ? "done" : "failed");
+            } else {
+                analysisService.failBatchAnalysis(analysisId, result.error());
+                count("failed");
+            }
+        }
+        // 결과 파일에 없는 요청(만료/취소 등)은 실패로 닫는다.
+        failPending(job.getId(), "배치 결과 없음");
+
+        job.setStatus(status.state() == LlmBatchClient.State.FAILED
+                ? AnalysisBatchJob.STATUS_FAILED : AnalysisBatchJob.STATUS_COMPLETED);
+        job.setCompletedAt(Instant.now());
+        batchJobRepository.save(job);
+        log.info("Batch re-analysis job {} finished as {} ({} completed, {} failed)",
+                job.getId(), job.getStatus(), status.completed(), status.failed());
+    }
+
+    void expireStaleJobs() {
+        Instant now = Instant.now();
+        expire(AnalysisBatchJob.STATUS_PREPARING, now.minus(preparingTimeout), "배치 준비 시간 초과");
+        expire(AnalysisBatchJob.STATUS_SUBMITTED, now.minus(submittedTimeout), "배치 완료 시간 초과");
+    }
+
+    private void expire(String status, Instant cutoff, String reason) {
+        for (AnalysisBatchJob job : batchJobRepository.findByStatusAndCreatedAtBefore(status, cutoff)) {
+            log.warn("Expiring batch re-analysis job {} stuck in {} since {}", job.getId(), status, job.getCreatedAt());
+            failPending(job.getId(), reason);
+            job.setStatus(AnalysisBatchJob.STATUS_FAILED);
+            job.setErrorMessage(reason);
+            job.setCompletedAt(Instant.now());
+            batchJobRepository.save(job);
+        }
+    }
+
+    private List<LlmBatchClient.BatchEntry> collectStale(UUID batchJobId) {
+        List<LlmBatchClient.BatchEntry> entries = new ArrayList<>();
+        // 새로 저장되는 결과는 created_at이 가장 늦으므로 오래된 순 페이지가 밀리지 않는다.
+        for (int page = 0; entries.size() < maxRequests; page++) {
+            List<AnalysisResult> done = analysisRepository.findByStatusOrderByCreatedAtAsc(
+                    "DONE", PageRequest.of(page, PAGE_SIZE));
+            for (AnalysisResult result : done) {
+                if (entries.size() >= maxRequests) {
+                    break;
+                }
+                try {
+                    analysisService.prepareBatchAnalysis(result, batchJobId).ifPresent(entries::add);
+                } catch (Exception e) {
+                    log.warn("Skipping batch re-analysis of {}: {}", result.getId(), e.getMessage());
+                }
+            }
+            if (done.size() < PAGE_SIZE) {
+                break;
+            }
+        }
+        return entries;
+    }
+
+    private void failPending(UUID batchJobId, String reason) {
+        for (AnalysisResult pending : analysisRepository.findByBatchJobIdAndStatus(
+                batchJobId, AnalysisService.STATUS_BATCH_PENDING)) {
+            analysisService.failBatchAnalysis(pending.getId(), reason);
+            count("failed");
+        }
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("clause.llm.batch.requests", "result", result).increment();
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= 500) {
+            return message;
+        }
+        return message.substring(0, 500);
+    }
+}
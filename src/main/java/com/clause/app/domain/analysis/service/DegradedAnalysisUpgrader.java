@@ -0,0 +1,79 @@
+package com.clause.app.domain.analysis.service;
+
+import com.clause.app.domain.analysis.entity.AnalysisResult;
+import com.clause.app.domain.analysis.repo.AnalysisRepository;
+import com.clause.app.domain.llm.LlmAvailability;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 서킷 브레이커가 닫히면 DEGRADED 결과를 오래된 순으로 LLM 분석으로 다시 채운다.
+ * 결과마다 조건부 갱신으로 점유(upgrade_claimed_until)를 잡아 여러 인스턴스가 같은 결과를 중복 호출하지 않게 한다.
+ * 실패한 결과는 건너뛰고 점유가 만료된 뒤 다시 시도하며, max-attempts번 실패하면 DEGRADED로 남겨 둔다.
+ * 서킷 브레이커가 다시 열리면 이번 주기를 멈춘다.
+ */
+@Slf4j
+@Component
+public class DegradedAnalysisUpgrader {
+
+    private final AnalysisRepository analysisRepository;
+    private final AnalysisService analysisService;
+    private final LlmAvailability llmAvailability;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration lease;
+
+    public DegradedAnalysisUpgrader(
+            AnalysisRepository analysisRepository,
+            AnalysisService analysisService,
+            LlmAvailability llmAvailability,
+            @Value("${clause.analysis.degraded.upgrade-enabled:false}") boolean enabled,
+            @Value("${clause.analysis.degraded.upgrade-batch-size:20}") int batchSize,
+            @Value("${clause.analysis.degraded.upgrade-max-attempts:5}") int maxAttempts,
+            @Value("${clause.analysis.degraded.upgrade-lease-ms:300000}") long leaseMs) {
+        this.analysisRepository = analysisRepository;
+        this.analysisService = analysisService;
+        this.llmAvailability = llmAvailability;
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.lease = Duration.ofMillis(leaseMs);
+    }
+
+    @Scheduled(fixedDelayString = "${clause.analysis.degraded.upgrade-interval-ms:60000}")
+    public void upgradePending() {
+        if (!enabled || llmAvailability.isCircuitOpen()) {
+            return;
+        }
+        List<AnalysisResult> pending = analysisRepository.findUpgradeCandidates(
+                AnalysisService.STATUS_DEGRADED, maxAttempts, Instant.now(), PageRequest.of(0, batchSize));
+        for (AnalysisResult result : pending) {
+            Instant now = Instant.now();
+            if (analysisRepository.claimUpgrade(result.getId(), AnalysisService.STATUS_DEGRADED, now, now.plus(lease)) == 0) {
+                continue;
+            }
+            try {
+                analysisService.upgradeDegraded(result.getId());
+            } catch (Exception e) {
+                if (LlmAvailability.isCircuitOpen(e)) {
+                    log.warn("LLM circuit breaker opened while upgrading degraded analyses. Stopping this round");
+                    return;
+                }
+                int attempts = result.getUpgradeAttempts() + 1;
+                if (attempts >= maxAttempts) {
+                    log.error("Giving up on degraded analysis {} after {} attempts: {}", result.getId(), attempts, e.getMessage());
+                } else {
+                    log.warn("Failed to upgrade degraded analysis {} (attempt {}): {}", result.getId(), attempts, e.getMessage());
+                }
+            }
+        }
+    }
+}
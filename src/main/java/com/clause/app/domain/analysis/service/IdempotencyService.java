@@ -0,0 +1,145 @@
+package com.clause.app.domain.analysis.service;
+
+import com.clause.app.common.ClauseException;
+import com.clause.app.common.ErrorCode;
+import com.clause.app.domain.analysis.dto.AnalysisRequest;
+import com.clause.app.domain.analysis.entity.IdempotencyKey;
+import com.clause.app.domain.analysis.repo.IdempotencyKeyRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Idempotency-Key 헤더로 들어온 분석 요청의 중복 실행을 막는다.
+ * 키를 먼저 선점(IN_PROGRESS)한 요청만 분석을 수행하고, 완료되면 분석 ID를 기록한다(COMPLETED).
+ * 같은 키의 재요청은 요청 본문 해시가 같을 때만 원래 결과를 돌려받는다.
+ * 키는 클라이언트 식별자와 함께 해시해 저장하므로 다른 클라이언트가 같은 키를 써도 서로의 결과를 받지 않는다.
+ * IN_PROGRESS는 in-progress-lease 동안만 유지된다. 선점한 요청이 죽어 키를 풀지 못해도 lease가 지나면 다음 요청이 이어받는다.
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyKeyRepository repository;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration inProgressLease;
+
+    public IdempotencyService(
+            IdempotencyKeyRepository repository,
+            ObjectMapper objectMapper,
+            @Value("${clause.analysis.idempotency.ttl-hours:24}") long ttlHours,
+            @Value("${clause.analysis.idempotency.in-progress-lease-ms:300000}") long inProgressLeaseMs) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.inProgressLease = Duration.ofMillis(inProgressLeaseMs);
+    }
+
+    /**
+     * 키를 선점하면 empty를 반환한다. 이미 완료된 키면 원래 분석 ID를 반환한다.
+     * 처리 중인 키는 IDEMPOTENCY_IN_PROGRESS, 본문이 다른 키는 IDEMPOTENCY_KEY_MISMATCH 예외를 던진다.
+     */
+    public Optional<UUID> claim(String clientId, String idempotencyKey, AnalysisRequest request) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new ClauseException(ErrorCode.VALIDATION_ERROR, "Idempotency-Key는 1~100자여야 해요.");
+        }
+        String key = scopedKey(clientId, idempotencyKey);
+        String requestHash = hash(request);
+        Instant now = Instant.now();
+
+        Optional<IdempotencyKey> existing = repository.findById(key);
+        if (existing.isPresent() && existing.get().getExpiresAt().isBefore(now)) {
+            repository.delete(existing.get());
+            existing = Optional.empty();
+        }
+
+        if (existing.isEmpty()) {
+            try {
+                repository.saveAndFlush(IdempotencyKey.builder()
+                        .key(key)
+                        .requestHash(requestHash)
+                        .status(IdempotencyKey.STATUS_IN_PROGRESS)
+                        .expiresAt(now.plus(inProgressLease))
+                        .build());
+                return Optional.empty();
+            } catch (DataIntegrityViolationException e) {
+                // 같은 키로 동시에 들어온 다른 요청이 먼저 선점했다.
+                existing = repository.findById(key);
+                if (existing.isEmpty()) {
+                    throw new ClauseException(ErrorCode.IDEMPOTENCY_IN_PROGRESS);
+                }
+            }
+        }
+
+        IdempotencyKey record = existing.get();
+        if (!record.getRequestHash().equals(requestHash)) {
+            throw new ClauseException(ErrorCode.IDEMPOTENCY_KEY_MISMATCH);
+        }
+        if (IdempotencyKey.STATUS_COMPLETED.equals(record.getStatus()) && record.getAnalysisId() != null) {
+            log.info("Idempotent replay of analysis {} for key {}", record.getAnalysisId(), idempotencyKey);
+            return Optional.of(record.getAnalysisId());
+        }
+        throw new ClauseException(ErrorCode.IDEMPOTENCY_IN_PROGRESS);
+    }
+
+    public void complete(String clientId, String idempotencyKey, UUID analysisId) {
+        repository.findById(scopedKey(clientId, idempotencyKey)).ifPresent(record -> {
+            record.setStatus(IdempotencyKey.STATUS_COMPLETED);
+            record.setAnalysisId(analysisId);
+            record.setExpiresAt(Instant.now().plus(ttl));
+            repository.save(record);
+        });
+    }
+
+    /**
+     * 분석이 실패하면 키를 풀어 같은 키로 다시 시도할 수 있게 한다.
+     */
+    public void release(String clientId, String idempotencyKey) {
+        try {
+            repository.deleteById(scopedKey(clientId, idempotencyKey));
+        } catch (Exception e) {
+            log.warn("Failed to release idempotency key {}: {}", idempotencyKey, e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${clause.analysis.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        int deleted = repository.deleteExpired(Instant.now());
+        if (deleted > 0) {
+            log.info("Purged {} expired idempotency keys", deleted);
+        }
+    }
+
+    // 저장 키: SHA-256(클라이언트 식별자 + 줄바꿈 + Idempotency-Key)
+    private static String scopedKey(String clientId, String idempotencyKey) {
+        try {
+            byte[] raw = (clientId + "\n" + idempotencyKey).getBytes(StandardCharsets.UTF_8);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(raw));
+        } catch (Exception e) {
+            throw new IllegalStateException("Idempotency key hash calculation failed", e);
+        }
+    }
+
+    private String hash(AnalysisRequest request) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(request);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (Exception e) {
+            throw new IllegalStateException("Request hash calculation failed", e);
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package com.clause.app.domain.analysis.service;
+
+import com.clause.app.common.ClauseException;
+import com.clause.app.common.ErrorCode;
+import com.clause.app.common.JsonRepairUtil;
+import com.clause.app.common.SchemaValidator;
+import com.clause.app.domain.llm.LlmAvailability;
+import com.clause.app.domain.llm.LlmClient;
+import com.clause.app.domain.llm.LlmUsageMetrics;
+import com.clause.app.domain.llm.PromptBuilder;
+import com.clause.app.domain.llm.PromptBundle;
+import com.clause.app.domain.llm.dto.LlmRequest;
+import com.clause.app.domain.llm.dto.LlmResponse;
+import com.clause.app.domain.rules.enums.ContractType;
+import com.clause.app.domain.rules.enums.UserProfile;
+import com.clause.app.domain.rules.model.ClauseCandidate;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 후보 조항을 작은 그룹으로 나눠 LLM을 동시에 호출하고 items를 합친다.
+ * 요청 하나가 동시에 쓰는 호출 수는 max-concurrency로 제한하고, 핵심 요약과 협상 제안은 마지막 요약 호출로 만든다.
+ * 실패한 그룹은 group-retries만큼 다시 호출하고, 그래도 실패하면 그 그룹의 조항만 규칙 기반 항목으로 채운다.
+ * 이렇게 채운 그룹이 있으면 FanOutResult.degradedGroups로 알려 호출한 쪽이 결과를 DEGRADED로 저장하게 한다.
+ */
+@Slf4j
+@Component
+public class LlmFanOutAnalyzer {
+
+    private final PromptBuilder promptBuilder;
+    private final LlmClient llmClient;
+    private final JsonRepairUtil jsonRepairUtil;
+    private final SchemaValidator schemaValidator;
+    private final RuleOnlyReportGenerator ruleOnlyReportGenerator;
+    private final LlmUsageMetrics llmUsageMetrics;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolTaskExecutor executor;
+    private final boolean enabled;
+    private final int groupSize;
+    private final int maxConcurrency;
+    private final int groupRetries;
+    private final int summaryMaxTokens;
+
+    public LlmFanOutAnalyzer(
+            PromptBuilder promptBuilder,
+            LlmClient llmClient,
+            JsonRepairUtil jsonRepairUtil,
+            SchemaValidator schemaValidator,
+            RuleOnlyReportGenerator ruleOnlyReportGenerator,
+            LlmUsageMetrics llmUsageMetrics,
+            ObjectMapper objectMapper,
+            @Qualifier("llmFanOutExecutor") ThreadPoolTaskExecutor executor,
+            @Value("${clause.analysis.fan-out.enabled:false}") boolean enabled,
+            @Value("${clause.analysis.fan-out.group-size:3}") int groupSize,
+            @Value("${clause.analysis.fan-out.max-concurrency:4}") int maxConcurrency,
+            @Value("${clause.analysis.fan-out.group-retries:1}") int groupRetries,
+            @Value("${clause.analysis.fan-out.summary-max-tokens:800}") int summaryMaxTokens) {
+        this.promptBuilder = promptBuilder;
+        this.llmClient = llmClient;
+        this.jsonRepairUtil = jsonRepairUtil;
+        this.schemaValidator = schemaValidator;
+        this.ruleOnlyReportGenerator = ruleOnlyReportGenerator;
+        this.llmUsageMetrics = llmUsageMetrics;
+        this.objectMapper = objectMapper;
+        this.executor = executor;
+        this.enabled = enabled;
+        this.groupSize = Math.max(1, groupSize);
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.groupRetries = Math.max(0, groupRetries);
+        this.summaryMaxTokens = summaryMaxTokens;
+    }
+
+    /**
+     * 캐시 키에 넣는 fan-out 설정. 그룹 크기에 따라 프롬프트와 결과가 달라진다.
+     */
+    public String signature() {
+        return enabled ? "fan-out:" + groupSize : "fan-out:off";
+    }
+
+    public boolean shouldFanOut(List<ClauseCandidate> candidates) {
+        return enabled && candidates.size() > groupSize;
+    }
+
+    /**
+     * 그룹별 호출 결과를 합친 분석 JSON(overall_summary.key_points, items, negotiation_suggestions)을 만든다.
+     * 경고/확인/OK 개수는 AnalysisPostProcessor에서 다시 계산한다. 그룹 요청의 등급, temperature, response_format은
+     * settings(단일 호출용으로 준비한 요청)를 따르고, max_tokens는 그룹 예산과 settings 값 중 작은 쪽을 쓴다.
+     * 모든 그룹이 실패하면 예외를 던진다. 서킷 브레이커에 막힌 실패가 있으면 그 예외를 우선해
+     * 호출한 쪽이 degraded 경로로 갈 수 있게 한다.
+     */
+    public FanOutResult analyze(List<ClauseCandidate> candidates, ContractType contractType,
+                                UserProfile userProfile, String language, LlmRequest settings) {
+        List<List<ClauseCandidate>> groups = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i += groupSize) {
+            groups.add(candidates.subList(i, Math.min(candidates.size(), i + groupSize)));
+        }
+
+        Semaphore permits = new Semaphore(maxConcurrency);
+        List<CompletableFuture<GroupResult>> futures = new ArrayList<>();
+        List<Future<?>> tasks = new ArrayList<>();
+        for (List<ClauseCandidate> group : groups) {
+            PromptBundle prompts = promptBuilder.buildPartialPrompts(group, contractType, userProfile, language);
+            permits.acquireUninterruptibly();
+            CompletableFuture<GroupResult> future = new CompletableFuture<>();
+            try {
+                tasks.add(executor.submit(() -> {
+                    try {
+                        future.complete(callGroupWithRetry(prompts, settings));
+                    } catch (Throwable e) {
+                        future.completeExceptionally(e);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            } catch (RejectedExecutionException e) {
+                permits.release();
+                // 이미 보낸 그룹 호출도 끊어 LLM 용량을 더 쓰지 않게 한다.
+                tasks.forEach(task -> task.cancel(true));
+                throw new ClauseException(ErrorCode.RATE_LIMITED);
+            }
+            futures.add(future);
+        }
+
+        ArrayNode items = objectMapper.createArrayNode();
+        List<ClauseCandidate> analyzed = new ArrayList<>();
+        String model = null;
+        ClauseException failure = null;
+        int failedGroups = 0;
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                GroupResult result = futures.get(i).join();
+                items.addAll(result.items());
+                analyzed.addAll(result.candidates());
+                if (model == null) {
+                    model = result.model();
+                }
+            } catch (CompletionException e) {
+                failedGroups++;
+                log.warn("Fan-out group {} failed, using rule-based items: {}", i, e.getCause().getMessage());
+                if (failure == null || (LlmAvailability.isCircuitOpen(e.getCause()) && !LlmAvailability.isCircuitOpen(failure))) {
+                    failure = toClauseException(e.getCause());
+                }
+                JsonNode ruleItems = ruleOnlyReportGenerator.generate(groups.get(i)).get("items");
+                if (ruleItems != null && ruleItems.isArray()) {
+                    ruleItems.forEach(items::add);
+                }
+                analyzed.addAll(groups.get(i));
+            }
+        }
+        if (failedGroups == groups.size()) {
+            log.warn("Fan-out analysis failed: all {} groups failed", groups.size());
+            throw failure;
+        }
+        if (items.isEmpty()) {
+            throw new ClauseException(ErrorCode.JSON_REPAIR_FAILED, "분석된 항목이 없습니다.");
+        }
+
+        ObjectNode root = objectMapper.createObjectNode();
+        ObjectNode summary = root.putObject("overall_summary");
+        root.set("items", items);
+        summarize(items, contractType, userProfile, summary, root);
+        log.info("Fan-out analysis: {} groups ({} degraded), {} items", groups.size(), failedGroups, items.size());
+        return new FanOutResult(root, analyzed, model, failedGroups);
+    }
+
+    private static ClauseException toClauseException(Throwable error) {
+        if (error instanceof ClauseException ce) {
+            return ce;
+        }
+        if (LlmAvailability.isCircuitOpen(error)) {
+            return new ClauseException(ErrorCode.LLM_UPSTREAM_ERROR, error);
+        }
+        return new ClauseException(ErrorCode.JSON_REPAIR_FAILED, error.getMessage());
+    }
+
+    // 서킷 브레이커에 막힌 실패는 다시 호출해도 막히므로 바로 넘긴다.
+    private GroupResult callGroupWithRetry(PromptBundle prompts, LlmRequest settings) {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return callGroup(prompts, settings);
+            } catch (RuntimeException e) {
+                if (attempt >= groupRetries || LlmAvailability.isCircuitOpen(e) || Thread.currentThread().isInterrupted()) {
+                    throw e;
+                }
+                log.debug("Retrying fan-out group: {}", e.getMessage());
+            }
+        }
+    }
+
+    private GroupResult callGroup(PromptBundle prompts, LlmRequest settings) {
+        int maxTokens = settings.getMaxTokens() != null
+                ? Math.min(prompts.maxOutputTokens(), settings.getMaxTokens()) : prompts.maxOutputTokens();
+        LlmResponse response = llmClient.call(LlmRequest.builder()
+                .systemPrompt(prompts.systemPrompt())
+                .developerPrompt(prompts.developerPrompt())
+                .userPrompt(prompts.userPrompt())
+                .tier(settings.getTier())
+                .temperature(settings.getTemperature())
+                .maxTokens(maxTokens)
+                .estimatedInputTokens(prompts.estimatedInputTokens())
+                .responseFormat(settings.getResponseFormat())
+                .build());
+        llmUsageMetrics.recordPromptTokens(promptBuilder.getRuleScope(), prompts.estimatedInputTokens(), response);
+
+        JsonNode root = readJson(response.getContent());
+        ArrayNode items = objectMapper.createArrayNode();
+        JsonNode rawItems = root.get("items");
+        if (rawItems != null && rawItems.isArray()) {
+            for (JsonNode item : rawItems) {
+                if (!item.isObject()) {
+                    continue;
+                }
+                ObjectNode itemNode = (ObjectNode) item;
+                if (!schemaValidator.validateItem(itemNode).valid()) {
+                    itemNode = schemaValidator.sanitizeItem(itemNode);
+                }
+                items.add(itemNode);
+            }
+        }
+        return new GroupResult(items, prompts.candidates(), response.getModel());
+    }
+
+    private void summarize(ArrayNode items, ContractType contractType, UserProfile userProfile,
+                           ObjectNode summary, ObjectNode root) {
+        try {
+            ArrayNode digest = objectMapper.createArrayNode();
+            for (JsonNode item : items) {
+                digest.addObject()
+                        .put("clause_id", item.path("clause_id").asText())
+                        .put("title", item.path("title").asText())
+                        .put("label", item.path("label").asText())
+                        .put("risk_reason", item.path("risk_reason").asText());
+            }
+            LlmResponse response = llmClient.call(LlmRequest.builder()
+                    .systemPrompt(promptBuilder.buildSystemPrompt())
+                    .developerPrompt(promptBuilder.buildSummaryDeveloperPrompt())
+                    .userPrompt(promptBuilder.buildSummaryUserPrompt(
+                            objectMapper.writeValueAsString(digest), contractType, userProfile))
+                    .temperature(0.3)
+                    .maxTokens(summaryMaxTokens)
+                    .build());
+
+            JsonNode result = readJson(response.getContent());
+            JsonNode keyPoints = result.get("key_points");
+            JsonNode suggestions = result.get("negotiation_suggestions");
+            if (keyPoints != null && keyPoints.isArray() && !keyPoints.isEmpty()
+                    && suggestions != null && suggestions.isArray() && !suggestions.isEmpty()) {
+                summary.set("key_points", keyPoints);
+                root.set("negotiation_suggestions", suggestions);
+                return;
+            }
+            log.warn("Summary call returned incomplete fields. Falling back to item-based summary.");
+        } catch (Exception e) {
+            log.warn("Summary call failed. Falling back to item-based summary: {}", e.getMessage());
+        }
+        summarizeFromItems(items, summary, root);
+    }
+
+    // 요약 호출이 실패하면 WARNING/CHECK 항목의 사유와 제안으로 대신 채운다.
+    private void summarizeFromItems(ArrayNode items, ObjectNode summary, ObjectNode root) {
+        Set<String> keyPoints = new LinkedHashSet<>();
+        Set<String> suggestions = new LinkedHashSet<>();
+        for (String label : List.of("WARNING", "CHECK")) {
+            for (JsonNode item : items) {
+                if (!label.equals(item.path("label").asText())) {
+                    continue;
+                }
+                String reason = item.path("risk_reason").asText();
+                if (!reason.isBlank() && keyPoints.size() < 5) {
+                    keyPoints.add(reason);
+                }
+                JsonNode itemSuggestions = item.path("soft_suggestion");
+                if (itemSuggestions.isArray() && !itemSuggestions.isEmpty() && suggestions.size() < 5) {
+                    suggestions.add(itemSuggestions.get(0).asText());
+                }
+            }
+        }
+        if (keyPoints.isEmpty()) {
+            keyPoints.add("계약서 분석이 완료되었어요.");
+        }
+        if (suggestions.isEmpty()) {
+            suggestions.add("계약 조건을 꼼꼼히 확인해보시는 것을 권장해요.");
+        }
+        ArrayNode keyPointsNode = summary.putArray("key_points");
+        keyPoints.forEach(keyPointsNode::add);
+        ArrayNode suggestionsNode = root.putArray("negotiation_suggestions");
+        suggestions.forEach(suggestionsNode::add);
+    }
+
+    private JsonNode readJson(String rawJson) {
+        if (rawJson == null || rawJson.isBlank()) {
+            throw new ClauseException(ErrorCode.JSON_REPAIR_FAILED, "LLM 응답이 비어있습니다.");
+        }
+        try {
+            return jsonRepairUtil.extractAndRepairTree(rawJson);
+        } catch (Exception e) {
+            throw new ClauseException(ErrorCode.JSON_REPAIR_FAILED, "JSON 복구 실패: " + e.getMessage());
+        }
+    }
+
+    private record GroupResult(ArrayNode items, List<ClauseCandidate> candidates, String model) {}
+
+    // degradedGroups: 규칙 기반 항목으로 채운 그룹 수
+    public record FanOutResult(ObjectNode root, List<ClauseCandidate> candidates, String model, int degradedGroups) {}
+}
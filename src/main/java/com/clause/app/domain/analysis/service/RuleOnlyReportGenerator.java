@@ -0,0 +1,132 @@
+package com.clause.app.domain.analysis.service;
+
+import com.clause.app.domain.rules.engine.RuleCatalogLoader;
+import com.clause.app.domain.rules.enums.RuleSeverity;
+import com.clause.app.domain.rules.model.ClauseCandidate;
+import com.clause.app.domain.rules.model.RulePattern;
+import com.clause.app.domain.rules.model.RuleRunResult;
+import com.clause.app.domain.rules.model.RuleTrigger;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 규칙 엔진 결과만으로 분석 JSON을 만든다(LLM 호출 없음).
+ * 트리거가 없는 조항은 OK, 트리거가 있는 조항은 CHECK로 표시하고, 확인할 점은 규칙 설명으로 채운다.
+ * WARNING 판단은 LLM 분석에만 맡기므로 여기서는 쓰지 않는다.
+ */
+@Component
+public class RuleOnlyReportGenerator {
+
+    public static final String MODEL = "rules-only";
+
+    private final RuleCatalogLoader ruleCatalogLoader;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int maxTriggers;
+    private final int maxScore;
+    private final Counter generated;
+
+    public RuleOnlyReportGenerator(
+            RuleCatalogLoader ruleCatalogLoader,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${clause.analysis.rules-only.enabled:true}") boolean enabled,
+            @Value("${clause.analysis.rules-only.max-triggers:0}") int maxTriggers,
+            @Value("${clause.analysis.rules-only.max-score:0}") int maxScore) {
+        this.ruleCatalogLoader = ruleCatalogLoader;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.maxTriggers = maxTriggers;
+        this.maxScore = maxScore;
+        this.generated = Counter.builder("clause.analysis.rules_only").register(meterRegistry);
+    }
+
+    /**
+     * 트리거 수와 점수가 기준 이하이고 WARNING 트리거가 하나도 없으면 LLM 없이 답한다.
+     */
+    public boolean shouldSkipLlm(RuleRunResult ruleResult) {
+        if (!enabled || ruleResult.getTotalTriggers() > maxTriggers) {
+            return false;
+        }
+        int totalScore = 0;
+        for (ClauseCandidate candidate : ruleResult.getCandidates()) {
+            totalScore += candidate.getTotalScore();
+            for (RuleTrigger trigger : candidate.getRuleTriggers()) {
+                if (trigger.getSeverity() == RuleSeverity.WARNING) {
+                    return false;
+                }
+            }
+        }
+        return totalScore <= maxScore;
+    }
+
+    /**
+     * overall_summary.key_points, items, negotiation_suggestions를 채운다. 개수와 disclaimer는 AnalysisPostProcessor가 넣는다.
+     */
+    public ObjectNode generate(List<ClauseCandidate> candidates) {
+        generated.increment();
+        Map<String, String> descriptions = new LinkedHashMap<>();
+        for (RulePattern rule : ruleCatalogLoader.getRules()) {
+            descriptions.put(rule.getId(), rule.getDescription());
+        }
+
+        ObjectNode root = objectMapper.createObjectNode();
+        ArrayNode keyPoints = root.putObject("overall_summary").putArray("key_points");
+        ArrayNode items = root.putArray("items");
+
+        int checkCount = 0;
+        for (ClauseCandidate candidate : candidates) {
+            ObjectNode item = items.addObject();
+            item.put("clause_id", candidate.getId());
+            item.put("title", candidate.getTitle() != null && !candidate.getTitle().isBlank()
+                    ? candidate.getTitle() : "조항 " + candidate.getId());
+
+            ArrayNode whatToConfirm = objectMapper.createArrayNode();
+            ArrayNode triggers = objectMapper.createArrayNode();
+            candidate.getRuleTriggers().stream()
+                    .map(RuleTrigger::getRuleId)
+                    .distinct()
+                    .forEach(ruleId -> {
+                        triggers.add(ruleId);
+                        String description = descriptions.get(ruleId);
+                        if (description != null) {
+                            whatToConfirm.add(description + " 조건이 어떻게 적용되는지 확인해 보세요.");
+                        }
+                    });
+
+            ArrayNode softSuggestion = objectMapper.createArrayNode();
+            if (triggers.isEmpty()) {
+                item.put("label", "OK");
+                item.put("risk_reason", "규칙 검사에서 주의가 필요한 표현이 발견되지 않았어요.");
+            } else {
+                checkCount++;
+                item.put("label", "CHECK");
+                item.put("risk_reason", "규칙 검사에서 확인이 필요한 표현이 발견됐어요.");
+                softSuggestion.add("기준이 분명하지 않다면 상대방에게 구체적인 내용을 문의해 보세요.");
+            }
+            item.set("what_to_confirm", whatToConfirm);
+            item.set("soft_suggestion", softSuggestion);
+            item.set("triggers", triggers);
+        }
+
+        ArrayNode suggestions = root.putArray("negotiation_suggestions");
+        if (checkCount == 0) {
+            keyPoints.add("규칙 검사에서 주의가 필요한 조항이 발견되지 않았어요.");
+            keyPoints.add("금액, 기간, 해지 조건은 직접 한 번 더 확인해 보세요.");
+            suggestions.add("계약 조건을 꼼꼼히 확인해보시는 것을 권장해요.");
+        } else {
+            keyPoints.add(String.format("확인이 필요한 조항이 %d개 있어요.", checkCount));
+            suggestions.add("확인이 필요한 조항의 기준을 상대방과 미리 맞춰 보세요.");
+        }
+        return root;
+    }
+}
@@ -0,0 +1,211 @@
+package com.clause.app.domain.llm;
+
+import com.clause.app.common.ClauseException;
+import com.clause.app.common.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 업스트림 LLM으로 동시에 나가는 호출 수를 AIMD 방식으로 조절한다.
+ * 정상 응답이 오면 한도를 조금씩(1/limit) 올리고, 429/5xx/타임아웃이나 latency-threshold를 넘는 응답이 오면
+ * 한도를 backoff-ratio만큼 곱해 줄인다. 한도를 넘는 호출은 queue-timeout까지 대기열에서 기다리고,
+ * 대기열이 가득 찼거나 시간이 지나면 LLM_OVERLOADED로 바로 실패한다.
+ */
+@Slf4j
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition permitAvailable = lock.newCondition();
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+    private final int maxQueue;
+    private final long queueTimeoutMs;
+
+    private double limit;
+    private int inFlight;
+    private int queued;
+
+    private final Counter queueFullRejections;
+    private final Counter timeoutRejections;
+
+    public AdaptiveConcurrencyLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${clause.llm.concurrency.initial-limit:8}") int initialLimit,
+            @Value("${clause.llm.concurrency.min-limit:1}") int minLimit,
+            @Value("${clause.llm.concurrency.max-limit:64}") int maxLimit,
+            @Value("${clause.llm.concurrency.backoff-ratio:0.9}") double backoffRatio,
+            @Value("${clause.llm.concurrency.latency-threshold-ms:30000}") long latencyThresholdMs,
+            @Value("${clause.llm.concurrency.max-queue:50}") int maxQueue,
+            @Value("${clause.llm.concurrency.queue-timeout-ms:5000}") long queueTimeoutMs) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.backoffRatio = backoffRatio;
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(latencyThresholdMs);
+        this.maxQueue = Math.max(0, maxQueue);
+        this.queueTimeoutMs = queueTimeoutMs;
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+
+        Gauge.builder("clause.llm.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit).register(meterRegistry);
+        Gauge.builder("clause.llm.concurrency.in_flight", this, AdaptiveConcurrencyLimiter::getInFlight).register(meterRegistry);
+        Gauge.builder("clause.llm.concurrency.queue_depth", this, AdaptiveConcurrencyLimiter::getQueued).register(meterRegistry);
+        this.queueFullRejections = Counter.builder("clause.llm.concurrency.rejections")
+                .tag("reason", "queue_full").register(meterRegistry);
+        this.timeoutRejections = Counter.builder("clause.llm.concurrency.rejections")
+                .tag("reason", "timeout").register(meterRegistry);
+    }
+
+    public <T> T execute(Supplier<T> call) {
+        acquire();
+        long start = System.nanoTime();
+        Boolean overloaded = null;
+        try {
+            T result = call.get();
+            overloaded = System.nanoTime() - start > latencyThresholdNanos;
+            return result;
+        } catch (RuntimeException e) {
+            overloaded = isOverloadSignal(e);
+            throw e;
+        } finally {
+            // Error로 끝난 호출도 permit은 돌려주되, 한도 조정 표본으로는 쓰지 않는다.
+            release(overloaded);
+        }
+    }
+
+    /**
+     * 대기하지 않고 한도 안에 자리가 있을 때만 호출 하나를 더 잡는다. 헤지 요청처럼 이미 permit을 가진 호출이
+     * 추가로 보내는 요청용이며, 잡았으면 {@link #releaseExtra()}로 돌려준다. 한도 조정은 원래 호출의 결과로만 한다.
+     */
+    public boolean tryAcquireExtra() {
+        lock.lock();
+        try {
+            if (inFlight < (int) limit) {
+                inFlight++;
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void releaseExtra() {
+        lock.lock();
+        try {
+            inFlight--;
+            permitAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void acquire() {
+        lock.lock();
+        try {
+            if (inFlight < (int) limit) {
+                inFlight++;
+                return;
+            }
+            if (queued >= maxQueue) {
+                queueFullRejections.increment();
+                throw new ClauseException(ErrorCode.LLM_OVERLOADED);
+            }
+            queued++;
+            try {
+                long remaining = TimeUnit.MILLISECONDS.toNanos(queueTimeoutMs);
+                while (inFlight >= (int) limit) {
+                    if (remaining <= 0) {
+                        timeoutRejections.increment();
+                        throw new ClauseException(ErrorCode.LLM_OVERLOADED);
+                    }
+                    remaining = permitAvailable.awaitNanos(remaining);
+                }
+                inFlight++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ClauseException(ErrorCode.LLM_OVERLOADED);
+            } finally {
+                queued--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(Boolean overloaded) {
+        lock.lock();
+        try {
+            int before = (int) limit;
+            // overloaded가 null이면 표본 없이 permit만 돌려준다.
+            if (Boolean.TRUE.equals(overloaded)) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+            } else if (Boolean.FALSE.equals(overloaded) && inFlight * 2 >= limit) {
+                // 한도의 절반도 쓰지 않는 동안의 성공으로는 한도를 올리지 않는다.
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+            inFlight--;
+            if ((int) limit != before) {
+                log.debug("LLM concurrency limit changed: {} -> {}", before, (int) limit);
+            }
+            permitAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    static boolean isOverloadSignal(Throwable error) {
+        Throwable cause = error;
+        while (cause != null) {
+            if (cause instanceof TimeoutException) {
+                return true;
+            }
+            if (cause instanceof WebClientResponseException response) {
+                int status = response.getStatusCode().value();
+                return status == 429 || status >= 500;
+            }
+            cause = cause.getCause();
+        }
+        return false;
+    }
+
+    public double getLimit() {
+        lock.lock();
+        try {
+            return limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueued() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
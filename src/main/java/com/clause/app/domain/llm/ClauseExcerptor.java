@@ -0,0 +1,106 @@
+package com.clause.app.domain.llm;
+
+import com.clause.app.domain.rules.model.ClauseCandidate;
+import com.clause.app.domain.rules.model.RuleTrigger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * LLM에 보낼 조항 본문을 고른다.
+ * WINDOWS 모드에서는 긴 조항의 경우 각 트리거 주변 구간만 잘라 합치고, 생략된 부분은 ELISION으로 표시한다.
+ */
+@Component
+public class ClauseExcerptor {
+
+    public enum Mode {
+        FULL, WINDOWS
+    }
+
+    public static final String ELISION = "[...]";
+
+    private final Mode mode;
+    private final int windowChars;
+    private final int fullTextMaxChars;
+
+    public ClauseExcerptor(
+            @Value("${clause.llm.prompt.clause-text:FULL}") Mode mode,
+            @Value("${clause.llm.prompt.window-chars:160}") int windowChars,
+            @Value("${clause.llm.prompt.full-text-max-chars:600}") int fullTextMaxChars) {
+        this.mode = mode;
+        this.windowChars = windowChars;
+        this.fullTextMaxChars = fullTextMaxChars;
+    }
+
+    // 캐시 키에 넣는 본문 선택 설정. 예: "WINDOWS/160/600"
+    String signature() {
+        return mode + "/" + windowChars + "/" + fullTextMaxChars;
+    }
+
+    public String excerpt(ClauseCandidate candidate) {
+        String text = candidate.getText() != null ? candidate.getText() : "";
+        if (mode == Mode.FULL || text.length() <= fullTextMaxChars
+                || candidate.getRuleTriggers() == null || candidate.getRuleTriggers().isEmpty()) {
+            return text;
+        }
+
+        List<int[]> windows = mergedWindows(candidate.getRuleTriggers(), text.length());
+        if (windows.isEmpty()) {
+            return text;
+        }
+
+        StringBuilder sb = new StringBuilder();
+        int previousEnd = 0;
+        for (int[] window : windows) {
+            if (window[0] > previousEnd) {
+                sb.append(sb.length() == 0 ? "" : "\n").append(ELISION).append("\n");
+            }
+            sb.append(text, window[0], window[1]);
+            previousEnd = window[1];
+        }
+        if (previousEnd < text.length()) {
+            sb.append("\n").append(ELISION);
+        }
+        return sb.toString();
+    }
+
+    private List<int[]> mergedWindows(List<RuleTrigger> triggers, int length) {
+        List<int[]> windows = new ArrayList<>();
+        for (RuleTrigger trigger : triggers) {
+            int start = Math.min(trigger.getStartIndex(), length);
+            int end = Math.min(Math.max(trigger.getEndIndex(), start), length);
+            if (start >= length) {
+                continue;
+            }
+            windows.add(new int[]{Math.max(0, start - windowChars), Math.min(length, end + windowChars)});
+        }
+        windows.sort(Comparator.comparingInt(w -> w[0]));
+
+        // 겹치거나 생략 표시보다 짧은 간격으로 떨어진 구간은 하나로 합친다.
+        List<int[]> merged = new ArrayList<>();
+        for (int[] window : windows) {
+            int[] last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (last != null && window[0] <= last[1] + ELISION.length() + 2) {
+                last[1] = Math.max(last[1], window[1]);
+            } else {
+                merged.add(window);
+            }
+        }
+
+        // 맨 앞/뒤 생략이 표시보다 짧으면 그냥 끝까지 포함한다.
+        if (!merged.isEmpty()) {
+            int[] first = merged.get(0);
+            if (first[0] <= ELISION.length() + 1) {
+                first[0] = 0;
+            }
+            int[] last = merged.get(merged.size() - 1);
+            if (length - last[1] <= ELISION.length() + 1) {
+                last[1] = length;
+            }
+        }
+        return merged;
+    }
+}
@@ -4,154 +4,159 @@ import com.clause.app.common.ClauseException;
 import com.clause.app.common.ErrorCode;
 import com.clause.app.domain.llm.dto.LlmRequest;
 import com.clause.app.domain.llm.dto.LlmResponse;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
-import io.github.resilience4j.retry.annotation.Retry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpHeaders;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.ReactiveHttpOutputMessage;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Component;
-import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.BodyInserter;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
-import reactor.util.retry.RetryBackoffSpec;
+import reactor.core.publisher.Mono;
 
+import java.io.InputStream;
 import java.time.Duration;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 
 @Slf4j
 @Component
 public class HttpLlmClient implements LlmClient {
 
-    private final WebClient webClient;
-    private final ObjectMapper objectMapper;
-    private final String baseUrl;
-    private final String apiKey;
-    private final String defaultModel;
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> SSE_TYPE =
+            new ParameterizedTypeReference<>() {};
+    private static final String STREAM_DONE = "[DONE]";
+
+    private final LlmEndpointRouter router;
+    private final LlmJsonCodec codec;
+    private final LlmRetryPolicy retryPolicy;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final LlmHedgingPolicy hedgingPolicy;
     private final int timeoutMs;
 
     public HttpLlmClient(
-            WebClient.Builder webClientBuilder,
+            LlmEndpointRouter router,
             ObjectMapper objectMapper,
-            @Value("${clause.llm.base-url:}") String baseUrl,
-            @Value("${clause.llm.api-key:}") String apiKey,
-            @Value("${clause.llm.model:gpt-4o-mini}") String defaultModel,
+            LlmRetryPolicy retryPolicy,
+            AdaptiveConcurrencyLimiter concurrencyLimiter,
+            LlmHedgingPolicy hedgingPolicy,
             @Value("${clause.llm.timeout-ms:60000}") int timeoutMs) {
-        this.objectMapper = objectMapper;
-        this.baseUrl = baseUrl;
-        this.apiKey = apiKey;
-        this.defaultModel = defaultModel;
+        this.router = router;
+        this.codec = new LlmJsonCodec(objectMapper.getFactory());
+        this.retryPolicy = retryPolicy;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.hedgingPolicy = hedgingPolicy;
         this.timeoutMs = timeoutMs;
-
-        if (baseUrl == null || baseUrl.isBlank()) {
-            log.warn("LLM base-url is not configured. LLM calls will fail.");
-        }
-
-        this.webClient = webClientBuilder
-                .baseUrl(baseUrl != null && !baseUrl.isBlank() ? baseUrl : "https://api.openai.com")
-                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + (apiKey != null ? apiKey : ""))
-                .build();
     }
 
     @Override
-    @Retry(name = "llmRetry")
     @CircuitBreaker(name = "llmCircuitBreaker", fallbackMethod = "fallback")
     public LlmResponse call(LlmRequest request) {
         try {
-            Map<String, Object> payload = buildPayload(request);
-
-            return webClient.post()
-                    .uri("/v1/chat/completions")
-                    .bodyValue(payload)
-                    .retrieve()
-                    .bodyToMono(JsonNode.class)
-                    .timeout(Duration.ofMillis(timeoutMs))
-                    .retryWhen(RetryBackoffSpec.fixedDelay(2, Duration.ofMillis(500))
-                            .filter(throwable -> {
-                                Throwable cause = throwable;
-                                while (cause != null) {
-                                    if (cause instanceof TimeoutException) {
-                                        return false;
-                                    }
-                                    cause = cause.getCause();
-                                }
-                                return true;
-                            }))
-                    .map(this::parseResponse)
-                    .block();
+            int estimatedTokens = request.getEstimatedInputTokens() != null ? request.getEstimatedInputTokens() : 0;
+
+            return retryPolicy.execute(() -> concurrencyLimiter.execute(() -> hedgingPolicy
+                    .hedge(() -> router.exchange(estimatedTokens, endpoint -> {
+                        String model = endpoint.modelFor(request.getTier());
+                        return endpoint.getWebClient().post()
+                                .uri("/v1/chat/completions")
+                                .body(requestBody(request, model, false))
+                                .retrieve()
+                                .bodyToMono(DataBuffer.class)
+                                .timeout(Duration.ofMillis(timeoutMs))
+                                .map(buffer -> parseResponse(buffer, model))
+                                .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+                    }), concurrencyLimiter)
+                    .block()));
         } catch (WebClientResponseException e) {
             log.error("LLM API error: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
             throw new ClauseException(ErrorCode.LLM_UPSTREAM_ERROR, "LLM API 호출 실패: " + e.getMessage());
+        } catch (ClauseException e) {
+            throw e;
         } catch (Exception e) {
             log.error("LLM call failed", e);
-            Throwable cause = e;
-            while (cause != null) {
-                if (cause instanceof TimeoutException) {
-                    throw new ClauseException(ErrorCode.LLM_UPSTREAM_ERROR, 
-                            String.format("LLM API 응답 시간 초과 (%d초). 잠시 후 다시 시도해 주세요.", timeoutMs / 1000));
-                }
-                cause = cause.getCause();
-            }
-            throw new ClauseException(ErrorCode.LLM_UPSTREAM_ERROR, e);
+            throw toUpstreamException(e);
         }
     }
 
-    private Map<String, Object> buildPayload(LlmRequest request) {
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("model", request.getModel() != null ? request.getModel() : defaultModel);
-        payload.put("temperature", request.getTemperature() != null ? request.getTemperature() : 0.3);
-        payload.put("max_tokens", request.getMaxTokens() != null ? request.getMaxTokens() : 4000);
-
-        List<Map<String, String>> messages = new ArrayList<>();
-        Map<String, String> systemMsg = new HashMap<>();
-        systemMsg.put("role", "system");
-        systemMsg.put("content", request.getSystemPrompt());
-        messages.add(systemMsg);
-        
-        Map<String, String> userMsg = new HashMap<>();
-        userMsg.put("role", "user");
-        userMsg.put("content", request.getDeveloperPrompt() + "\n\n" + request.getUserPrompt());
-        messages.add(userMsg);
-        payload.put("messages", messages);
-
-        return payload;
+    @Override
+    @CircuitBreaker(name = "llmCircuitBreaker", fallbackMethod = "streamFallback")
+    public LlmResponse stream(LlmRequest request, Consumer<String> onDelta) {
+        int estimatedTokens = request.getEstimatedInputTokens() != null ? request.getEstimatedInputTokens() : 0;
+        StreamAccumulator accumulator = new StreamAccumulator();
+        try {
+            concurrencyLimiter.execute(() -> router.exchange(estimatedTokens, endpoint -> {
+                accumulator.endpointModel = endpoint.modelFor(request.getTier());
+
+                return endpoint.getWebClient().post()
+                        .uri("/v1/chat/completions")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .body(requestBody(request, accumulator.endpointModel, true))
+                        .retrieve()
+                        .bodyToFlux(SSE_TYPE)
+                        .timeout(Duration.ofMillis(timeoutMs))
+                        .mapNotNull(ServerSentEvent::data)
+                        .takeWhile(data -> !STREAM_DONE.equals(data))
+                        .doOnNext(data -> accumulator.accept(data, onDelta))
+                        .then();
+            }).block());
+        } catch (WebClientResponseException e) {
+            log.error("LLM API error: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
+            throw new ClauseException(ErrorCode.LLM_UPSTREAM_ERROR, "LLM API 호출 실패: " + e.getMessage());
+        } catch (ClauseException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("LLM stream failed", e);
+            throw toUpstreamException(e);
+        }
+
+        return accumulator.toResponse();
     }
 
-    private LlmResponse parseResponse(JsonNode json) {
-        try {
-            JsonNode choices = json.get("choices");
-            if (choices == null || !choices.isArray() || choices.size() == 0) {
-                throw new IllegalArgumentException("No choices in response");
+    private ClauseException toUpstreamException(Exception e) {
+        Throwable cause = e;
+        while (cause != null) {
+            if (cause instanceof TimeoutException) {
+                return new ClauseException(ErrorCode.LLM_UPSTREAM_ERROR,
+                        String.format("LLM API 응답 시간 초과 (%d초). 잠시 후 다시 시도해 주세요.", timeoutMs / 1000));
             }
+            cause = cause.getCause();
+        }
+        return new ClauseException(ErrorCode.LLM_UPSTREAM_ERROR, e);
+    }
 
-            String content = choices.get(0).get("message").get("content").asText();
-            String model = json.has("model") ? json.get("model").asText() : defaultModel;
-
-            JsonNode usage = json.get("usage");
-            Integer promptTokens = usage != null && usage.has("prompt_tokens") ? usage.get("prompt_tokens").asInt() : null;
-            Integer completionTokens = usage != null && usage.has("completion_tokens") ? usage.get("completion_tokens").asInt() : null;
-            Integer totalTokens = usage != null && usage.has("total_tokens") ? usage.get("total_tokens").asInt() : null;
+    private BodyInserter<Object, ReactiveHttpOutputMessage> requestBody(LlmRequest request, String model, boolean stream) {
+        return (message, context) -> message.writeWith(Mono.fromCallable(() ->
+                codec.writeRequest(message.bufferFactory(), request, model, stream)));
+    }
 
-            return LlmResponse.builder()
-                    .content(content)
-                    .model(model)
-                    .usageTokens(totalTokens)
-                    .promptTokens(promptTokens)
-                    .completionTokens(completionTokens)
-                    .build();
+    private LlmResponse parseResponse(DataBuffer buffer, String endpointModel) {
+        try (InputStream in = buffer.asInputStream(true)) {
+            return codec.readResponse(in, endpointModel);
         } catch (Exception e) {
             log.error("Failed to parse LLM response", e);
             throw new ClauseException(ErrorCode.LLM_UPSTREAM_ERROR, "LLM 응답 파싱 실패: " + e.getMessage());
         }
     }
 
+    public LlmResponse streamFallback(LlmRequest request, Consumer<String> onDelta, Exception e) {
+        return fallback(request, e);
+    }
+
     public LlmResponse fallback(LlmRequest request, Exception e) {
+        if (e instanceof ClauseException ce && ce.getErrorCode() == ErrorCode.LLM_OVERLOADED) {
+            throw ce;
+        }
+        if (e instanceof CallNotPermittedException) {
+            // 원인을 남겨 호출부가 서킷 브레이커가 열린 경우를 구분할 수 있게 한다.
+            throw new ClauseException(ErrorCode.LLM_UPSTREAM_ERROR, e);
+        }
         log.error("LLM fallback triggered. Exception type: {}", e.getClass().getSimpleName(), e);
         String message = "분석 엔진 응답이 불안정해요. 잠시 후 다시 시도해 주세요.";
         if (e instanceof TimeoutException) {
@@ -159,5 +164,52 @@ public class HttpLlmClient implements LlmClient {
         }
         throw new ClauseException(ErrorCode.LLM_UPSTREAM_ERROR, message);
     }
-}
 
+    private final class StreamAccumulator {
+        private final StringBuilder content = new StringBuilder();
+        private String endpointModel;
+        private String model;
+        private Integer promptTokens;
+        private Integer completionTokens;
+        private Integer totalTokens;
+        private Integer cachedPromptTokens;
+
+        void accept(String data, Consumer<String> onDelta) {
+            if (data == null || data.isBlank()) {
+                return;
+            }
+            LlmJsonCodec.StreamChunk chunk;
+            try {
+                chunk = codec.readChunk(data);
+            } catch (Exception e) {
+                throw new ClauseException(ErrorCode.LLM_UPSTREAM_ERROR, "LLM 스트림 파싱 실패: " + e.getMessage());
+            }
+
+            if (model == null && chunk.model() != null) {
+                model = chunk.model();
+            }
+            if (chunk.hasUsage()) {
+                promptTokens = chunk.promptTokens();
+                completionTokens = chunk.completionTokens();
+                totalTokens = chunk.totalTokens();
+                cachedPromptTokens = chunk.cachedPromptTokens();
+            }
+            String text = chunk.content();
+            if (text != null && !text.isEmpty()) {
+                content.append(text);
+                onDelta.accept(text);
+            }
+        }
+
+        LlmResponse toResponse() {
+            return LlmResponse.builder()
+                    .content(content.toString())
+                    .model(model != null ? model : endpointModel)
+                    .usageTokens(totalTokens)
+                    .promptTokens(promptTokens)
+                    .completionTokens(completionTokens)
+                    .cachedPromptTokens(cachedPromptTokens)
+                    .build();
+        }
+    }
+}
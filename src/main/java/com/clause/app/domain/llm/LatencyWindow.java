@@ -0,0 +1,39 @@
+package com.clause.app.domain.llm;
+
+import java.util.Arrays;
+
+/**
+ * 최근 N개 호출의 지연 시간(ms)을 담아두는 고정 크기 링 버퍼.
+ * LLM 호출 빈도에서는 백분위를 구할 때마다 정렬해도 비용이 크지 않다.
+ */
+public class LatencyWindow {
+
+    private final long[] samples;
+    private int next;
+    private int size;
+
+    public LatencyWindow(int capacity) {
+        this.samples = new long[Math.max(1, capacity)];
+    }
+
+    public synchronized void record(long latencyMs) {
+        samples[next] = latencyMs;
+        next = (next + 1) % samples.length;
+        size = Math.min(size + 1, samples.length);
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    // 샘플이 없으면 -1을 돌려준다.
+    public synchronized long percentile(double percentile) {
+        if (size == 0) {
+            return -1;
+        }
+        long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile * size) - 1;
+        return sorted[Math.min(size - 1, Math.max(0, index))];
+    }
+}
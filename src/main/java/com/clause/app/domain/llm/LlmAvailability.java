@@ -0,0 +1,48 @@
+package com.clause.app.domain.llm;
+
+import com.clause.app.common.ClauseException;
+import com.clause.app.common.ErrorCode;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * llmCircuitBreaker 상태로 LLM을 지금 호출할 수 있는지 알려준다.
+ */
+@Component
+public class LlmAvailability {
+
+    public static final String CIRCUIT_BREAKER_NAME = "llmCircuitBreaker";
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+
+    public LlmAvailability(CircuitBreakerRegistry circuitBreakerRegistry) {
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+    }
+
+    public boolean isCircuitOpen() {
+        CircuitBreaker.State state = circuitBreakerRegistry.circuitBreaker(CIRCUIT_BREAKER_NAME).getState();
+        return state == CircuitBreaker.State.OPEN || state == CircuitBreaker.State.FORCED_OPEN;
+    }
+
+    /**
+     * AdaptiveConcurrencyLimiter가 대기열이 차서 거절한 호출인지 확인한다.
+     * 업스트림 장애가 아니라 우리 쪽 부하 조절이므로 서킷 브레이커 실패율에 넣지 않는다.
+     */
+    public static boolean isLoadShedding(Throwable error) {
+        return error instanceof ClauseException ce && ce.getErrorCode() == ErrorCode.LLM_OVERLOADED;
+    }
+
+    // 호출이 열린 서킷 브레이커에 막혀 실패했는지 확인한다.
+    public static boolean isCircuitOpen(Throwable error) {
+        Throwable cause = error;
+        while (cause != null) {
+            if (cause instanceof CallNotPermittedException) {
+                return true;
+            }
+            cause = cause.getCause();
+        }
+        return false;
+    }
+}
@@ -3,7 +3,20 @@ package com.clause.app.domain.llm;
 import com.clause.app.domain.llm.dto.LlmRequest;
 import com.clause.app.domain.llm.dto.LlmResponse;
 
+import java.util.function.Consumer;
+
 public interface LlmClient {
     LlmResponse call(LlmRequest request);
-}
 
+    /**
+     * 응답 본문을 생성되는 대로 onDelta로 전달하고, 스트림이 끝나면 전체 응답을 반환한다.
+     * 스트리밍을 지원하지 않는 구현은 call() 결과를 한 번에 전달한다.
+     */
+    default LlmResponse stream(LlmRequest request, Consumer<String> onDelta) {
+        LlmResponse response = call(request);
+        if (response.getContent() != null) {
+            onDelta.accept(response.getContent());
+        }
+        return response;
+    }
+}
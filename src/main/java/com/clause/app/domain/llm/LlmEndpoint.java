@@ -0,0 +1,170 @@
+package com.clause.app.domain.llm;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 라우팅 대상 LLM 엔드포인트 하나와 그 실시간 상태(EWMA 지연 시간, 오류율, 동시 호출 수, 격리 여부).
+ * EWMA는 첫 성공 측정값으로 시작하고, 새 측정이 없으면 latency-decay 시간 상수로 사전값(initial-latency)을 향해
+ * 되돌아가며 오류율도 같은 속도로 0을 향해 줄어든다. 사전값은 이 감쇠와 측정 전 비용에만 쓴다. 한 번 느렸던 엔드포인트도 시간이 지나면 다시 후보가 된다.
+ */
+public class LlmEndpoint {
+
+    @Getter
+    private final String name;
+    @Getter
+    private final String model;
+    @Getter
+    private final int maxInputTokens;
+    private final Map<ModelTierPolicy.Tier, String> tierModels;
+    @Getter
+    private final WebClient webClient;
+
+    private final double alpha;
+    private final int ejectAfterFailures;
+    private final long ejectDurationMs;
+    private final double priorLatencyMs;
+    private final long decayMs;
+
+    private double ewmaLatencyMs;
+    private boolean sampled;
+    private long updatedAt;
+    private long lastSelectedAt;
+    private double errorRate;
+    private int consecutiveFailures;
+    private long ejectedUntil;
+    private int inFlight;
+
+    private final Counter successes;
+    private final Counter failures;
+
+    LlmEndpoint(String name, String model, int maxInputTokens, Map<ModelTierPolicy.Tier, String> tierModels,
+                WebClient webClient, double alpha, int ejectAfterFailures, long ejectDurationMs,
+                double priorLatencyMs, long decayMs, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.model = model;
+        this.maxInputTokens = maxInputTokens;
+        this.tierModels = tierModels.isEmpty()
+                ? new EnumMap<>(ModelTierPolicy.Tier.class) : new EnumMap<>(tierModels);
+        this.webClient = webClient;
+        this.alpha = alpha;
+        this.ejectAfterFailures = Math.max(1, ejectAfterFailures);
+        this.ejectDurationMs = ejectDurationMs;
+        this.priorLatencyMs = Math.max(1, priorLatencyMs);
+        this.decayMs = decayMs;
+        this.ewmaLatencyMs = this.priorLatencyMs;
+        this.updatedAt = System.currentTimeMillis();
+        this.lastSelectedAt = updatedAt;
+
+        Gauge.builder("clause.llm.endpoint.latency.ewma", this, LlmEndpoint::getEwmaLatencyMs)
+                .tag("endpoint", name).baseUnit("milliseconds").register(meterRegistry);
+        Gauge.builder("clause.llm.endpoint.in_flight", this, LlmEndpoint::getInFlight)
+                .tag("endpoint", name).register(meterRegistry);
+        this.successes = Counter.builder("clause.llm.endpoint.requests")
+                .tag("endpoint", name).tag("outcome", "success").register(meterRegistry);
+        this.failures = Counter.builder("clause.llm.endpoint.requests")
+                .tag("endpoint", name).tag("outcome", "failure").register(meterRegistry);
+    }
+
+    /**
+     * 이 엔드포인트가 등급 요청에 쓸 모델. 등급이 없거나 매핑이 없으면 기본 모델.
+     */
+    public String modelFor(ModelTierPolicy.Tier tier) {
+        if (tier == null) {
+            return model;
+        }
+        String tierModel = tierModels.get(tier);
+        return tierModel != null && !tierModel.isBlank() ? tierModel : model;
+    }
+
+    // 캐시 키에 넣는 모델 설정. 예: "us=gpt-4o-mini{LIGHT=gpt-4o-mini, HEAVY=gpt-4o}"
+    String modelSignature() {
+        return name + "=" + model + tierModels;
+    }
+
+    boolean accepts(int estimatedInputTokens) {
+        return maxInputTokens <= 0 || estimatedInputTokens <= maxInputTokens;
+    }
+
+    synchronized boolean isEjected(long nowMs) {
+        return ejectedUntil > nowMs;
+    }
+
+    synchronized long getEjectedUntil() {
+        return ejectedUntil;
+    }
+
+    // 지연 시간이 길수록, 동시 호출이 많을수록, 최근 오류가 잦을수록 커진다. 가장 작은 엔드포인트를 고른다.
+    // 아직 성공 측정이 없는 엔드포인트는 한가하면 0이라 먼저 한 번씩 시도된다.
+    synchronized double cost(long nowMs) {
+        decay(nowMs);
+        if (!sampled) {
+            return priorLatencyMs * inFlight;
+        }
+        return ewmaLatencyMs * (inFlight + 1) / Math.max(0.05, 1 - errorRate);
+    }
+
+    // 마지막 선택 후 idleMs가 지났고 진행 중인 호출이 없으면 true. 라우터가 측정을 새로 하려고 한 번 보낸다.
+    synchronized boolean isIdle(long nowMs, long idleMs) {
+        return inFlight == 0 && nowMs - lastSelectedAt >= idleMs;
+    }
+
+    synchronized void begin(long nowMs) {
+        inFlight++;
+        lastSelectedAt = nowMs;
+    }
+
+    synchronized void end() {
+        inFlight--;
+    }
+
+    synchronized void recordSuccess(long latencyMs, long nowMs) {
+        decay(nowMs);
+        // 첫 측정을 사전값과 섞으면 빠른 엔드포인트와 느린 엔드포인트가 한동안 구분되지 않는다.
+        ewmaLatencyMs = sampled ? alpha * latencyMs + (1 - alpha) * ewmaLatencyMs : latencyMs;
+        sampled = true;
+        errorRate = (1 - alpha) * errorRate;
+        consecutiveFailures = 0;
+        successes.increment();
+    }
+
+    synchronized void recordFailure(long nowMs) {
+        decay(nowMs);
+        errorRate = alpha + (1 - alpha) * errorRate;
+        failures.increment();
+        if (++consecutiveFailures >= ejectAfterFailures) {
+            ejectedUntil = nowMs + ejectDurationMs;
+            consecutiveFailures = 0;
+        }
+    }
+
+    // 마지막 갱신 후 지난 시간만큼 EWMA를 사전값 쪽으로, 오류율을 0 쪽으로 당긴다.
+    private void decay(long nowMs) {
+        long elapsed = nowMs - updatedAt;
+        if (elapsed <= 0) {
+            return;
+        }
+        updatedAt = nowMs;
+        if (decayMs <= 0) {
+            return;
+        }
+        double keep = Math.exp(-(double) elapsed / decayMs);
+        ewmaLatencyMs = priorLatencyMs + (ewmaLatencyMs - priorLatencyMs) * keep;
+        errorRate *= keep;
+    }
+
+    public synchronized double getEwmaLatencyMs() {
+        decay(System.currentTimeMillis());
+        return ewmaLatencyMs;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+}
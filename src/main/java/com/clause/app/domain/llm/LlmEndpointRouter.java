@@ -0,0 +1,148 @@
+package com.clause.app.domain.llm;
+
+import com.clause.app.config.LlmRoutingProperties;
+import com.clause.app.config.ModelTierProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.function.Function;
+
+/**
+ * 설정된 여러 LLM 엔드포인트 중 요청마다 하나를 고른다.
+ * 입력 토큰 수를 받을 수 있는 엔드포인트 중 격리되지 않은 곳에서 비용(EWMA 지연 × 동시 호출 ÷ 성공률)이 가장 낮은 곳을 쓴다.
+ * 연속 실패가 eject-after-failures번 쌓인 엔드포인트는 eject-duration 동안 후보에서 빠지므로,
+ * 재시도나 헤지 요청은 자연스럽게 다른 엔드포인트로 넘어간다.
+ * probe-interval 넘게 선택되지 않은 엔드포인트에는 요청 하나를 보내 지연 시간 측정을 새로 한다.
+ * 모델 등급은 엔드포인트를 고른 뒤 그 엔드포인트의 tier-models로 모델 이름을 정하므로, 엔드포인트에 없는 모델을 보내지 않는다.
+ * endpoints가 비어 있으면 clause.llm.tier.*.model을 기본 엔드포인트의 등급별 모델로 쓴다.
+ */
+@Slf4j
+@Component
+public class LlmEndpointRouter {
+
+    private static final String DEFAULT_BASE_URL = "https://api.openai.com";
+
+    private final List<LlmEndpoint> endpoints = new ArrayList<>();
+    private final long probeIntervalMs;
+
+    public LlmEndpointRouter(
+            @Qualifier("llmWebClientBuilder") WebClient.Builder webClientBuilder,
+            MeterRegistry meterRegistry,
+            LlmRoutingProperties properties,
+            ModelTierProperties tierProperties,
+            @Value("${clause.llm.base-url:}") String baseUrl,
+            @Value("${clause.llm.api-key:}") String apiKey,
+            @Value("${clause.llm.model:gpt-4o-mini}") String defaultModel) {
+        this.probeIntervalMs = properties.getProbeIntervalMs();
+        List<LlmRoutingProperties.Endpoint> configured = properties.getEndpoints();
+        if (configured.isEmpty()) {
+            LlmRoutingProperties.Endpoint single = new LlmRoutingProperties.Endpoint();
+            single.setName("default");
+            single.setBaseUrl(baseUrl);
+            single.setApiKey(apiKey);
+            single.setModel(defaultModel);
+            Map<ModelTierPolicy.Tier, String> tierModels = new EnumMap<>(ModelTierPolicy.Tier.class);
+            for (ModelTierPolicy.Tier tier : ModelTierPolicy.Tier.values()) {
+                tierModels.put(tier, tierProperties.modelFor(tier, defaultModel));
+            }
+            single.setTierModels(tierModels);
+            configured = List.of(single);
+        }
+
+        for (LlmRoutingProperties.Endpoint endpoint : configured) {
+            String url = endpoint.getBaseUrl();
+            if (url == null || url.isBlank()) {
+                log.warn("LLM base-url is not configured for endpoint '{}'. LLM calls will fail.", endpoint.getName());
+                url = DEFAULT_BASE_URL;
+            }
+            String key = endpoint.getApiKey() != null ? endpoint.getApiKey() : apiKey;
+            WebClient webClient = webClientBuilder.clone()
+                    .baseUrl(url)
+                    .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + (key != null ? key : ""))
+                    .build();
+            endpoints.add(new LlmEndpoint(
+                    endpoint.getName() != null ? endpoint.getName() : url,
+                    endpoint.getModel() != null ? endpoint.getModel() : defaultModel,
+                    endpoint.getMaxInputTokens(),
+                    endpoint.getTierModels(),
+                    webClient,
+                    properties.getEwmaAlpha(),
+                    properties.getEjectAfterFailures(),
+                    properties.getEjectDurationMs(),
+                    properties.getInitialLatencyMs(),
+                    properties.getLatencyDecayMs(),
+                    meterRegistry));
+        }
+        log.info("LLM endpoints: {}", endpoints.stream().map(LlmEndpoint::getName).toList());
+    }
+
+    /**
+     * 구독할 때마다 엔드포인트를 새로 골라 call을 실행하고, 결과를 해당 엔드포인트의 상태에 반영한다.
+     */
+    public <T> Mono<T> exchange(int estimatedInputTokens, Function<LlmEndpoint, Mono<T>> call) {
+        return Mono.defer(() -> {
+            LlmEndpoint endpoint = select(estimatedInputTokens);
+            long start = System.nanoTime();
+            endpoint.begin(System.currentTimeMillis());
+            return call.apply(endpoint)
+                    .doOnSuccess(result -> endpoint.recordSuccess(
+                            (System.nanoTime() - start) / 1_000_000, System.currentTimeMillis()))
+                    .doOnError(error -> {
+                        if (isEndpointFailure(error)) {
+                            endpoint.recordFailure(System.currentTimeMillis());
+                        }
+                    })
+                    .doFinally(signal -> endpoint.end());
+        });
+    }
+
+    LlmEndpoint select(int estimatedInputTokens) {
+        long now = System.currentTimeMillis();
+        List<LlmEndpoint> fitting = endpoints.stream().filter(e -> e.accepts(estimatedInputTokens)).toList();
+        if (fitting.isEmpty()) {
+            fitting = endpoints;
+        }
+        List<LlmEndpoint> healthy = fitting.stream().filter(e -> !e.isEjected(now)).toList();
+        if (healthy.isEmpty()) {
+            // 모두 격리 중이면 가장 먼저 풀리는 엔드포인트를 쓴다.
+            return fitting.stream().min(Comparator.comparingLong(LlmEndpoint::getEjectedUntil)).orElseThrow();
+        }
+        if (healthy.size() > 1 && probeIntervalMs > 0) {
+            for (LlmEndpoint endpoint : healthy) {
+                if (endpoint.isIdle(now, probeIntervalMs)) {
+                    return endpoint;
+                }
+            }
+        }
+        return healthy.stream().min(Comparator.comparingDouble(e -> e.cost(now))).orElseThrow();
+    }
+
+    /**
+     * 엔드포인트별 기본 모델과 등급별 모델을 이어 붙인 문자열. 모델 설정이 바뀌면 달라진다.
+     */
+    public String modelSignature() {
+        return endpoints.stream().map(LlmEndpoint::modelSignature).collect(Collectors.joining(";"));
+    }
+
+    List<LlmEndpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    private static boolean isEndpointFailure(Throwable error) {
+        return AdaptiveConcurrencyLimiter.isOverloadSignal(error) || LlmRetryPolicy.isRetryable(error);
+    }
+}
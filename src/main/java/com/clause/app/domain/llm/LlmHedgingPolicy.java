@@ -0,0 +1,136 @@
+package com.clause.app.domain.llm;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * 꼬리 지연을 줄이기 위한 요청 헤징.
+ * 첫 요청이 최근 지연 시간의 백분위(percentile)만큼 기다려도 끝나지 않으면 같은 요청을 한 번 더 보내고,
+ * 먼저 성공한 쪽을 쓰며 나머지 요청은 구독을 취소해 끊는다. 헤지를 보낸 뒤에는 한쪽이 실패해도 다른 쪽을 기다리고,
+ * 둘 다 실패하면 먼저 난 오류를 던진다. 헤지를 보내기 전에 첫 요청이 실패하면 바로 실패한다(재시도는 LlmRetryPolicy 몫).
+ * 헤지 요청은 {@link RetryBudget}으로 전체 호출 수의 max-rate 비율 안에서만 나가고,
+ * {@link AdaptiveConcurrencyLimiter}에 남는 자리가 있을 때만 permit을 하나 더 잡아 보낸다.
+ */
+@Slf4j
+@Component
+public class LlmHedgingPolicy {
+
+    private final boolean enabled;
+    private final double percentile;
+    private final long initialDelayMs;
+    private final long minDelayMs;
+    private final int minSamples;
+    private final LatencyWindow latencies;
+    private final RetryBudget budget;
+
+    private final Counter hedgesFired;
+    private final Counter hedgesDenied;
+    private final Counter hedgesLimited;
+    private final Counter primaryWins;
+    private final Counter hedgeWins;
+
+    public LlmHedgingPolicy(
+            MeterRegistry meterRegistry,
+            @Value("${clause.llm.hedge.enabled:false}") boolean enabled,
+            @Value("${clause.llm.hedge.percentile:0.95}") double percentile,
+            @Value("${clause.llm.hedge.initial-delay-ms:20000}") long initialDelayMs,
+            @Value("${clause.llm.hedge.min-delay-ms:2000}") long minDelayMs,
+            @Value("${clause.llm.hedge.window-size:200}") int windowSize,
+            @Value("${clause.llm.hedge.min-samples:20}") int minSamples,
+            @Value("${clause.llm.hedge.max-rate:0.1}") double maxRate,
+            @Value("${clause.llm.hedge.burst:5}") int burst) {
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.initialDelayMs = initialDelayMs;
+        this.minDelayMs = minDelayMs;
+        this.minSamples = minSamples;
+        this.latencies = new LatencyWindow(windowSize);
+        this.budget = new RetryBudget(maxRate, burst);
+
+        this.hedgesFired = Counter.builder("clause.llm.hedge.requests").tag("result", "fired").register(meterRegistry);
+        this.hedgesDenied = Counter.builder("clause.llm.hedge.requests").tag("result", "budget_denied").register(meterRegistry);
+        this.hedgesLimited = Counter.builder("clause.llm.hedge.requests").tag("result", "limit_denied").register(meterRegistry);
+        this.primaryWins = Counter.builder("clause.llm.hedge.wins").tag("winner", "primary").register(meterRegistry);
+        this.hedgeWins = Counter.builder("clause.llm.hedge.wins").tag("winner", "hedge").register(meterRegistry);
+    }
+
+    /**
+     * limiter는 첫 요청의 permit을 이미 잡고 있는 limiter. 헤지 요청은 여기서 permit을 하나 더 잡는다.
+     */
+    public <T> Mono<T> hedge(Supplier<Mono<T>> attempt, AdaptiveConcurrencyLimiter limiter) {
+        if (!enabled) {
+            return attempt.get();
+        }
+        return Mono.defer(() -> {
+            budget.recordSuccess();
+            AtomicBoolean fired = new AtomicBoolean(false);
+            AtomicReference<Throwable> firstError = new AtomicReference<>();
+            Duration delay = Duration.ofMillis(currentDelayMs());
+
+            Mono<T> primary = timed(attempt)
+                    .doOnSuccess(result -> {
+                        if (fired.get()) {
+                            primaryWins.increment();
+                        }
+                    })
+                    .onErrorResume(error -> {
+                        if (!fired.get()) {
+                            return Mono.error(error);
+                        }
+                        firstError.compareAndSet(null, error);
+                        return Mono.empty();
+                    });
+            Mono<T> hedged = Mono.delay(delay)
+                    .flatMap(tick -> {
+                        if (!limiter.tryAcquireExtra()) {
+                            hedgesLimited.increment();
+                            return Mono.<T>empty();
+                        }
+                        if (!budget.tryAcquire()) {
+                            limiter.releaseExtra();
+                            hedgesDenied.increment();
+                            return Mono.<T>empty();
+                        }
+                        fired.set(true);
+                        hedgesFired.increment();
+                        log.info("LLM call exceeded {}ms. Sending hedged request", delay.toMillis());
+                        return timed(attempt)
+                                .doOnSuccess(result -> hedgeWins.increment())
+                                .onErrorResume(error -> {
+                                    firstError.compareAndSet(null, error);
+                                    return Mono.empty();
+                                })
+                                .doFinally(signal -> limiter.releaseExtra());
+                    });
+            // 먼저 나온 값 하나만 받고 나머지 요청은 취소한다. 값 없이 둘 다 끝났으면 먼저 난 오류를 던진다.
+            return Flux.merge(primary, hedged).next()
+                    .switchIfEmpty(Mono.defer(() -> firstError.get() != null
+                            ? Mono.<T>error(firstError.get()) : Mono.<T>empty()));
+        });
+    }
+
+    long currentDelayMs() {
+        if (latencies.size() < minSamples) {
+            return Math.max(minDelayMs, initialDelayMs);
+        }
+        return Math.max(minDelayMs, latencies.percentile(percentile));
+    }
+
+    private <T> Mono<T> timed(Supplier<Mono<T>> attempt) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return attempt.get().doOnSuccess(result ->
+                    latencies.record(Duration.ofNanos(System.nanoTime() - start).toMillis()));
+        });
+    }
+}
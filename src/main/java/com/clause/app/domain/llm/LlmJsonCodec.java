@@ -0,0 +1,296 @@
+package com.clause.app.domain.llm;
+
+import com.clause.app.domain.llm.dto.LlmRequest;
+import com.clause.app.domain.llm.dto.LlmResponse;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+
+/**
+ * chat/completions 요청/응답용 스트리밍 JSON 코덱.
+ * 요청은 중간 Map이나 이어 붙인 프롬프트 문자열 없이 JsonGenerator로 DataBuffer(Netty 버퍼)에 바로 쓰고(response_format은 미리 직렬화한 JSON 그대로),
+ * 응답은 JsonNode 트리를 만들지 않고 model, choices[0], usage(prompt_tokens_details.cached_tokens 포함)만 골라 읽는다.
+ */
+public class LlmJsonCodec {
+
+    private static final double DEFAULT_TEMPERATURE = 0.3;
+    private static final int DEFAULT_MAX_TOKENS = 4000;
+    private static final String PROMPT_SEPARATOR = "\n\n";
+
+    private final JsonFactory jsonFactory;
+
+    public LlmJsonCodec(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    public DataBuffer writeRequest(DataBufferFactory bufferFactory, LlmRequest request, String model, boolean stream) {
+        DataBuffer buffer = bufferFactory.allocateBuffer(estimateSize(request));
+        try (OutputStream out = buffer.asOutputStream();
+             JsonGenerator generator = jsonFactory.createGenerator(out)) {
+            writeRequest(generator, request, model, stream);
+        } catch (IOException | RuntimeException e) {
+            DataBufferUtils.release(buffer);
+            throw new IllegalStateException("LLM request encoding failed", e);
+        }
+        return buffer;
+    }
+
+    /**
+     * 요청 본문 객체 하나를 generator에 쓴다. 배치 입력 파일(JSONL)처럼 다른 JSON 안에 본문을 넣을 때도 쓴다.
+     * model은 보낼 곳이 요청 등급에 맞춰 정한 모델(LlmEndpoint.modelFor)이다.
+     */
+    public void writeRequest(JsonGenerator generator, LlmRequest request, String model, boolean stream) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("model", model);
+        generator.writeNumberField("temperature",
+                request.getTemperature() != null ? request.getTemperature() : DEFAULT_TEMPERATURE);
+        generator.writeNumberField("max_tokens",
+                request.getMaxTokens() != null ? request.getMaxTokens() : DEFAULT_MAX_TOKENS);
+        if (request.getResponseFormat() != null) {
+            generator.writeFieldName("response_format");
+            generator.writeRawValue(request.getResponseFormat());
+        }
+        if (stream) {
+            generator.writeBooleanField("stream", true);
+            generator.writeObjectFieldStart("stream_options");
+            generator.writeBooleanField("include_usage", true);
+            generator.writeEndObject();
+        }
+
+        generator.writeArrayFieldStart("messages");
+        // 시스템+개발자 프롬프트는 요청마다 같은 prefix라 공급자 프롬프트 캐시에 걸리도록 앞쪽 system 메시지에 둔다.
+        // 두 프롬프트는 하나의 String으로 합치지 않고 이어서 쓴다.
+        generator.writeStartObject();
+        generator.writeStringField("role", "system");
+        generator.writeFieldName("content");
+        generator.writeString(new JoinedReader(
+                nullToEmpty(request.getSystemPrompt()), PROMPT_SEPARATOR, nullToEmpty(request.getDeveloperPrompt())), -1);
+        generator.writeEndObject();
+
+        generator.writeStartObject();
+        generator.writeStringField("role", "user");
+        generator.writeStringField("content", nullToEmpty(request.getUserPrompt()));
+        generator.writeEndObject();
+        generator.writeEndArray();
+
+        generator.writeEndObject();
+    }
+
+    /**
+     * 비스트리밍 응답에서 choices[0].message.content와 usage만 읽는다.
+     */
+    public LlmResponse readResponse(InputStream in, String endpointModel) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(in)) {
+            return readResponse(parser, endpointModel);
+        }
+    }
+
+    /**
+     * parser가 아직 읽기 전이거나 응답 객체의 START_OBJECT에 있어야 한다. 배치 결과 파일처럼 다른 JSON 안의 응답 본문을 읽을 때 쓴다.
+     */
+    public LlmResponse readResponse(JsonParser parser, String endpointModel) throws IOException {
+        Parsed parsed = parse(parser, "message");
+        if (!parsed.hasChoice) {
+            throw new IllegalArgumentException("No choices in response");
+        }
+        if (parsed.content == null) {
+            throw new IllegalArgumentException("No message content in response");
+        }
+        return parsed.toResponse(endpointModel);
+    }
+
+    /**
+     * 스트리밍 청크 하나에서 model, choices[0].delta.content, usage를 읽는다.
+     */
+    public StreamChunk readChunk(String data) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(data)) {
+            Parsed parsed = parse(parser, "delta");
+            return new StreamChunk(parsed.model, parsed.content, parsed.hasUsage,
+                    parsed.promptTokens, parsed.completionTokens, parsed.totalTokens, parsed.cachedPromptTokens);
+        }
+    }
+
+    private Parsed parse(JsonParser parser, String contentHolder) throws IOException {
+        Parsed parsed = new Parsed();
+        JsonToken start = parser.currentToken() == JsonToken.START_OBJECT ? JsonToken.START_OBJECT : parser.nextToken();
+        if (start != JsonToken.START_OBJECT) {
+            throw new IllegalArgumentException("Response is not a JSON object");
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "model" -> parsed.model = value == JsonToken.VALUE_STRING ? parser.getText() : parsed.model;
+                case "choices" -> readChoices(parser, value, contentHolder, parsed);
+                case "usage" -> readUsage(parser, value, parsed);
+                default -> parser.skipChildren();
+            }
+        }
+        return parsed;
+    }
+
+    private void readChoices(JsonParser parser, JsonToken value, String contentHolder, Parsed parsed) throws IOException {
+        if (value != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+        boolean first = true;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (!first || parser.currentToken() != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+            first = false;
+            parsed.hasChoice = true;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken fieldValue = parser.nextToken();
+                if (contentHolder.equals(field) && fieldValue == JsonToken.START_OBJECT) {
+                    readContent(parser, parsed);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+    }
+
+    private void readContent(JsonParser parser, Parsed parsed) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("content".equals(field) && value == JsonToken.VALUE_STRING) {
+                parsed.content = parser.getText();
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private void readUsage(JsonParser parser, JsonToken value, Parsed parsed) throws IOException {
+        if (value != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        parsed.hasUsage = true;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken fieldValue = parser.nextToken();
+            Integer number = fieldValue == JsonToken.VALUE_NUMBER_INT ? parser.getIntValue() : null;
+            switch (field) {
+                case "prompt_tokens" -> parsed.promptTokens = number;
+                case "completion_tokens" -> parsed.completionTokens = number;
+                case "total_tokens" -> parsed.totalTokens = number;
+                case "prompt_tokens_details" -> readPromptTokenDetails(parser, fieldValue, parsed);
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    private void readPromptTokenDetails(JsonParser parser, JsonToken value, Parsed parsed) throws IOException {
+        if (value != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken fieldValue = parser.nextToken();
+            if ("cached_tokens".equals(field) && fieldValue == JsonToken.VALUE_NUMBER_INT) {
+                parsed.cachedPromptTokens = parser.getIntValue();
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private static int estimateSize(LlmRequest request) {
+        // 한글 프롬프트는 UTF-8에서 글자당 3바이트 안팎이므로 넉넉히 잡아 버퍼 확장을 줄인다.
+        long chars = (long) length(request.getSystemPrompt())
+                + length(request.getDeveloperPrompt())
+                + length(request.getUserPrompt());
+        return (int) Math.min(Integer.MAX_VALUE - 8, chars * 3 + 256);
+    }
+
+    private static int length(String value) {
+        return value != null ? value.length() : 0;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    public record StreamChunk(
+            String model,
+            String content,
+            boolean hasUsage,
+            Integer promptTokens,
+            Integer completionTokens,
+            Integer totalTokens,
+            Integer cachedPromptTokens) {
+    }
+
+    private static final class Parsed {
+        private String model;
+        private boolean hasChoice;
+        private String content;
+        private boolean hasUsage;
+        private Integer promptTokens;
+        private Integer completionTokens;
+        private Integer totalTokens;
+        private Integer cachedPromptTokens;
+
+        LlmResponse toResponse(String endpointModel) {
+            return LlmResponse.builder()
+                    .content(content)
+                    .model(model != null ? model : endpointModel)
+                    .usageTokens(totalTokens)
+                    .promptTokens(promptTokens)
+                    .completionTokens(completionTokens)
+                    .cachedPromptTokens(cachedPromptTokens)
+                    .build();
+        }
+    }
+
+    /**
+     * 여러 문자열을 복사 없이 하나의 Reader로 읽게 한다.
+     */
+    private static final class JoinedReader extends Reader {
+        private final String[] parts;
+        private int part;
+        private int offset;
+
+        JoinedReader(String... parts) {
+            this.parts = parts;
+        }
+
+        @Override
+        public int read(char[] buffer, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            while (part < parts.length && offset >= parts[part].length()) {
+                part++;
+                offset = 0;
+            }
+            if (part >= parts.length) {
+                return -1;
+            }
+            int count = Math.min(len, parts[part].length() - offset);
+            parts[part].getChars(offset, offset + count, buffer, off);
+            offset += count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
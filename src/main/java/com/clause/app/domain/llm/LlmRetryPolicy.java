@@ -0,0 +1,123 @@
+package com.clause.app.domain.llm;
+
+import com.clause.app.common.ClauseException;
+import com.clause.app.common.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * LLM 호출의 유일한 재시도 정책.
+ * 408/429/5xx 응답과 연결 실패만 재시도하고, 타임아웃과 그 밖의 4xx는 바로 실패로 돌려준다.
+ * 재시도 간격은 지수 백오프에 full jitter를 적용하며, 재시도 횟수는 {@link RetryBudget}으로 전체 호출량에 묶인다.
+ */
+@Slf4j
+@Component
+public class LlmRetryPolicy {
+
+    private final int maxRetries;
+    private final long baseDelayMs;
+    private final long maxDelayMs;
+    private final RetryBudget budget;
+
+    private final DistributionSummary successAttempts;
+    private final DistributionSummary failureAttempts;
+    private final Counter budgetExhausted;
+
+    public LlmRetryPolicy(
+            MeterRegistry meterRegistry,
+            @Value("${clause.llm.max-retry:2}") int maxRetries,
+            @Value("${clause.llm.retry.base-delay-ms:250}") long baseDelayMs,
+            @Value("${clause.llm.retry.max-delay-ms:4000}") long maxDelayMs,
+            @Value("${clause.llm.retry.budget-ratio:0.1}") double budgetRatio,
+            @Value("${clause.llm.retry.budget-max-tokens:10}") int budgetMaxTokens) {
+        this.maxRetries = Math.max(0, maxRetries);
+        this.baseDelayMs = Math.max(0, baseDelayMs);
+        this.maxDelayMs = Math.max(this.baseDelayMs, maxDelayMs);
+        this.budget = new RetryBudget(budgetRatio, budgetMaxTokens);
+
+        this.successAttempts = DistributionSummary.builder("clause.llm.call.attempts")
+                .tag("outcome", "success").register(meterRegistry);
+        this.failureAttempts = DistributionSummary.builder("clause.llm.call.attempts")
+                .tag("outcome", "failure").register(meterRegistry);
+        this.budgetExhausted = Counter.builder("clause.llm.retry.budget.exhausted").register(meterRegistry);
+        Gauge.builder("clause.llm.retry.budget.tokens", budget, RetryBudget::availableTokens).register(meterRegistry);
+    }
+
+    public <T> T execute(Supplier<T> call) {
+        int attempt = 0;
+        while (true) {
+            attempt++;
+            try {
+                T result = call.get();
+                budget.recordSuccess();
+                successAttempts.record(attempt);
+                return result;
+            } catch (RuntimeException e) {
+                if (!isRetryable(e) || attempt > maxRetries) {
+                    failureAttempts.record(attempt);
+                    throw e;
+                }
+                if (!budget.tryAcquire()) {
+                    budgetExhausted.increment();
+                    failureAttempts.record(attempt);
+                    log.warn("LLM retry budget exhausted. Giving up after {} attempt(s)", attempt);
+                    throw e;
+                }
+                long delayMs = backoffMs(attempt);
+                log.warn("LLM call attempt {} failed ({}). Retrying in {}ms", attempt, e.getMessage(), delayMs);
+                sleep(delayMs);
+            }
+        }
+    }
+
+    public RetryBudget getBudget() {
+        return budget;
+    }
+
+    static boolean isRetryable(Throwable error) {
+        Throwable cause = error;
+        while (cause != null) {
+            if (cause instanceof TimeoutException) {
+                return false;
+            }
+            if (cause instanceof WebClientResponseException response) {
+                int status = response.getStatusCode().value();
+                return status == 408 || status == 429 || status >= 500;
+            }
+            if (cause instanceof WebClientRequestException) {
+                return true;
+            }
+            cause = cause.getCause();
+        }
+        return false;
+    }
+
+    // full jitter: [0, min(max, base * 2^(attempt-1))] 사이에서 고른다.
+    long backoffMs(int attempt) {
+        long ceiling = Math.min(maxDelayMs, baseDelayMs << Math.min(attempt - 1, 20));
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private void sleep(long delayMs) {
+        if (delayMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(delayMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ClauseException(ErrorCode.LLM_UPSTREAM_ERROR, "LLM 재시도 대기 중 중단되었습니다.");
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.clause.app.domain.llm;
+
+import com.clause.app.domain.llm.dto.LlmResponse;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * LLM 응답의 토큰 사용량을 프롬프트 구성 방식별로 기록한다.
+ * 규칙 범위(rule_scope)별 clause.llm.prompt.tokens 분포로 입력 토큰 절감 효과를 비교할 수 있다.
+ * 조립 시점의 추정치와 실제 값의 차이는 clause.llm.prompt.tokens.estimate.error(%)로,
+ * 공급자 프롬프트 캐시에서 재사용된 입력 토큰은 clause.llm.prompt.tokens.cached로 남긴다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LlmUsageMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    public void recordPromptTokens(PromptBuilder.RuleScope ruleScope, int estimatedTokens, LlmResponse response) {
+        if (response == null || response.getPromptTokens() == null) {
+            log.debug("Prompt tokens: estimated={}, actual=unknown", estimatedTokens);
+            return;
+        }
+        int actualTokens = response.getPromptTokens();
+        log.info("Prompt tokens: estimated={}, actual={}, cached={}, completion={}",
+                estimatedTokens, actualTokens, response.getCachedPromptTokens(), response.getCompletionTokens());
+
+        DistributionSummary.builder("clause.llm.prompt.tokens")
+                .baseUnit("tokens")
+                .tag("rule_scope", ruleScope.name())
+                .register(meterRegistry)
+                .record(actualTokens);
+        if (response.getCachedPromptTokens() != null) {
+            DistributionSummary.builder("clause.llm.prompt.tokens.cached")
+                    .baseUnit("tokens")
+                    .tag("rule_scope", ruleScope.name())
+                    .register(meterRegistry)
+                    .record(response.getCachedPromptTokens());
+        }
+        if (actualTokens > 0) {
+            DistributionSummary.builder("clause.llm.prompt.tokens.estimate.error")
+                    .baseUnit("percent")
+                    .register(meterRegistry)
+                    .record(Math.abs(estimatedTokens - actualTokens) * 100.0 / actualTokens);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.clause.app.domain.llm;
+
+import com.clause.app.config.ModelTierProperties;
+import com.clause.app.domain.rules.enums.ContractType;
+import com.clause.app.domain.rules.enums.RuleSeverity;
+import com.clause.app.domain.rules.model.ClauseCandidate;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 규칙 엔진 결과(총점, WARNING 트리거 수, 후보 수, 입력 토큰 추정치)로 LLM 모델 등급과 max_tokens를 고른다.
+ * 위험 신호가 거의 없는 문서는 LIGHT(작은 모델), WARNING이 많거나 점수가 높은 문서는 HEAVY로 보낸다.
+ */
+@Slf4j
+@Component
+public class ModelTierPolicy {
+
+    public enum Tier {LIGHT, STANDARD, HEAVY}
+
+    private final ModelTierProperties properties;
+    private final Map<Tier, Counter> selections = new EnumMap<>(Tier.class);
+
+    public ModelTierPolicy(ModelTierProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        for (Tier tier : Tier.values()) {
+            selections.put(tier, Counter.builder("clause.llm.tier.selections")
+                    .tag("tier", tier.name().toLowerCase()).register(meterRegistry));
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * 비활성화되어 있으면 null을 돌려준다. budgetMaxTokens는 TokenBudgetManager가 계산한 출력 토큰 수.
+     */
+    public Decision decide(ContractType contractType, List<ClauseCandidate> candidates,
+                           int estimatedInputTokens, int budgetMaxTokens) {
+        if (!properties.isEnabled()) {
+            return null;
+        }
+
+        ModelTierProperties.Thresholds thresholds = properties.getContractTypes()
+                .getOrDefault(contractType, new ModelTierProperties.Thresholds())
+                .orElse(properties.getThresholds());
+        int totalScore = candidates.stream().mapToInt(ClauseCandidate::getTotalScore).sum();
+        long warnings = candidates.stream()
+                .flatMap(c -> c.getRuleTriggers().stream())
+                .filter(t -> t.getSeverity() == RuleSeverity.WARNING)
+                .count();
+
+        Tier tier;
+        if (warnings >= thresholds.getHeavyMinWarnings() || totalScore >= thresholds.getHeavyMinScore()) {
+            tier = Tier.HEAVY;
+        } else if (warnings <= thresholds.getLightMaxWarnings()
+                && totalScore <= thresholds.getLightMaxScore()
+                && candidates.size() <= thresholds.getLightMaxCandidates()
+                && estimatedInputTokens <= thresholds.getLightMaxInputTokens()) {
+            tier = Tier.LIGHT;
+        } else {
+            tier = Tier.STANDARD;
+        }
+
+        ModelTierProperties.TierModel tierModel = properties.tierModel(tier);
+        int maxTokens = tierModel.getMaxTokens() > 0 ? Math.min(budgetMaxTokens, tierModel.getMaxTokens()) : budgetMaxTokens;
+        selections.get(tier).increment();
+        log.debug("Model tier {} (score={}, warnings={}, candidates={}, inputTokens={})",
+                tier, totalScore, warnings, candidates.size(), estimatedInputTokens);
+        return new Decision(tier, maxTokens);
+    }
+
+    /**
+     * 모델 이름은 정하지 않는다. 요청을 받은 엔드포인트가 등급을 자기 모델로 바꾼다(LlmEndpoint.modelFor).
+     */
+    public record Decision(Tier tier, int maxTokens) {
+
+        // AnalysisResult.llmModel에 남기는 값. 예: "light:gpt-4o-mini"
+        public String label(String responseModel) {
+            return tier.name().toLowerCase() + ":" + responseModel;
+        }
+    }
+}
@@ -1,13 +1,16 @@
 package com.clause.app.domain.llm;
 
+import com.clause.app.common.AnalysisSchema;
+import com.clause.app.domain.llm.token.TokenBudgetManager;
 import com.clause.app.domain.rules.engine.RuleCatalogLoader;
 import com.clause.app.domain.rules.enums.ContractType;
 import com.clause.app.domain.rules.enums.UserProfile;
 import com.clause.app.domain.rules.model.ClauseCandidate;
 import com.clause.app.domain.rules.model.RulePattern;
 import com.clause.app.domain.rules.model.RuleTrigger;
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
@@ -15,10 +18,36 @@ import java.util.stream.Collectors;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class PromptBuilder {
 
+    /**
+     * 개발자 프롬프트에 넣을 규칙 범위.
+     * ALL은 카탈로그 전체 규칙을, TRIGGERED는 선택된 후보 조항에서 실제로 탐지된 규칙만 한 줄씩 넣는다.
+     */
+    public enum RuleScope {
+        ALL, TRIGGERED
+    }
+
     private final RuleCatalogLoader ruleCatalogLoader;
+    private final TokenBudgetManager tokenBudgetManager;
+    private final ClauseExcerptor clauseExcerptor;
+    private final RuleScope ruleScope;
+
+    // 개발자 프롬프트는 카탈로그 버전에만 의존한다. 계약 유형/프로필/언어처럼 요청마다 달라지는 내용은
+    // 사용자 프롬프트 앞에 두어, 시스템+개발자 프롬프트가 모든 요청에서 바이트 단위로 같은 prefix가 되게 한다
+    // (공급자 측 프롬프트 캐시는 같은 prefix에만 적용된다).
+    private volatile CatalogSnapshot catalogSnapshot;
+
+    public PromptBuilder(
+            RuleCatalogLoader ruleCatalogLoader,
+            TokenBudgetManager tokenBudgetManager,
+            ClauseExcerptor clauseExcerptor,
+            @Value("${clause.llm.prompt.rule-scope:ALL}") RuleScope ruleScope) {
+        this.ruleCatalogLoader = ruleCatalogLoader;
+        this.tokenBudgetManager = tokenBudgetManager;
+        this.clauseExcerptor = clauseExcerptor;
+        this.ruleScope = ruleScope;
+    }
 
     private static final String SYSTEM_PROMPT = """
             CRITICAL: OUTPUT ONLY VALID JSON. NO MARKDOWN CODE BLOCKS. NO EXPLANATIONS. NO EXTRA TEXT BEFORE OR AFTER JSON.
@@ -42,31 +71,125 @@ public class PromptBuilder {
             - Numbers must be valid integers (no decimals for counts)
             """;
 
-    private static final String DISCLAIMER = "Clause는 법률 자문이 아니며, 정보 제공 목적입니다. 중요한 계약은 전문가 상담을 권장드립니다.";
+    private static final String DISCLAIMER = AnalysisSchema.DISCLAIMER;
+
+    private static final String PROMPT_HEAD = renderPromptHead();
+    private static final String SCHEMA_SECTION = renderSchemaSection();
+
+    // 분할 호출(fan-out)에서는 items만 받고, 요약과 협상 제안은 마지막 요약 호출에서 만든다.
+    private static final String PARTIAL_ITEMS_INSTRUCTION = """
+
+            ## Partial Analysis
+            This request covers only some of the contract's clauses. Analyze the items as usual, but return
+            "key_points": [] and "negotiation_suggestions": [] - they are generated separately for the whole contract.
+            """;
+
+    private static final String SUMMARY_DEVELOPER_PROMPT = """
+            You summarize an already completed clause-by-clause contract analysis.
+            Return ONLY a JSON object with this exact structure:
+            {"key_points": [<string>, ...], "negotiation_suggestions": [<string>, ...]}
+            - key_points: 3-7 concise Korean sentences covering the most important risks of the whole contract
+            - negotiation_suggestions: 1-5 polite Korean suggestions, prioritizing WARNING clauses
+            - Use cautious, non-definitive language
+            """;
+
+    @PostConstruct
+    void warmUpPromptCache() {
+        String developerPrompt = buildDeveloperPrompt();
+        log.info("Precomputed developer prompt ({} chars) for catalog version {} (rule scope: {})",
+                developerPrompt.length(), ruleCatalogLoader.getCatalogVersion(), ruleScope);
+    }
+
+    public RuleScope getRuleScope() {
+        return ruleScope;
+    }
+
+    /**
+     * 프롬프트 모양을 정하는 설정(규칙 범위, 조항 본문 선택, 토큰 예산)을 이어 붙인 문자열. 설정이 바뀌면 달라진다.
+     */
+    public String promptSignature() {
+        return "rules:" + ruleScope + "|clause:" + clauseExcerptor.signature() + "|budget:" + tokenBudgetManager.signature();
+    }
+
+    /**
+     * 시스템/개발자/사용자 프롬프트를 입력 토큰 예산에 맞춰 조립한다.
+     * 예산을 넘으면 점수가 낮은 후보부터 제외하고, max_tokens는 남은 후보 수에 맞춘다.
+     */
+    public PromptBundle buildPrompts(List<ClauseCandidate> candidates, ContractType contractType,
+                                     UserProfile userProfile, String language) {
+        String systemPrompt = buildSystemPrompt();
+        String developerPrompt = buildDeveloperPrompt();
+        int systemTokens = tokenBudgetManager.count(systemPrompt);
+        int developerTokens = tokenBudgetManager.count(developerPrompt);
+
+        // TRIGGERED 모드의 규칙 목록은 사용자 프롬프트에 있으므로 빠진 후보의 규칙도 함께 빠진다.
+        TokenBudgetManager.FittedPrompt fitted = tokenBudgetManager.fit(candidates, systemTokens + developerTokens,
+                selected -> buildUserPrompt(selected, contractType, userProfile, language));
+
+        return new PromptBundle(systemPrompt, developerPrompt, fitted.userPrompt(), fitted.candidates(),
+                fitted.estimatedTokens(), tokenBudgetManager.maxOutputTokens(fitted.candidates().size()));
+    }
+
+    /**
+     * 후보 일부만 담는 분할 호출용 프롬프트. 요약/협상 제안은 비워 두도록 지시한다.
+     */
+    public PromptBundle buildPartialPrompts(List<ClauseCandidate> candidates, ContractType contractType,
+                                            UserProfile userProfile, String language) {
+        PromptBundle bundle = buildPrompts(candidates, contractType, userProfile, language);
+        return new PromptBundle(bundle.systemPrompt(), bundle.developerPrompt(),
+                bundle.userPrompt() + PARTIAL_ITEMS_INSTRUCTION, bundle.candidates(),
+                bundle.estimatedInputTokens() + tokenBudgetManager.count(PARTIAL_ITEMS_INSTRUCTION),
+                bundle.maxOutputTokens());
+    }
+
+    public String buildSummaryDeveloperPrompt() {
+        return SUMMARY_DEVELOPER_PROMPT;
+    }
+
+    public String buildSummaryUserPrompt(String itemsJson, ContractType contractType, UserProfile userProfile) {
+        return "Contract Type: " + contractType.name() + "\n"
+                + "User Profile: " + userProfile.name() + "\n\n"
+                + "## Analyzed Clauses\n"
+                + itemsJson + "\n";
+    }
 
     public String buildSystemPrompt() {
         return SYSTEM_PROMPT;
     }
 
-    public String buildDeveloperPrompt(ContractType contractType, UserProfile userProfile, String language) {
+    /**
+     * 모든 요청이 공유하는 개발자 프롬프트. 카탈로그 버전이 바뀔 때만 다시 만든다.
+     * ALL 모드는 작업 설명, 규칙 카탈로그, 스키마를, TRIGGERED 모드는 규칙 카탈로그를 뺀 나머지를 담는다.
+     */
+    public String buildDeveloperPrompt() {
+        CatalogSnapshot snapshot = currentCatalog();
+        String prompt = snapshot.developerPrompt();
+        if (prompt == null) {
+            prompt = renderDeveloperPrompt();
+            catalogSnapshot = new CatalogSnapshot(snapshot.version(), snapshot.rulesById(), prompt);
+        }
+        return prompt;
+    }
+
+    String renderDeveloperPrompt() {
+        StringBuilder sb = new StringBuilder(PROMPT_HEAD);
+        if (ruleScope == RuleScope.ALL) {
+            appendRuleCatalog(sb);
+        }
+        sb.append(SCHEMA_SECTION);
+        return sb.toString();
+    }
+
+    private static String renderPromptHead() {
         StringBuilder sb = new StringBuilder();
         sb.append("You are an expert contract clause analyzer. Your task is to analyze the provided contract clauses and return a comprehensive analysis in JSON format.\n\n");
         
-        sb.append("## Analysis Context\n");
-        sb.append("The following context information is provided to help you understand the contract type and user profile:\n");
-        sb.append("- Contract Type: ").append(contractType.name()).append("\n");
-        sb.append("  This indicates the type of contract being analyzed (e.g., FREELANCER, EMPLOYMENT, LEASE, etc.)\n");
-        sb.append("- User Profile: ").append(userProfile.name()).append("\n");
-        sb.append("  This represents the user's background (e.g., STUDENT, ENTRY_LEVEL, FREELANCER, etc.)\n");
-        sb.append("- Language: ").append(language).append("\n");
-        sb.append("  The output language for the analysis (currently Korean: ko-KR)\n\n");
-
         sb.append("## Analysis Tasks\n");
         sb.append("You must perform the following analysis tasks for each contract clause:\n\n");
         sb.append("1. **Risk Assessment and Labeling**: Evaluate the risk level of each clause and assign an appropriate label (WARNING, CHECK, or OK)\n");
         sb.append("   - Consider the rule triggers detected for each clause\n");
         sb.append("   - Consider the severity and weight of detected rules\n");
-        sb.append("   - Consider the contract type and user profile context\n\n");
+        sb.append("   - Consider the contract type and user profile given in the Analysis Context\n\n");
         sb.append("2. **Risk Reason**: Explain why the clause might be concerning (1-2 sentences in Korean)\n");
         sb.append("   - Use cautious, non-definitive language\n");
         sb.append("   - Avoid absolute statements\n");
@@ -102,6 +225,10 @@ public class PromptBuilder {
         sb.append("  - These clauses are typically acceptable and don't raise concerns\n");
         sb.append("  - Use this label sparingly - most clauses should be WARNING or CHECK\n\n");
 
+        return sb.toString();
+    }
+
+    private void appendRuleCatalog(StringBuilder sb) {
         sb.append("## Rule Catalog Information\n");
         sb.append("The following rule catalog is used for contract analysis. When rule triggers are detected, refer to the corresponding rule information to guide your analysis.\n\n");
         sb.append("**How to use the rule catalog:**\n");
@@ -109,28 +236,31 @@ public class PromptBuilder {
         sb.append("- Rules with higher weights indicate higher risk\n");
         sb.append("- Severity indicates the type of concern: WARNING (serious) or CHECK (needs verification)\n");
         sb.append("- Boost values show how important a rule is for specific contract types\n");
+        sb.append("- Total weight = base weight + the boost for the Contract Type given in the Analysis Context\n");
         sb.append("- When a rule trigger is detected, consider its severity and weight when assigning labels\n");
         sb.append("- Rules with WARNING severity and high weight should typically result in WARNING labels\n");
         sb.append("- Rules with CHECK severity may result in CHECK labels, depending on context\n\n");
         
         List<RulePattern> allRules = ruleCatalogLoader.getRules();
-        Map<String, RulePattern> rulesById = allRules.stream()
-                .collect(Collectors.toMap(RulePattern::getId, r -> r));
-        
-        sb.append("### Complete Rule List (Weights shown for Contract Type: ").append(contractType.name()).append(")\n\n");
+
+        sb.append("### Complete Rule List\n\n");
         sb.append("**Total Rules:** ").append(allRules.size()).append("\n\n");
         
         for (RulePattern rule : allRules) {
-            int boost = rule.getBoost() != null ? rule.getBoost().getOrDefault(contractType.name(), 0) : 0;
-            int totalWeight = rule.getBaseWeight() + boost;
-            
             sb.append("- **Rule ID: ").append(rule.getId()).append("** | Severity: ").append(rule.getSeverity().name()).append("\n");
             sb.append("  - **Category:** ").append(rule.getCategory().name()).append("\n");
             sb.append("  - **Description:** ").append(rule.getDescription()).append("\n");
             sb.append("  - **Base Weight:** ").append(rule.getBaseWeight());
-            if (boost > 0) {
-                sb.append(" | **Boost for ").append(contractType.name()).append(":** +").append(boost);
-                sb.append(" | **Total Weight:** ").append(totalWeight);
+            // 맵 순서에 기대지 않고 enum 순서로 출력해 항상 같은 문자열이 나오게 한다.
+            StringJoiner boosts = new StringJoiner(", ");
+            for (ContractType type : ContractType.values()) {
+                int boost = rule.getBoost() != null ? rule.getBoost().getOrDefault(type.name(), 0) : 0;
+                if (boost > 0) {
+                    boosts.add(type.name() + " +" + boost);
+                }
+            }
+            if (boosts.length() > 0) {
+                sb.append(" | **Boost:** ").append(boosts);
             }
             sb.append("\n");
             sb.append("  - **Interpretation:** ");
@@ -142,7 +272,59 @@ public class PromptBuilder {
             sb.append("\n\n");
         }
         sb.append("\n");
+    }
+
+    private void appendAnalysisContext(StringBuilder sb, ContractType contractType, UserProfile userProfile, String language) {
+        sb.append("## Analysis Context\n");
+        sb.append("The following context information is provided to help you understand the contract type and user profile:\n");
+        sb.append("- Contract Type: ").append(contractType.name()).append("\n");
+        sb.append("  This indicates the type of contract being analyzed (e.g., FREELANCER, EMPLOYMENT, LEASE, etc.)\n");
+        sb.append("  Use the boost for this contract type when reading rule weights\n");
+        sb.append("- User Profile: ").append(userProfile.name()).append("\n");
+        sb.append("  This represents the user's background (e.g., STUDENT, ENTRY_LEVEL, FREELANCER, etc.)\n");
+        sb.append("- Language: ").append(language).append("\n");
+        sb.append("  The output language for the analysis (currently Korean: ko-KR)\n\n");
+    }
+
+    private void appendTriggeredRules(StringBuilder sb, ContractType contractType, List<ClauseCandidate> candidates) {
+        Set<String> firedRuleIds = new HashSet<>();
+        for (ClauseCandidate candidate : candidates) {
+            if (candidate.getRuleTriggers() != null) {
+                for (RuleTrigger trigger : candidate.getRuleTriggers()) {
+                    firedRuleIds.add(trigger.getRuleId());
+                }
+            }
+        }
+
+        // 카탈로그 순서를 따라 출력해서 같은 규칙 집합이면 항상 같은 문자열이 나오게 한다.
+        List<RulePattern> firedRules = ruleCatalogLoader.getRules().stream()
+                .filter(rule -> firedRuleIds.contains(rule.getId()))
+                .collect(Collectors.toList());
+
+        sb.append("## Rule Catalog Information\n");
+        sb.append("Only the rules detected in the clauses below are listed, one per line: ");
+        sb.append("`ID | Category | Severity | Weight (").append(contractType.name()).append(") | Description`\n");
+        sb.append("- WARNING: potentially serious issue; usually a WARNING label when weight >= 3\n");
+        sb.append("- CHECK: needs verification; usually a CHECK label depending on context\n");
+        sb.append("- Higher weight means higher risk\n\n");
+
+        sb.append("### Detected Rules (").append(firedRules.size()).append(")\n");
+        if (firedRules.isEmpty()) {
+            sb.append("- None\n");
+        }
+        for (RulePattern rule : firedRules) {
+            int boost = rule.getBoost() != null ? rule.getBoost().getOrDefault(contractType.name(), 0) : 0;
+            sb.append("- ").append(rule.getId())
+                    .append(" | ").append(rule.getCategory().name())
+                    .append(" | ").append(rule.getSeverity().name())
+                    .append(" | ").append(rule.getBaseWeight() + boost)
+                    .append(" | ").append(rule.getDescription()).append("\n");
+        }
+        sb.append("\n");
+    }
 
+    private static String renderSchemaSection() {
+        StringBuilder sb = new StringBuilder();
         sb.append("## Required JSON Schema (ALL fields are MANDATORY)\n");
         sb.append("You MUST return a JSON object with the following exact structure:\n\n");
         sb.append("```json\n");
@@ -253,12 +435,15 @@ public class PromptBuilder {
 
     public String buildUserPrompt(List<ClauseCandidate> candidates, ContractType contractType, UserProfile userProfile, String language) {
         StringBuilder sb = new StringBuilder();
+        appendAnalysisContext(sb, contractType, userProfile, language);
+        if (ruleScope == RuleScope.TRIGGERED) {
+            appendTriggeredRules(sb, contractType, candidates);
+        }
         sb.append("## Contract Clauses to Analyze\n\n");
         sb.append("Below are the contract clauses that need to be analyzed. Each clause includes its ID, title, content, and any detected rule triggers.\n\n");
         
-        Map<String, RulePattern> rulesById = ruleCatalogLoader.getRules().stream()
-                .collect(Collectors.toMap(RulePattern::getId, r -> r));
-        
+        Map<String, RulePattern> rulesById = currentCatalog().rulesById();
+
         Set<String> detectedRuleIds = new HashSet<>();
         
         sb.append("**Total clauses to analyze:** ").append(candidates.size()).append("\n\n");
@@ -270,9 +455,15 @@ public class PromptBuilder {
             sb.append("  - This ID must be used exactly as-is in the clause_id field of your response\n\n");
             sb.append("- **Title:** ").append(candidate.getTitle()).append("\n");
             sb.append("  - Use this or derive a similar title for the title field\n\n");
-            sb.append("- **Clause Content:**\n");
+            String content = clauseExcerptor.excerpt(candidate);
+            if (candidate.getText() == null || content.equals(candidate.getText())) {
+                sb.append("- **Clause Content:**\n");
+            } else {
+                sb.append("- **Clause Content (excerpt around detected triggers; ").append(ClauseExcerptor.ELISION)
+                        .append(" marks omitted text):**\n");
+            }
             sb.append("```\n");
-            sb.append(candidate.getText()).append("\n");
+            sb.append(content).append("\n");
             sb.append("```\n\n");
             
             if (!candidate.getRuleTriggers().isEmpty()) {
@@ -377,5 +568,18 @@ public class PromptBuilder {
 
         return sb.toString();
     }
-}
 
+    private CatalogSnapshot currentCatalog() {
+        String version = ruleCatalogLoader.getCatalogVersion();
+        CatalogSnapshot snapshot = catalogSnapshot;
+        if (snapshot == null || !snapshot.version().equals(version)) {
+            Map<String, RulePattern> rulesById = ruleCatalogLoader.getRules().stream()
+                    .collect(Collectors.toUnmodifiableMap(RulePattern::getId, r -> r));
+            snapshot = new CatalogSnapshot(version, rulesById, null);
+            catalogSnapshot = snapshot;
+        }
+        return snapshot;
+    }
+
+    private record CatalogSnapshot(String version, Map<String, RulePattern> rulesById, String developerPrompt) {}
+}
@@ -0,0 +1,18 @@
+package com.clause.app.domain.llm;
+
+import com.clause.app.domain.rules.model.ClauseCandidate;
+
+import java.util.List;
+
+/**
+ * 토큰 예산에 맞춰 조립된 프롬프트 묶음.
+ * candidates는 실제로 사용자 프롬프트에 포함된 후보 조항이다.
+ */
+public record PromptBundle(
+        String systemPrompt,
+        String developerPrompt,
+        String userPrompt,
+        List<ClauseCandidate> candidates,
+        int estimatedInputTokens,
+        int maxOutputTokens) {
+}
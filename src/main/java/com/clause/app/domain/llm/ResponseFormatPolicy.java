@@ -0,0 +1,40 @@
+package com.clause.app.domain.llm;
+
+import com.clause.app.common.AnalysisSchema;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 분석 요청의 응답 형식 모드.
+ * PROMPT: 프롬프트의 JSON 지시만으로 받고, 응답은 JsonRepairUtil로 고친 뒤 스키마 검증/보정을 거친다.
+ * STRUCTURED: AnalysisSchema의 strict json_schema를 response_format으로 보낸다. 공급자가 스키마 준수를 보장하므로
+ * 응답을 그대로 파싱하고 복구와 보정을 건너뛴다. strict json_schema를 지원하는 공급자에서만 켠다.
+ */
+@Slf4j
+@Component
+public class ResponseFormatPolicy {
+
+    public enum Mode {
+        PROMPT,
+        STRUCTURED
+    }
+
+    private final Mode mode;
+
+    public ResponseFormatPolicy(@Value("${clause.llm.output-mode:PROMPT}") Mode mode) {
+        this.mode = mode;
+        log.info("LLM output mode: {}", mode);
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * 분석 요청에 실을 response_format. PROMPT 모드에서는 null이다.
+     */
+    public String analysisResponseFormat() {
+        return mode == Mode.STRUCTURED ? AnalysisSchema.responseFormat() : null;
+    }
+}
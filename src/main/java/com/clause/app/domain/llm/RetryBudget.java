@@ -0,0 +1,35 @@
+package com.clause.app.domain.llm;
+
+/**
+ * 재시도 횟수를 최근 성공 호출 수의 일정 비율로 묶어두는 토큰 버킷.
+ * 성공할 때마다 ratio만큼 토큰이 쌓이고(최대 maxTokens), 재시도 한 번에 토큰 1개를 쓴다.
+ * 업스트림이 계속 실패하면 토큰이 바닥나 재시도가 멈추므로, 장애 중에 호출량이 불어나지 않는다.
+ */
+public class RetryBudget {
+
+    private final double ratio;
+    private final double maxTokens;
+    private double tokens;
+
+    public RetryBudget(double ratio, int maxTokens) {
+        this.ratio = Math.max(0, ratio);
+        this.maxTokens = Math.max(1, maxTokens);
+        this.tokens = this.maxTokens;
+    }
+
+    public synchronized void recordSuccess() {
+        tokens = Math.min(maxTokens, tokens + ratio);
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    public synchronized double availableTokens() {
+        return tokens;
+    }
+}
@@ -0,0 +1,109 @@
+package com.clause.app.domain.llm;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 스트리밍 중인 LLM 응답 텍스트에서 최상위 "items" 배열의 원소가 완성될 때마다 해당 JSON 조각을 꺼낸다.
+ * 첫 '{' 이전의 코드 펜스나 설명 문구는 무시한다. 스트림 하나당 인스턴스 하나를 사용한다.
+ */
+public class StreamingItemExtractor {
+
+    private static final String ITEMS_KEY = "items";
+
+    private final StringBuilder buffer = new StringBuilder();
+    private int scanned = 0;
+    private boolean started = false;
+    private int depth = 0;
+
+    private boolean inString = false;
+    private boolean escaped = false;
+    private int stringStart = -1;
+    private String lastRootString;
+    private String pendingKey;
+
+    private int itemsDepth = -1;
+    private boolean itemsDone = false;
+    private int itemStart = -1;
+
+    public List<String> feed(String chunk) {
+        List<String> completed = new ArrayList<>();
+        if (chunk == null || chunk.isEmpty() || itemsDone) {
+            return completed;
+        }
+        buffer.append(chunk);
+
+        for (; scanned < buffer.length(); scanned++) {
+            char c = buffer.charAt(scanned);
+
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == '"') {
+                    inString = false;
+                    if (depth == 1) {
+                        lastRootString = buffer.substring(stringStart + 1, scanned);
+                    }
+                }
+                continue;
+            }
+
+            if (!started) {
+                if (c == '{') {
+                    started = true;
+                    depth = 1;
+                }
+                continue;
+            }
+
+            switch (c) {
+                case '"' -> {
+                    inString = true;
+                    stringStart = scanned;
+                }
+                case ':' -> {
+                    if (depth == 1) {
+                        pendingKey = lastRootString;
+                    }
+                }
+                case ',' -> {
+                    if (depth == 1) {
+                        pendingKey = null;
+                    }
+                }
+                case '[' -> {
+                    if (depth == 1 && itemsDepth < 0 && ITEMS_KEY.equals(pendingKey)) {
+                        itemsDepth = 2;
+                    }
+                    depth++;
+                }
+                case '{' -> {
+                    if (itemsDepth > 0 && depth == itemsDepth) {
+                        itemStart = scanned;
+                    }
+                    depth++;
+                }
+                case '}' -> {
+                    depth--;
+                    if (itemsDepth > 0 && depth == itemsDepth && itemStart >= 0) {
+                        completed.add(buffer.substring(itemStart, scanned + 1));
+                        itemStart = -1;
+                    }
+                }
+                case ']' -> {
+                    depth--;
+                    if (itemsDepth > 0 && depth < itemsDepth) {
+                        itemsDone = true;
+                        scanned = buffer.length();
+                        return completed;
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        return completed;
+    }
+}
@@ -0,0 +1,47 @@
+package com.clause.app.domain.llm.batch;
+
+import com.clause.app.domain.llm.dto.LlmRequest;
+import com.clause.app.domain.llm.dto.LlmResponse;
+
+import java.util.List;
+
+/**
+ * 공급자 배치 API. 여러 chat/completions 요청을 JSONL 파일 하나로 제출하고, 끝나면 요청별 결과를 받는다.
+ * 결과가 나오기까지 몇 시간이 걸릴 수 있어 야간 재분석처럼 급하지 않은 대량 작업에만 쓴다.
+ */
+public interface LlmBatchClient {
+
+    /**
+     * 요청들을 배치로 제출하고 공급자 배치 ID를 돌려준다.
+     */
+    String submit(List<BatchEntry> entries);
+
+    BatchStatus poll(String batchId);
+
+    /**
+     * 끝난 배치의 요청별 결과. 결과가 없는 요청은 목록에 빠질 수 있다.
+     */
+    List<BatchResult> results(String batchId);
+
+    record BatchEntry(String customId, LlmRequest request) {
+    }
+
+    enum State {
+        IN_PROGRESS,
+        // 정상 종료 외에 만료/취소도 포함한다. 이 경우 끝난 요청의 결과만 있다.
+        COMPLETED,
+        FAILED
+    }
+
+    record BatchStatus(State state, int total, int completed, int failed) {
+        public boolean isTerminal() {
+            return state != State.IN_PROGRESS;
+        }
+    }
+
+    record BatchResult(String customId, LlmResponse response, String error) {
+        public boolean isSuccess() {
+            return response != null;
+        }
+    }
+}
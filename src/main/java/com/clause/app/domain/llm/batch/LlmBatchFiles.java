@@ -0,0 +1,145 @@
+package com.clause.app.domain.llm.batch;
+
+import com.clause.app.domain.llm.LlmJsonCodec;
+import com.clause.app.domain.llm.ModelTierPolicy;
+import com.clause.app.domain.llm.dto.LlmResponse;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 배치 입력/출력 JSONL 파일 형식 (OpenAI Batch API).
+ * 입력 한 줄: {"custom_id", "method": "POST", "url": "/v1/chat/completions", "body": chat/completions 요청}
+ * 출력 한 줄: {"custom_id", "response": {"status_code", "body": chat/completions 응답}, "error": {"message"}}
+ * 요청 본문과 응답은 LlmJsonCodec으로 스트리밍 처리하므로 파일 전체를 메모리에 올리지 않는다.
+ */
+public class LlmBatchFiles {
+
+    public static final String ENDPOINT = "/v1/chat/completions";
+
+    private final JsonFactory jsonFactory;
+    private final LlmJsonCodec codec;
+
+    public LlmBatchFiles(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+        this.codec = new LlmJsonCodec(jsonFactory);
+    }
+
+    /**
+     * modelForTier는 요청 등급(null 가능)을 배치를 받는 공급자의 모델 이름으로 바꾼다.
+     */
+    public void writeInput(Path file, List<LlmBatchClient.BatchEntry> entries,
+                           Function<ModelTierPolicy.Tier, String> modelForTier) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file));
+             JsonGenerator generator = jsonFactory.createGenerator(out)) {
+            generator.setRootValueSeparator(new SerializedString("\n"));
+            for (LlmBatchClient.BatchEntry entry : entries) {
+                generator.writeStartObject();
+                generator.writeStringField("custom_id", entry.customId());
+                generator.writeStringField("method", "POST");
+                generator.writeStringField("url", ENDPOINT);
+                generator.writeFieldName("body");
+                codec.writeRequest(generator, entry.request(), modelForTier.apply(entry.request().getTier()), false);
+                generator.writeEndObject();
+            }
+            generator.writeRaw('\n');
+        }
+    }
+
+    public List<LlmBatchClient.BatchResult> readOutput(Path file, String endpointModel) throws IOException {
+        List<LlmBatchClient.BatchResult> results = new ArrayList<>();
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file));
+             JsonParser parser = jsonFactory.createParser(in)) {
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                results.add(readLine(parser, endpointModel));
+            }
+        }
+        return results;
+    }
+
+    private LlmBatchClient.BatchResult readLine(JsonParser parser, String endpointModel) throws IOException {
+        String customId = null;
+        Line line = new Line();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "custom_id" -> customId = parser.getValueAsString();
+                case "response" -> readResponse(parser, value, endpointModel, line);
+                case "error" -> line.error = readErrorMessage(parser, value);
+                default -> parser.skipChildren();
+            }
+        }
+
+        if (line.statusCode != null && line.statusCode != 200) {
+            return new LlmBatchClient.BatchResult(customId, null,
+                    "HTTP " + line.statusCode + (line.error != null ? ": " + line.error : ""));
+        }
+        if (line.response == null) {
+            String error = line.error != null ? line.error : line.bodyError;
+            return new LlmBatchClient.BatchResult(customId, null, error != null ? error : "No response");
+        }
+        return new LlmBatchClient.BatchResult(customId, line.response, null);
+    }
+
+    private void readResponse(JsonParser parser, JsonToken value, String endpointModel, Line line) throws IOException {
+        if (value != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken fieldValue = parser.nextToken();
+            if ("status_code".equals(field) && fieldValue == JsonToken.VALUE_NUMBER_INT) {
+                line.statusCode = parser.getIntValue();
+            } else if ("body".equals(field) && fieldValue == JsonToken.START_OBJECT) {
+                try {
+                    line.response = codec.readResponse(parser, endpointModel);
+                } catch (IllegalArgumentException e) {
+                    // 오류 응답 본문({"error": ...})은 끝까지 읽힌 뒤 여기로 오고, status_code로 실패를 남긴다.
+                    line.bodyError = e.getMessage();
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private String readErrorMessage(JsonParser parser, JsonToken value) throws IOException {
+        if (value != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+        String message = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken fieldValue = parser.nextToken();
+            if ("message".equals(field) && fieldValue == JsonToken.VALUE_STRING) {
+                message = parser.getText();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return message;
+    }
+
+    private static final class Line {
+        private Integer statusCode;
+        private LlmResponse response;
+        private String error;
+        private String bodyError;
+    }
+}
@@ -0,0 +1,171 @@
+package com.clause.app.domain.llm.batch;
+
+import com.clause.app.config.ModelTierProperties;
+import com.clause.app.domain.llm.LlmClient;
+import com.clause.app.domain.llm.dto.LlmRequest;
+import com.clause.app.domain.llm.dto.LlmResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 공급자 배치 API 대신 로컬 디렉터리의 JSONL 파일로 동작하는 구현. 테스트와 로컬 개발용이다.
+ * 제출하면 입력 파일만 쓰고, 첫 poll에서 각 줄을 responder로 처리해 공급자와 같은 형식의 출력 파일을 쓴다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "clause.llm.batch.provider", havingValue = "local")
+public class LocalFileBatchClient implements LlmBatchClient {
+
+    private final Path directory;
+    private final LlmClient responder;
+    private final ObjectMapper objectMapper;
+    private final LlmBatchFiles files;
+    private final String model;
+    private final ModelTierProperties tierProperties;
+
+    public LocalFileBatchClient(
+            @Value("${clause.llm.batch.local-dir:/tmp/clause/batches}") String directory,
+            LlmClient responder,
+            ObjectMapper objectMapper,
+            @Value("${clause.llm.model:gpt-4o-mini}") String model,
+            ModelTierProperties tierProperties) {
+        this.directory = Path.of(directory);
+        this.responder = responder;
+        this.objectMapper = objectMapper;
+        this.files = new LlmBatchFiles(objectMapper.getFactory());
+        this.model = model;
+        this.tierProperties = tierProperties;
+    }
+
+    @Override
+    public String submit(List<BatchEntry> entries) {
+        String batchId = "local-" + UUID.randomUUID();
+        try {
+            Files.createDirectories(directory);
+            files.writeInput(input(batchId), entries, tier -> tierProperties.modelFor(tier, model));
+        } catch (IOException e) {
+            throw new IllegalStateException("Local batch write failed", e);
+        }
+        return batchId;
+    }
+
+    @Override
+    public BatchStatus poll(String batchId) {
+        if (!Files.exists(input(batchId))) {
+            return new BatchStatus(State.FAILED, 0, 0, 0);
+        }
+        if (!Files.exists(output(batchId))) {
+            run(batchId);
+        }
+        List<BatchResult> results = results(batchId);
+        int completed = (int) results.stream().filter(BatchResult::isSuccess).count();
+        return new BatchStatus(State.COMPLETED, results.size(), completed, results.size() - completed);
+    }
+
+    @Override
+    public List<BatchResult> results(String batchId) {
+        if (!Files.exists(output(batchId))) {
+            return List.of();
+        }
+        try {
+            return files.readOutput(output(batchId), model);
+        } catch (IOException e) {
+            throw new IllegalStateException("Local batch read failed", e);
+        }
+    }
+
+    private void run(String batchId) {
+        Path partial = directory.resolve(batchId + ".output.jsonl.tmp");
+        try (BufferedReader reader = Files.newBufferedReader(input(batchId), StandardCharsets.UTF_8);
+             BufferedWriter writer = Files.newBufferedWriter(partial, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                writer.write(objectMapper.writeValueAsString(respond(objectMapper.readTree(line))));
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Local batch run failed", e);
+        }
+        try {
+            Files.move(partial, output(batchId), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new IllegalStateException("Local batch run failed", e);
+        }
+        log.info("Local batch {} completed", batchId);
+    }
+
+    private ObjectNode respond(JsonNode entry) {
+        ObjectNode line = objectMapper.createObjectNode();
+        line.put("custom_id", entry.path("custom_id").asText());
+        try {
+            LlmResponse response = responder.call(toRequest(entry.path("body")));
+            ObjectNode responseNode = line.putObject("response");
+            responseNode.put("status_code", 200);
+            responseNode.set("body", toBody(response));
+            line.putNull("error");
+        } catch (RuntimeException e) {
+            line.putNull("response");
+            line.putObject("error").put("code", "local_error").put("message", e.getMessage());
+        }
+        return line;
+    }
+
+    private static LlmRequest toRequest(JsonNode body) {
+        // 시스템+개발자 프롬프트는 system 메시지 하나로 합쳐져 있으므로 systemPrompt로만 되살린다.
+        // 등급은 파일에 남지 않으므로 responder의 기본 모델로 처리한다.
+        LlmRequest.LlmRequestBuilder request = LlmRequest.builder()
+                .temperature(body.has("temperature") ? body.get("temperature").asDouble() : null)
+                .maxTokens(body.has("max_tokens") ? body.get("max_tokens").asInt() : null)
+                .responseFormat(body.has("response_format") ? body.get("response_format").toString() : null);
+        for (JsonNode message : body.path("messages")) {
+            String content = message.path("content").asText();
+            switch (message.path("role").asText()) {
+                case "system" -> request.systemPrompt(content);
+                case "user" -> request.userPrompt(content);
+                default -> { }
+            }
+        }
+        return request.build();
+    }
+
+    private ObjectNode toBody(LlmResponse response) {
+        ObjectNode body = objectMapper.createObjectNode();
+        body.put("model", response.getModel());
+        ObjectNode choice = body.putArray("choices").addObject();
+        choice.put("index", 0);
+        choice.putObject("message")
+                .put("role", "assistant")
+                .put("content", response.getContent());
+        ObjectNode usage = body.putObject("usage");
+        usage.put("prompt_tokens", response.getPromptTokens());
+        usage.put("completion_tokens", response.getCompletionTokens());
+        usage.put("total_tokens", response.getUsageTokens());
+        return body;
+    }
+
+    private Path input(String batchId) {
+        return directory.resolve(batchId + ".input.jsonl");
+    }
+
+    private Path output(String batchId) {
+        return directory.resolve(batchId + ".output.jsonl");
+    }
+}
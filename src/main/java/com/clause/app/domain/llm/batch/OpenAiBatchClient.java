@@ -0,0 +1,183 @@
+package com.clause.app.domain.llm.batch;
+
+import com.clause.app.common.ClauseException;
+import com.clause.app.common.ErrorCode;
+import com.clause.app.config.ModelTierProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * OpenAI Batch API 구현. 입력 파일을 /v1/files(purpose=batch)로 올리고 /v1/batches로 배치를 만든다.
+ * 입력/출력 파일은 임시 파일로 주고받아 요청 수천 건도 메모리에 한 번에 올리지 않는다.
+ * 배치는 라우팅 없이 clause.llm.base-url 하나로만 보낸다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "clause.llm.batch.provider", havingValue = "openai", matchIfMissing = true)
+public class OpenAiBatchClient implements LlmBatchClient {
+
+    private static final String DEFAULT_BASE_URL = "https://api.openai.com";
+    private static final String COMPLETION_WINDOW = "24h";
+
+    private final WebClient webClient;
+    private final LlmBatchFiles files;
+    private final String model;
+    private final ModelTierProperties tierProperties;
+    private final Duration timeout;
+
+    public OpenAiBatchClient(
+            @Qualifier("llmWebClientBuilder") WebClient.Builder webClientBuilder,
+            ObjectMapper objectMapper,
+            @Value("${clause.llm.base-url:}") String baseUrl,
+            @Value("${clause.llm.api-key:}") String apiKey,
+            @Value("${clause.llm.model:gpt-4o-mini}") String model,
+            ModelTierProperties tierProperties,
+            @Value("${clause.llm.batch.timeout-ms:120000}") long timeoutMs) {
+        this.webClient = webClientBuilder.clone()
+                .baseUrl(baseUrl == null || baseUrl.isBlank() ? DEFAULT_BASE_URL : baseUrl)
+                .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + (apiKey != null ? apiKey : ""))
+                .build();
+        this.files = new LlmBatchFiles(objectMapper.getFactory());
+        this.model = model;
+        this.tierProperties = tierProperties;
+        this.timeout = Duration.ofMillis(timeoutMs);
+    }
+
+    @Override
+    public String submit(List<BatchEntry> entries) {
+        Path input = null;
+        try {
+            input = Files.createTempFile("clause-batch-", ".jsonl");
+            files.writeInput(input, entries, tier -> tierProperties.modelFor(tier, model));
+
+            MultipartBodyBuilder upload = new MultipartBodyBuilder();
+            upload.part("purpose", "batch");
+            upload.part("file", new FileSystemResource(input));
+            JsonNode file = webClient.post()
+                    .uri("/v1/files")
+                    .contentType(MediaType.MULTIPART_FORM_DATA)
+                    .body(BodyInserters.fromMultipartData(upload.build()))
+                    .retrieve()
+                    .bodyToMono(JsonNode.class)
+                    .block(timeout);
+
+            JsonNode batch = webClient.post()
+                    .uri("/v1/batches")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(Map.of(
+                            "input_file_id", file.path("id").asText(),
+                            "endpoint", LlmBatchFiles.ENDPOINT,
+                            "completion_window", COMPLETION_WINDOW))
+                    .retrieve()
+                    .bodyToMono(JsonNode.class)
+                    .block(timeout);
+            String batchId = batch.path("id").asText();
+            log.info("Submitted LLM batch {} with {} requests", batchId, entries.size());
+            return batchId;
+        } catch (WebClientResponseException e) {
+            log.error("LLM batch API error: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
+            throw new ClauseException(ErrorCode.LLM_UPSTREAM_ERROR, "LLM 배치 제출 실패: " + e.getMessage());
+        } catch (IOException e) {
+            throw new ClauseException(ErrorCode.LLM_UPSTREAM_ERROR, e);
+        } finally {
+            deleteQuietly(input);
+        }
+    }
+
+    @Override
+    public BatchStatus poll(String batchId) {
+        JsonNode batch = getBatch(batchId);
+        JsonNode counts = batch.path("request_counts");
+        return new BatchStatus(toState(batch.path("status").asText()),
+                counts.path("total").asInt(), counts.path("completed").asInt(), counts.path("failed").asInt());
+    }
+
+    @Override
+    public List<BatchResult> results(String batchId) {
+        JsonNode batch = getBatch(batchId);
+        List<BatchResult> results = new ArrayList<>();
+        // 성공한 요청은 output 파일, 실패한 요청은 error 파일에 같은 줄 형식으로 들어 있다.
+        for (String field : List.of("output_file_id", "error_file_id")) {
+            String fileId = batch.path(field).asText(null);
+            if (fileId != null && !fileId.isBlank()) {
+                results.addAll(download(fileId));
+            }
+        }
+        return results;
+    }
+
+    private JsonNode getBatch(String batchId) {
+        try {
+            return webClient.get()
+                    .uri("/v1/batches/{id}", batchId)
+                    .retrieve()
+                    .bodyToMono(JsonNode.class)
+                    .block(timeout);
+        } catch (WebClientResponseException e) {
+            log.error("LLM batch API error: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
+            throw new ClauseException(ErrorCode.LLM_UPSTREAM_ERROR, "LLM 배치 조회 실패: " + e.getMessage());
+        }
+    }
+
+    private List<BatchResult> download(String fileId) {
+        Path output = null;
+        try {
+            output = Files.createTempFile("clause-batch-", ".output.jsonl");
+            Flux<DataBuffer> content = webClient.get()
+                    .uri("/v1/files/{id}/content", fileId)
+                    .retrieve()
+                    .bodyToFlux(DataBuffer.class);
+            DataBufferUtils.write(content, output).block(timeout);
+            return files.readOutput(output, model);
+        } catch (WebClientResponseException e) {
+            log.error("LLM batch API error: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
+            throw new ClauseException(ErrorCode.LLM_UPSTREAM_ERROR, "LLM 배치 결과 다운로드 실패: " + e.getMessage());
+        } catch (IOException e) {
+            throw new ClauseException(ErrorCode.LLM_UPSTREAM_ERROR, e);
+        } finally {
+            deleteQuietly(output);
+        }
+    }
+
+    private static State toState(String status) {
+        return switch (status) {
+            case "completed", "expired", "cancelled" -> State.COMPLETED;
+            case "failed" -> State.FAILED;
+            default -> State.IN_PROGRESS;
+        };
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete batch temp file {}: {}", file, e.getMessage());
+        }
+    }
+}
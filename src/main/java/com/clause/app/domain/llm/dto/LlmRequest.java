@@ -1,5 +1,6 @@
 package com.clause.app.domain.llm.dto;
 
+import com.clause.app.domain.llm.ModelTierPolicy;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -15,8 +16,13 @@ public class LlmRequest {
     private String systemPrompt;
     private String developerPrompt;
     private String userPrompt;
-    private String model;
+    // ModelTierPolicy가 고른 등급. 실제 모델은 요청을 받는 엔드포인트가 정한다. null이면 엔드포인트 기본 모델.
+    private ModelTierPolicy.Tier tier;
     private Double temperature;
     private Integer maxTokens;
+    // 엔드포인트 라우팅에 쓰는 입력 토큰 추정치. 없으면 0으로 본다.
+    private Integer estimatedInputTokens;
+    // chat/completions의 response_format 값(JSON). null이면 보내지 않는다.
+    private String responseFormat;
 }
 
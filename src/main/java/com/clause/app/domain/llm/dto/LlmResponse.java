@@ -15,5 +15,7 @@ public class LlmResponse {
     private Integer usageTokens;
     private Integer promptTokens;
     private Integer completionTokens;
+    // 공급자 프롬프트 캐시에서 재사용된 입력 토큰 수 (usage.prompt_tokens_details.cached_tokens)
+    private Integer cachedPromptTokens;
 }
 
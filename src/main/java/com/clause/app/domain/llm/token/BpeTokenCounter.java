@@ -0,0 +1,154 @@
+package com.clause.app.domain.llm.token;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * tiktoken 형식(줄마다 "base64 토큰 rank")의 BPE 어휘 파일로 토큰 수를 센다. 네트워크 없이 동작한다.
+ * 어휘 파일이 없으면 기본적으로 시작에 실패한다. require-vocabulary=false일 때만 문자 종류별 근사치로 대신 계산한다.
+ */
+@Slf4j
+@Component
+public class BpeTokenCounter implements TokenCounter {
+
+    // cl100k_base 사전 분할 패턴
+    private static final Pattern PRE_TOKENIZER = Pattern.compile(
+            "'(?i:[sdmt]|ll|ve|re)|[^\\r\\n\\p{L}\\p{N}]?+\\p{L}+|\\p{N}{1,3}| ?[^\\s\\p{L}\\p{N}]++[\\r\\n]*|\\s*[\\r\\n]|\\s+(?!\\S)|\\s+");
+
+    private static final int MAX_CACHED_PIECES = 50_000;
+
+    // 키는 토큰 바이트를 ISO-8859-1로 1:1 매핑한 문자열
+    private final Map<String, Integer> ranks;
+    private final Map<String, Integer> pieceCache = new ConcurrentHashMap<>();
+
+    public BpeTokenCounter(
+            ResourceLoader resourceLoader,
+            @Value("${clause.llm.tokenizer.vocab-path:classpath:tokenizer/cl100k_base.tiktoken}") String vocabPath,
+            @Value("${clause.llm.tokenizer.require-vocabulary:true}") boolean requireVocabulary) {
+        this.ranks = loadRanks(resourceLoader.getResource(vocabPath), vocabPath, requireVocabulary);
+    }
+
+    public boolean isVocabularyLoaded() {
+        return ranks != null;
+    }
+
+    @Override
+    public int count(String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        if (ranks == null) {
+            return estimate(text);
+        }
+
+        int tokens = 0;
+        Matcher matcher = PRE_TOKENIZER.matcher(text);
+        while (matcher.find()) {
+            String piece = new String(matcher.group().getBytes(StandardCharsets.UTF_8), StandardCharsets.ISO_8859_1);
+            Integer cached = pieceCache.get(piece);
+            if (cached == null) {
+                cached = countPiece(piece);
+                if (pieceCache.size() < MAX_CACHED_PIECES) {
+                    pieceCache.put(piece, cached);
+                }
+            }
+            tokens += cached;
+        }
+        return tokens;
+    }
+
+    private int countPiece(String piece) {
+        if (ranks.containsKey(piece)) {
+            return 1;
+        }
+
+        List<String> parts = new ArrayList<>(piece.length());
+        for (int i = 0; i < piece.length(); i++) {
+            parts.add(String.valueOf(piece.charAt(i)));
+        }
+
+        // 가장 낮은 rank의 인접 쌍부터 병합한다.
+        while (parts.size() > 1) {
+            int bestRank = Integer.MAX_VALUE;
+            int bestIndex = -1;
+            for (int i = 0; i < parts.size() - 1; i++) {
+                Integer rank = ranks.get(parts.get(i) + parts.get(i + 1));
+                if (rank != null && rank < bestRank) {
+                    bestRank = rank;
+                    bestIndex = i;
+                }
+            }
+            if (bestIndex < 0) {
+                break;
+            }
+            parts.set(bestIndex, parts.get(bestIndex) + parts.remove(bestIndex + 1));
+        }
+        return parts.size();
+    }
+
+    /**
+     * 어휘 파일이 없을 때의 근사치. ASCII는 4자당 1토큰, 그 밖의 문자(한글 등)는 글자당 1토큰으로 본다.
+     */
+    static int estimate(String text) {
+        int ascii = 0;
+        int other = 0;
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            if (codePoint < 128) {
+                ascii++;
+            } else {
+                other++;
+            }
+            i += Character.charCount(codePoint);
+        }
+        return (ascii + 3) / 4 + other;
+    }
+
+    private static Map<String, Integer> loadRanks(Resource resource, String vocabPath, boolean requireVocabulary) {
+        if (!resource.exists()) {
+            // 토큰 예산, 출력 토큰 산정, 모델 티어 판단이 모두 근사치로 돌게 되므로 조용히 넘어가지 않는다.
+            if (requireVocabulary) {
+                throw new IllegalStateException("BPE vocabulary not found: " + vocabPath
+                        + " (set clause.llm.tokenizer.require-vocabulary=false to run on heuristic estimates)");
+            }
+            log.warn("BPE vocabulary not found at {}. Token budget, output sizing and model tier decisions "
+                    + "will use heuristic estimates.", vocabPath);
+            return null;
+        }
+
+        Map<String, Integer> loaded = new HashMap<>();
+        Base64.Decoder decoder = Base64.getDecoder();
+        try (InputStream is = resource.getInputStream();
+             BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.US_ASCII))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                int space = line.indexOf(' ');
+                byte[] token = decoder.decode(line.substring(0, space));
+                loaded.put(new String(token, StandardCharsets.ISO_8859_1), Integer.parseInt(line.substring(space + 1).trim()));
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to load BPE vocabulary: " + vocabPath, e);
+        }
+        log.info("Loaded BPE vocabulary with {} tokens from {}", loaded.size(), vocabPath);
+        return Map.copyOf(loaded);
+    }
+}
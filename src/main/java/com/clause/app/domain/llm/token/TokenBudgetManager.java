@@ -0,0 +1,135 @@
+package com.clause.app.domain.llm.token;
+
+import com.clause.app.domain.rules.model.ClauseCandidate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 입력 토큰 예산 안에 들어가도록 LLM에 보낼 후보 조항을 고르고, 항목 수에 맞춰 max_tokens를 정한다.
+ */
+@Slf4j
+@Component
+public class TokenBudgetManager {
+
+    // 채팅 메시지 구분자 등 본문 외에 붙는 토큰의 대략적인 값
+    private static final int MESSAGE_OVERHEAD_TOKENS = 12;
+    private static final String TRUNCATION_MARKER = "\n...(이하 생략)";
+
+    // 점수가 낮은 후보부터, 점수가 같으면 긴 후보부터 뺀다.
+    private static final Comparator<ClauseCandidate> DROP_ORDER = Comparator
+            .comparingInt(ClauseCandidate::getTotalScore)
+            .thenComparing(Comparator.comparingInt(TokenBudgetManager::textLength).reversed());
+
+    private final TokenCounter tokenCounter;
+    private final int maxInputTokens;
+    private final int baseOutputTokens;
+    private final int outputTokensPerItem;
+    private final int maxOutputTokens;
+
+    public TokenBudgetManager(
+            TokenCounter tokenCounter,
+            @Value("${clause.llm.budget.max-input-tokens:12000}") int maxInputTokens,
+            @Value("${clause.llm.budget.base-output-tokens:600}") int baseOutputTokens,
+            @Value("${clause.llm.budget.output-tokens-per-item:350}") int outputTokensPerItem,
+            @Value("${clause.llm.budget.max-output-tokens:4000}") int maxOutputTokens) {
+        this.tokenCounter = tokenCounter;
+        this.maxInputTokens = maxInputTokens;
+        this.baseOutputTokens = baseOutputTokens;
+        this.outputTokensPerItem = outputTokensPerItem;
+        this.maxOutputTokens = maxOutputTokens;
+    }
+
+    /**
+     * 캐시 키에 넣는 예산 설정. 예: "12000/600/350/4000"
+     */
+    public String signature() {
+        return maxInputTokens + "/" + baseOutputTokens + "/" + outputTokensPerItem + "/" + maxOutputTokens;
+    }
+
+    public int count(String text) {
+        return tokenCounter.count(text);
+    }
+
+    /**
+     * fixedTokens(시스템/개발자 프롬프트)와 renderer로 만든 사용자 프롬프트의 합이 예산을 넘지 않도록 후보를 줄인다.
+     * 후보가 하나만 남았는데도 넘치면 그 조항 본문을 잘라낸다.
+     */
+    public FittedPrompt fit(List<ClauseCandidate> candidates, int fixedTokens,
+                            Function<List<ClauseCandidate>, String> renderer) {
+        List<ClauseCandidate> selected = new ArrayList<>(candidates);
+        String prompt = renderer.apply(selected);
+        int tokens = total(fixedTokens, prompt);
+
+        while (tokens > maxInputTokens && selected.size() > 1) {
+            ClauseCandidate dropped = selected.stream().min(DROP_ORDER).orElseThrow();
+            selected.remove(dropped);
+            prompt = renderer.apply(selected);
+            tokens = total(fixedTokens, prompt);
+        }
+
+        if (tokens > maxInputTokens && selected.size() == 1) {
+            ClauseCandidate only = selected.get(0);
+            String text = only.getText() != null ? only.getText() : "";
+            int low = 0;
+            int high = text.length();
+            ClauseCandidate best = withText(only, "");
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                ClauseCandidate trial = withText(only, text.substring(0, mid) + TRUNCATION_MARKER);
+                String trialPrompt = renderer.apply(List.of(trial));
+                int trialTokens = total(fixedTokens, trialPrompt);
+                if (trialTokens <= maxInputTokens) {
+                    best = trial;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            selected = List.of(best);
+            prompt = renderer.apply(selected);
+            tokens = total(fixedTokens, prompt);
+            if (tokens > maxInputTokens) {
+                log.warn("Prompt exceeds input token budget even without clause text: {} > {}", tokens, maxInputTokens);
+            }
+        }
+
+        if (selected.size() < candidates.size()) {
+            log.info("Token budget: kept {}/{} candidates, estimated input tokens {} (budget {})",
+                    selected.size(), candidates.size(), tokens, maxInputTokens);
+        }
+        return new FittedPrompt(List.copyOf(selected), prompt, tokens);
+    }
+
+    public int maxOutputTokens(int itemCount) {
+        return Math.min(maxOutputTokens, baseOutputTokens + outputTokensPerItem * itemCount);
+    }
+
+    private int total(int fixedTokens, String prompt) {
+        return fixedTokens + tokenCounter.count(prompt) + MESSAGE_OVERHEAD_TOKENS;
+    }
+
+    private static int textLength(ClauseCandidate candidate) {
+        return candidate.getText() != null ? candidate.getText().length() : 0;
+    }
+
+    private static ClauseCandidate withText(ClauseCandidate candidate, String text) {
+        return ClauseCandidate.builder()
+                .id(candidate.getId())
+                .title(candidate.getTitle())
+                .text(text)
+                .startIndex(candidate.getStartIndex())
+                .endIndex(candidate.getEndIndex())
+                .ruleTriggers(candidate.getRuleTriggers())
+                .totalScore(candidate.getTotalScore())
+                .categoryScores(candidate.getCategoryScores())
+                .build();
+    }
+
+    public record FittedPrompt(List<ClauseCandidate> candidates, String userPrompt, int estimatedTokens) {}
+}
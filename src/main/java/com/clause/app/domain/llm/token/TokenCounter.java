@@ -0,0 +1,9 @@
+package com.clause.app.domain.llm.token;
+
+public interface TokenCounter {
+
+    /**
+     * 텍스트를 모델 입력으로 보냈을 때의 토큰 수를 센다.
+     */
+    int count(String text);
+}
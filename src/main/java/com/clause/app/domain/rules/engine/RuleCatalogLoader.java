@@ -11,7 +11,9 @@ import org.springframework.core.io.ResourceLoader;
 import org.springframework.stereotype.Component;
 import org.yaml.snakeyaml.Yaml;
 
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.security.MessageDigest;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -23,6 +25,7 @@ public class RuleCatalogLoader {
     private final ObjectMapper objectMapper;
     private final String rulesPath;
     private List<RulePattern> rules;
+    private String catalogVersion;
 
     public RuleCatalogLoader(
             ResourceLoader resourceLoader,
@@ -38,6 +41,10 @@ public class RuleCatalogLoader {
         return rules;
     }
 
+    public String getCatalogVersion() {
+        return catalogVersion;
+    }
+
     public int getTotalRegexCount() {
         return rules.stream()
                 .mapToInt(r -> r.getRegex() != null ? r.getRegex().size() : 0)
@@ -51,23 +58,33 @@ public class RuleCatalogLoader {
                 throw new IllegalStateException("Rules file not found: " + rulesPath);
             }
 
-            Yaml yaml = new Yaml();
+            byte[] content;
             try (InputStream inputStream = resource.getInputStream()) {
-                Map<String, Object> data = yaml.load(inputStream);
-                List<Map<String, Object>> rulesList = (List<Map<String, Object>>) data.get("rules");
+                content = inputStream.readAllBytes();
+            }
 
-                rules = rulesList.stream()
-                        .map(this::mapToRulePattern)
-                        .collect(Collectors.toList());
+            Yaml yaml = new Yaml();
+            Map<String, Object> data = yaml.load(new ByteArrayInputStream(content));
+            List<Map<String, Object>> rulesList = (List<Map<String, Object>>) data.get("rules");
 
-                log.info("Loaded {} rules with {} total regex patterns", rules.size(), getTotalRegexCount());
-            }
+            rules = rulesList.stream()
+                    .map(this::mapToRulePattern)
+                    .collect(Collectors.toList());
+            catalogVersion = data.get("version") + "-" + shortHash(content);
+
+            log.info("Loaded {} rules with {} total regex patterns (catalog version {})",
+                    rules.size(), getTotalRegexCount(), catalogVersion);
         } catch (Exception e) {
             log.error("Failed to load rules from {}", rulesPath, e);
             throw new IllegalStateException("Failed to load rules", e);
         }
     }
 
+    private String shortHash(byte[] content) throws Exception {
+        byte[] hash = MessageDigest.getInstance("SHA-256").digest(content);
+        return HexFormat.of().formatHex(hash, 0, 6);
+    }
+
     private RulePattern mapToRulePattern(Map<String, Object> map) {
         RulePattern.RulePatternBuilder builder = RulePattern.builder()
                 .id((String) map.get("id"))
@@ -1,21 +1,30 @@
 package com.clause.app.web;
 
 import com.clause.app.common.ApiResponse;
+import com.clause.app.common.ClauseException;
+import com.clause.app.common.ErrorCode;
 import com.clause.app.common.RateLimitGuard;
+import com.clause.app.domain.analysis.dto.AnalysisPayload;
 import com.clause.app.domain.analysis.dto.AnalysisRequest;
 import com.clause.app.domain.analysis.dto.AnalysisResponse;
 import com.clause.app.domain.analysis.entity.AnalysisResult;
+import com.clause.app.domain.analysis.service.AnalysisCoalescer;
+import com.clause.app.domain.analysis.service.AnalysisPayloadCodec;
 import com.clause.app.domain.analysis.service.AnalysisService;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.clause.app.domain.analysis.service.IdempotencyService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -25,20 +34,63 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class AnalysisController {
 
+    private static final long STREAM_TIMEOUT_MS = 5 * 60 * 1000L;
+
     private final AnalysisService analysisService;
+    private final AnalysisCoalescer analysisCoalescer;
+    private final IdempotencyService idempotencyService;
     private final RateLimitGuard rateLimitGuard;
     private final ObjectMapper objectMapper;
+    private final AnalysisPayloadCodec payloadCodec;
+    private final ThreadPoolTaskExecutor analysisStreamExecutor;
 
     @PostMapping
     public ApiResponse<AnalysisResponse> analyze(
             @Valid @RequestBody AnalysisRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             HttpServletRequest httpRequest) {
-        rateLimitGuard.check(getClientIdentifier(httpRequest));
+        String clientId = getClientIdentifier(httpRequest);
+        rateLimitGuard.check(clientId);
 
-        AnalysisResult result = analysisService.analyze(request);
-        AnalysisResponse response = convertToResponse(result);
+        if (idempotencyKey == null) {
+            AnalysisResult result = analysisCoalescer.execute(request, () -> analysisService.analyze(request));
+            return ApiResponse.success(convertToResponse(result));
+        }
 
-        return ApiResponse.success(response);
+        Optional<UUID> completedAnalysisId = idempotencyService.claim(clientId, idempotencyKey, request);
+        if (completedAnalysisId.isPresent()) {
+            return ApiResponse.success(convertToResponse(analysisService.getAnalysis(completedAnalysisId.get())));
+        }
+
+        AnalysisResult result;
+        try {
+            result = analysisCoalescer.execute(request, () -> analysisService.analyze(request));
+        } catch (RuntimeException | Error e) {
+            idempotencyService.release(clientId, idempotencyKey);
+            throw e;
+        }
+        // 실패한 분석은 기록하지 않아 같은 키로 다시 시도할 수 있게 한다.
+        if ("FAILED".equals(result.getStatus())) {
+            idempotencyService.release(clientId, idempotencyKey);
+        } else {
+            idempotencyService.complete(clientId, idempotencyKey, result.getId());
+        }
+        return ApiResponse.success(convertToResponse(result));
+    }
+
+    @PostMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter analyzeStream(
+            @Valid @RequestBody AnalysisRequest request,
+            HttpServletRequest httpRequest) {
+        rateLimitGuard.check(getClientIdentifier(httpRequest));
+
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        try {
+            analysisStreamExecutor.execute(() -> streamAnalysis(request, emitter));
+        } catch (TaskRejectedException e) {
+            throw new ClauseException(ErrorCode.RATE_LIMITED);
+        }
+        return emitter;
     }
 
     @GetMapping("/{id}")
@@ -82,37 +134,42 @@ public class AnalysisController {
         return ApiResponse.success(responses);
     }
 
+    private void streamAnalysis(AnalysisRequest request, SseEmitter emitter) {
+        try {
+            AnalysisResult result = analysisService.analyzeStreaming(request, item ->
+                    sendEvent(emitter, "item", objectMapper.convertValue(item, AnalysisResponse.AnalysisItem.class)));
+            sendEvent(emitter, "result", ApiResponse.success(convertToResponse(result)));
+        } catch (ClauseException e) {
+            log.warn("Streaming analysis failed: {} - {}", e.getErrorCode(), e.getMessage());
+            sendEvent(emitter, "error", ApiResponse.error(e.getErrorCode(), e.getMessage(), e.getDetails()));
+        } catch (Exception e) {
+            log.error("Streaming analysis failed", e);
+            sendEvent(emitter, "error", ApiResponse.error(ErrorCode.INTERNAL_ERROR, ErrorCode.INTERNAL_ERROR.getDefaultMessage()));
+        } finally {
+            emitter.complete();
+        }
+    }
+
+    private void sendEvent(SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+        } catch (Exception e) {
+            log.debug("SSE client disconnected while sending '{}': {}", name, e.getMessage());
+        }
+    }
+
     private AnalysisResponse convertToResponse(AnalysisResult result) {
         try {
             AnalysisResponse.AnalysisResponseBuilder builder = AnalysisResponse.builder()
                     .analysisId(result.getId())
+                    .status(result.getStatus())
                     .disclaimer(result.getDisclaimer());
 
-            if (result.getOverallSummaryJson() != null) {
-                JsonNode summaryNode = objectMapper.readTree(result.getOverallSummaryJson());
-                AnalysisResponse.OverallSummary summary = AnalysisResponse.OverallSummary.builder()
-                        .warningCount(summaryNode.has("warning_count") ? summaryNode.get("warning_count").asInt() : 0)
-                        .checkCount(summaryNode.has("check_count") ? summaryNode.get("check_count").asInt() : 0)
-                        .okCount(summaryNode.has("ok_count") ? summaryNode.get("ok_count").asInt() : 0)
-                        .keyPoints(summaryNode.has("key_points") && summaryNode.get("key_points").isArray() ?
-                                objectMapper.convertValue(summaryNode.get("key_points"), List.class) : List.of())
-                        .build();
-                builder.overallSummary(summary);
-            }
-
-            if (result.getItemsJson() != null) {
-                JsonNode itemsNode = objectMapper.readTree(result.getItemsJson());
-                List<AnalysisResponse.AnalysisItem> items = objectMapper.convertValue(
-                        itemsNode, 
-                        new TypeReference<List<AnalysisResponse.AnalysisItem>>() {}
-                );
-                builder.items(items);
-            }
-
-            if (result.getNegotiationSuggestionsJson() != null) {
-                JsonNode suggestionsNode = objectMapper.readTree(result.getNegotiationSuggestionsJson());
-                List<String> suggestions = objectMapper.convertValue(suggestionsNode, List.class);
-                builder.negotiationSuggestions(suggestions);
+            AnalysisPayload payload = payloadCodec.read(result);
+            if (payload != null) {
+                builder.overallSummary(payload.overallSummary())
+                        .items(payload.items())
+                        .negotiationSuggestions(payload.negotiationSuggestions());
             }
 
             return builder.build();
@@ -0,0 +1,159 @@
+package db.migration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * 기존 행의 JSON 컬럼(overall_summary_json, items_json, negotiation_suggestions_json, rule_triggers_json)을
+ * payload 형식 버전 1로 옮겨 채운다. JSON 컬럼은 그대로 두고, 제거는 payload를 검증한 뒤 다음 릴리스에서 한다.
+ * 이미 적용된 마이그레이션이 애플리케이션 코드 변경에 따라 달라지지 않도록 AnalysisPayloadCodec이나 응답 DTO를 쓰지 않고
+ * 버전 1의 필드 이름과 인코딩을 여기에 고정해 둔다. 읽을 수 없는 행은 로그를 남기고 건너뛴다(payload는 null로 남고
+ * 조회는 JSON 컬럼으로 대신한다).
+ */
+@Slf4j
+public class V8__Backfill_analysis_payload extends BaseJavaMigration {
+
+    private static final int FORMAT_VERSION = 1;
+    private static final int BATCH_SIZE = 200;
+
+    private static final List<String> ITEM_STRING_FIELDS = List.of("clause_id", "title", "label", "risk_reason");
+    private static final List<String> ITEM_ARRAY_FIELDS = List.of("what_to_confirm", "soft_suggestion", "triggers");
+
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+    private final ObjectMapper smileMapper = new ObjectMapper(SmileFactory.builder()
+            .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+            .build());
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        int migrated = 0;
+        int skipped = 0;
+        try (Statement select = context.getConnection().createStatement();
+             PreparedStatement update = context.getConnection().prepareStatement(
+                     "UPDATE analysis_result SET payload = ? WHERE id = ?")) {
+            select.setFetchSize(BATCH_SIZE);
+            try (ResultSet rows = select.executeQuery(
+                    "SELECT id, overall_summary_json, items_json, negotiation_suggestions_json, rule_triggers_json "
+                            + "FROM analysis_result WHERE payload IS NULL")) {
+                int pending = 0;
+                while (rows.next()) {
+                    Object id = rows.getObject("id");
+                    byte[] payload;
+                    try {
+                        payload = encode(rows.getString("overall_summary_json"), rows.getString("items_json"),
+                                rows.getString("negotiation_suggestions_json"), rows.getString("rule_triggers_json"));
+                    } catch (Exception e) {
+                        log.warn("Skipping analysis_result {} in payload backfill: {}", id, e.getMessage());
+                        skipped++;
+                        continue;
+                    }
+                    if (payload == null) {
+                        continue;
+                    }
+
+                    update.setBytes(1, payload);
+                    update.setObject(2, id);
+                    update.addBatch();
+                    migrated++;
+                    if (++pending == BATCH_SIZE) {
+                        update.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    update.executeBatch();
+                }
+            }
+        }
+        log.info("Analysis payload backfill: {} rows migrated, {} rows skipped", migrated, skipped);
+    }
+
+    // 본문 컬럼이 모두 비어 있으면 null
+    byte[] encode(String overallSummaryJson, String itemsJson, String negotiationSuggestionsJson,
+                  String ruleTriggersJson) throws IOException {
+        if (overallSummaryJson == null && itemsJson == null && negotiationSuggestionsJson == null && ruleTriggersJson == null) {
+            return null;
+        }
+
+        JsonNodeFactory nodes = JsonNodeFactory.instance;
+        ObjectNode payload = nodes.objectNode();
+        JsonNode summary = readTree(overallSummaryJson);
+        if (summary != null && !summary.isNull()) {
+            ObjectNode summaryNode = payload.putObject("overallSummary");
+            summaryNode.put("warningCount", summary.path("warning_count").asInt(0));
+            summaryNode.put("checkCount", summary.path("check_count").asInt(0));
+            summaryNode.put("okCount", summary.path("ok_count").asInt(0));
+            summaryNode.set("keyPoints", strings(summary.get("key_points")));
+        }
+        JsonNode items = readTree(itemsJson);
+        if (items != null && items.isArray()) {
+            ArrayNode itemsNode = payload.putArray("items");
+            for (JsonNode item : items) {
+                if (!item.isObject()) {
+                    throw new IOException("items element is not an object");
+                }
+                ObjectNode itemNode = itemsNode.addObject();
+                for (String field : ITEM_STRING_FIELDS) {
+                    JsonNode value = item.get(field);
+                    if (value != null && !value.isNull()) {
+                        itemNode.put(field, value.asText());
+                    }
+                }
+                for (String field : ITEM_ARRAY_FIELDS) {
+                    JsonNode value = item.get(field);
+                    if (value != null && value.isArray()) {
+                        itemNode.set(field, strings(value));
+                    }
+                }
+            }
+        }
+        JsonNode negotiationSuggestions = readTree(negotiationSuggestionsJson);
+        if (negotiationSuggestions != null) {
+            payload.set("negotiationSuggestions", strings(negotiationSuggestions));
+        }
+        JsonNode ruleTriggers = readTree(ruleTriggersJson);
+        if (ruleTriggers != null) {
+            payload.set("ruleTriggers", strings(ruleTriggers));
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+        bytes.write(FORMAT_VERSION);
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try (OutputStream out = new DeflaterOutputStream(bytes, deflater)) {
+            smileMapper.writeValue(out, payload);
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    private JsonNode readTree(String json) throws IOException {
+        return json != null ? jsonMapper.readTree(json) : null;
+    }
+
+    private static ArrayNode strings(JsonNode array) {
+        ArrayNode values = JsonNodeFactory.instance.arrayNode();
+        if (array != null && array.isArray()) {
+            array.forEach(value -> values.add(value.asText()));
+        }
+        return values;
+    }
+}
@@ -0,0 +1,4 @@
+-- 분석 결과 캐시 키 (문서 텍스트 해시 + 분석 파라미터 + 룰 카탈로그 버전 + 모델)
+ALTER TABLE analysis_result ADD COLUMN cache_key VARCHAR(64);
+
+CREATE INDEX idx_analysis_result_cache_key_created_at ON analysis_result(cache_key, created_at DESC);
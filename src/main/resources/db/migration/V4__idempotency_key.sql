@@ -0,0 +1,11 @@
+-- 분석 요청 멱등성 키 (Idempotency-Key 헤더)
+CREATE TABLE idempotency_key (
+    idem_key VARCHAR(100) PRIMARY KEY,
+    request_hash VARCHAR(64) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    analysis_id UUID,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_idempotency_key_expires_at ON idempotency_key(expires_at);
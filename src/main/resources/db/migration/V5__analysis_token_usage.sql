@@ -0,0 +1,4 @@
+-- LLM 토큰 사용량 (cached_prompt_tokens: 공급자 프롬프트 캐시에서 재사용된 입력 토큰)
+ALTER TABLE analysis_result ADD COLUMN prompt_tokens INTEGER;
+ALTER TABLE analysis_result ADD COLUMN completion_tokens INTEGER;
+ALTER TABLE analysis_result ADD COLUMN cached_prompt_tokens INTEGER;
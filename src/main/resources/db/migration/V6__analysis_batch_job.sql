@@ -0,0 +1,17 @@
+-- LLM 배치 재분석 작업 (provider_batch_id: 공급자 배치 ID)
+CREATE TABLE analysis_batch_job (
+    id UUID PRIMARY KEY,
+    provider_batch_id VARCHAR(100),
+    status VARCHAR(20) NOT NULL,
+    request_count INTEGER NOT NULL DEFAULT 0,
+    error_message VARCHAR(500),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMP
+);
+
+CREATE INDEX idx_analysis_batch_job_status ON analysis_batch_job(status);
+
+-- 배치로 분석 중이거나 분석된 결과의 배치 작업
+ALTER TABLE analysis_result ADD COLUMN batch_job_id UUID;
+
+CREATE INDEX idx_analysis_result_batch_job_id ON analysis_result(batch_job_id);
@@ -0,0 +1,2 @@
+-- 분석 결과 본문: 형식 버전 1바이트 + Smile(deflate) (AnalysisPayloadCodec)
+ALTER TABLE analysis_result ADD COLUMN payload BYTEA;
@@ -0,0 +1,3 @@
+-- DEGRADED 재분석 시도 횟수와 인스턴스 간 점유(만료 시각)
+ALTER TABLE analysis_result ADD COLUMN upgrade_attempts INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE analysis_result ADD COLUMN upgrade_claimed_until TIMESTAMP;
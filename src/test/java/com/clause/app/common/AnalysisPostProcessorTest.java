@@ -0,0 +1,155 @@
+package com.clause.app.common;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.InputStream;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 기록된 LLM 응답으로 한 번에 도는 후처리와 예전 체인(validate → sanitize → guard → 라벨 집계)의 결과를 비교한다.
+ */
+class AnalysisPostProcessorTest {
+
+    private static final List<String> STORED_FIELDS =
+            List.of("overall_summary", "items", "negotiation_suggestions", "disclaimer");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SchemaValidator schemaValidator = new SchemaValidator(objectMapper);
+    private final ForbiddenPhraseGuard forbiddenPhraseGuard = new ForbiddenPhraseGuard(objectMapper,
+            new DefaultResourceLoader(), "classpath:guard/forbidden-phrases.txt", ForbiddenPhraseGuard.Mode.SENTENCE);
+    private final AnalysisPostProcessor postProcessor =
+            new AnalysisPostProcessor(objectMapper, schemaValidator, forbiddenPhraseGuard);
+    private final LegacyAnalysisChain legacyChain =
+            new LegacyAnalysisChain(objectMapper, schemaValidator, forbiddenPhraseGuard);
+
+    @Test
+    void testMatchesLegacyChainOnRecordedOutputs() throws Exception {
+        for (JsonNode recorded : loadRecorded()) {
+            String name = recorded.get("name").asText();
+            ObjectNode legacyInput = recorded.get("response").deepCopy();
+            ObjectNode fusedInput = recorded.get("response").deepCopy();
+
+            SchemaValidator.ValidationResult validation = legacyChain.validate(legacyInput);
+            ObjectNode legacy = validation.valid() ? legacyInput : legacyChain.sanitize(legacyInput);
+            legacy = legacyCount(legacyChain.guard(legacy));
+
+            AnalysisPostProcessor.Result fused = postProcessor.process(fusedInput, true);
+
+            assertThat(fused.errors()).as(name).isEqualTo(validation.errors());
+            assertSameStoredFields(name, fused.root(), legacy);
+        }
+    }
+
+    @Test
+    void testMatchesLegacyChainWithoutValidation() throws Exception {
+        for (JsonNode recorded : loadRecorded()) {
+            if (!legacyChain.validate(recorded.get("response")).valid()) {
+                continue;
+            }
+            String name = recorded.get("name").asText();
+            ObjectNode legacy = legacyCount(legacyChain.guard(recorded.get("response")));
+
+            AnalysisPostProcessor.Result fused = postProcessor.process(recorded.get("response").deepCopy(), false);
+
+            assertThat(fused.valid()).as(name).isTrue();
+            assertSameStoredFields(name, fused.root(), legacy);
+        }
+    }
+
+    @Test
+    void testTruncatesOverlongFieldsWithoutValidation() throws Exception {
+        ObjectNode root = (ObjectNode) objectMapper.readTree("""
+                {"overall_summary": {"warning_count": 1, "check_count": 0, "ok_count": 0, "key_points": []},
+                 "items": [{"clause_id": "C-001", "title": "%s", "label": "WARNING", "risk_reason": "%s",
+                            "what_to_confirm": [], "soft_suggestion": [], "triggers": []}],
+                 "negotiation_suggestions": ["%s"],
+                 "disclaimer": ""}
+                """.formatted("제목".repeat(150), "이유".repeat(200), "제안".repeat(150)));
+
+        AnalysisPostProcessor.Result processed = postProcessor.process(root, false);
+
+        JsonNode item = processed.root().get("items").get(0);
+        assertThat(processed.valid()).isTrue();
+        assertThat(item.get("title").asText()).hasSize(AnalysisSchema.MAX_TITLE_LENGTH);
+        assertThat(item.get("risk_reason").asText()).hasSize(AnalysisSchema.MAX_RISK_REASON_LENGTH);
+        assertThat(processed.root().get("negotiation_suggestions").get(0).asText())
+                .hasSize(AnalysisSchema.MAX_SUGGESTION_LENGTH);
+    }
+
+    @Test
+    void testGuardsForbiddenPhrasesInSinglePass() throws Exception {
+        ObjectNode root = (ObjectNode) objectMapper.readTree("""
+                {"overall_summary": {"warning_count": 1, "check_count": 0, "ok_count": 0,
+                                     "key_points": ["이 조항은 불법입니다."]},
+                 "items": [{"clause_id": "C-001", "title": "제8조", "label": "WARNING",
+                            "risk_reason": "이것은 반드시 위법입니다.", "what_to_confirm": ["확인사항"],
+                            "soft_suggestion": ["절대 하지 마세요"], "triggers": ["TEST"]}],
+                 "negotiation_suggestions": ["확실히 조정하세요"],
+                 "disclaimer": "면책"}
+                """);
+
+        AnalysisPostProcessor.Result processed = postProcessor.process(root, true);
+
+        JsonNode item = processed.root().get("items").get(0);
+        assertThat(processed.root().get("overall_summary").get("key_points").get(0).asText())
+                .isEqualTo(ForbiddenPhraseGuard.KEY_POINT_REPLACEMENT);
+        assertThat(item.get("label").asText()).isEqualTo("CHECK");
+        assertThat(item.get("triggers")).extracting(JsonNode::asText).contains("FORBIDDEN_PHRASE");
+        // 라벨이 바뀐 뒤의 개수로 다시 센다.
+        assertThat(processed.root().get("overall_summary").get("warning_count").asInt()).isZero();
+        assertThat(processed.root().get("overall_summary").get("check_count").asInt()).isEqualTo(1);
+    }
+
+    private void assertSameStoredFields(String name, ObjectNode actual, ObjectNode expected) throws Exception {
+        for (String field : STORED_FIELDS) {
+            assertThat(objectMapper.writeValueAsString(actual.get(field)))
+                    .as(name + " " + field)
+                    .isEqualTo(objectMapper.writeValueAsString(expected.get(field)));
+        }
+    }
+
+    private JsonNode loadRecorded() throws Exception {
+        try (InputStream in = new ClassPathResource("llm-outputs/recorded-analyses.json").getInputStream()) {
+            return objectMapper.readTree(in);
+        }
+    }
+
+    // AnalysisService.postProcess의 예전 구현
+    private ObjectNode legacyCount(ObjectNode root) {
+        JsonNode items = root.get("items");
+        if (items != null && items.isArray()) {
+            int warningCount = 0;
+            int checkCount = 0;
+            int okCount = 0;
+            for (JsonNode item : items) {
+                JsonNode labelNode = item.get("label");
+                if (labelNode != null && !labelNode.isNull()) {
+                    String label = labelNode.asText();
+                    if ("WARNING".equals(label)) warningCount++;
+                    else if ("CHECK".equals(label)) checkCount++;
+                    else if ("OK".equals(label)) okCount++;
+                }
+            }
+            JsonNode summaryNode = root.get("overall_summary");
+            ObjectNode summary;
+            if (summaryNode != null && summaryNode.isObject()) {
+                summary = (ObjectNode) summaryNode;
+            } else {
+                summary = objectMapper.createObjectNode();
+                root.set("overall_summary", summary);
+            }
+            summary.put("warning_count", warningCount);
+            summary.put("check_count", checkCount);
+            summary.put("ok_count", okCount);
+        }
+        root.put("disclaimer", "Clause는 법률 자문이 아니며, 정보 제공 목적입니다. 중요한 계약은 전문가 상담을 권장드립니다.");
+        return root;
+    }
+}
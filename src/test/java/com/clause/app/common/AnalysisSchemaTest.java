@@ -0,0 +1,80 @@
+package com.clause.app.common;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnalysisSchemaTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AnalysisPostProcessor postProcessor = new AnalysisPostProcessor(objectMapper,
+            new SchemaValidator(objectMapper), new ForbiddenPhraseGuard(objectMapper, new DefaultResourceLoader(),
+                    "classpath:guard/forbidden-phrases.txt", ForbiddenPhraseGuard.Mode.SENTENCE));
+
+    @Test
+    void testResponseFormatIsStrictAndMatchesValidatorFields() throws Exception {
+        JsonNode format = objectMapper.readTree(AnalysisSchema.responseFormat());
+        assertThat(format.get("type").asText()).isEqualTo("json_schema");
+        assertThat(format.get("json_schema").get("strict").asBoolean()).isTrue();
+
+        JsonNode item = format.get("json_schema").get("schema").get("properties").get("items").get("items");
+        assertThat(texts(item.get("required")))
+                .containsExactlyElementsOf(AnalysisSchema.ITEM_FIELDS.stream().map(AnalysisSchema.Field::name).toList());
+        assertThat(texts(item.get("properties").get("label").get("enum"))).isEqualTo(AnalysisSchema.LABELS);
+    }
+
+    @Test
+    void testSanitizedDefaultsSatisfyResponseFormat() throws Exception {
+        ObjectNode root = objectMapper.createObjectNode();
+        root.putArray("items").addObject();
+        assertThat(postProcessor.process(root, true).valid()).isFalse();
+
+        assertThat(postProcessor.process(root, true).valid()).isTrue();
+        JsonNode schema = objectMapper.readTree(AnalysisSchema.responseFormat()).get("json_schema").get("schema");
+        assertConforms("$", root, schema);
+    }
+
+    // strict 모드에서 쓰는 부분집합(type, required, additionalProperties, enum, items)만 확인한다.
+    private void assertConforms(String path, JsonNode value, JsonNode schema) {
+        switch (schema.get("type").asText()) {
+            case "object" -> {
+                assertThat(value.isObject()).as(path).isTrue();
+                assertThat(texts(schema.get("required"))).as(path)
+                        .containsExactlyInAnyOrderElementsOf(fieldNames(value));
+                schema.get("properties").fields().forEachRemaining(property ->
+                        assertConforms(path + "." + property.getKey(), value.get(property.getKey()), property.getValue()));
+            }
+            case "array" -> {
+                assertThat(value.isArray()).as(path).isTrue();
+                value.forEach(element -> assertConforms(path + "[]", element, schema.get("items")));
+            }
+            case "string" -> {
+                assertThat(value.isTextual()).as(path).isTrue();
+                if (schema.has("enum")) {
+                    assertThat(texts(schema.get("enum"))).as(path).contains(value.asText());
+                }
+            }
+            case "integer" -> assertThat(value.isIntegralNumber()).as(path).isTrue();
+            default -> throw new AssertionError("Unexpected type at " + path);
+        }
+    }
+
+    private static List<String> texts(JsonNode array) {
+        List<String> texts = new ArrayList<>();
+        array.forEach(node -> texts.add(node.asText()));
+        return texts;
+    }
+
+    private static List<String> fieldNames(JsonNode object) {
+        List<String> names = new ArrayList<>();
+        object.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+}
@@ -2,11 +2,18 @@ package com.clause.app.common;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.DefaultResourceLoader;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 @SpringBootTest
 class ForbiddenPhraseGuardTest {
@@ -60,5 +67,47 @@ class ForbiddenPhraseGuardTest {
         }
         assertThat(hasForbidden).isTrue();
     }
-}
 
+    @Test
+    void testPhraseModeRedactsOnlyMatchedPhrase(@TempDir Path directory) throws Exception {
+        Path dictionary = directory.resolve("phrases.txt");
+        Files.writeString(dictionary, "# 테스트 사전\n반드시=가급적\n불법\n", StandardCharsets.UTF_8);
+        ForbiddenPhraseGuard phraseGuard = new ForbiddenPhraseGuard(objectMapper, new DefaultResourceLoader(),
+                dictionary.toUri().toString(), ForbiddenPhraseGuard.Mode.PHRASE);
+
+        ObjectNode item = objectMapper.createObjectNode();
+        item.put("title", "제3조");
+        item.put("label", "WARNING");
+        item.put("risk_reason", "반드시 확인해야 하는 위약금 조항이에요.");
+        item.putArray("soft_suggestion").add("불법 여부를 물어보세요");
+
+        assertThat(phraseGuard.guardItem(item)).isTrue();
+        assertThat(item.get("title").asText()).isEqualTo("제3조");
+        assertThat(item.get("risk_reason").asText()).isEqualTo("가급적 확인해야 하는 위약금 조항이에요.");
+        // 대체 표현이 없는 표현이 든 문장은 통째로 바꾼다.
+        assertThat(item.get("soft_suggestion").get(0).asText()).isEqualTo(ForbiddenPhraseGuard.SUGGESTION_REPLACEMENT);
+        assertThat(item.get("label").asText()).isEqualTo("CHECK");
+    }
+
+    @Test
+    void testReloadsChangedDictionary(@TempDir Path directory) throws Exception {
+        Path dictionary = directory.resolve("phrases.txt");
+        Files.writeString(dictionary, "불법\n", StandardCharsets.UTF_8);
+        ForbiddenPhraseGuard reloadingGuard = new ForbiddenPhraseGuard(objectMapper, new DefaultResourceLoader(),
+                dictionary.toUri().toString(), ForbiddenPhraseGuard.Mode.SENTENCE);
+        String version = reloadingGuard.getDictionaryVersion();
+
+        assertThat(reloadingGuard.reloadDictionary()).isFalse();
+        assertThat(reloadingGuard.guardText("일방적인 조항이에요.", "대체")).isEqualTo("일방적인 조항이에요.");
+
+        Files.writeString(dictionary, "불법\n일방적\n", StandardCharsets.UTF_8);
+        assertThat(reloadingGuard.reloadDictionary()).isTrue();
+        assertThat(reloadingGuard.getDictionaryVersion()).isNotEqualTo(version);
+        assertThat(reloadingGuard.guardText("일방적인 조항이에요.", "대체")).isEqualTo("대체");
+
+        // 읽을 수 없게 되면 이전 사전을 계속 쓴다.
+        Files.delete(dictionary);
+        assertThat(reloadingGuard.reloadDictionary()).isFalse();
+        assertThat(reloadingGuard.guardText("일방적인 조항이에요.", "대체")).isEqualTo("대체");
+    }
+}
@@ -1,6 +1,9 @@
 package com.clause.app.common;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -31,5 +34,34 @@ class JsonRepairUtilTest {
         String repaired = jsonRepairUtil.extractAndRepair(rawText.replace("'", "\""));
         assertThat(repaired).isNotNull();
     }
-}
 
+    @Test
+    void testTrailingCommasRemovedOnlyOutsideStrings() {
+        String rawText = "{\"items\": [{\"title\": \"갑, }을\", \"tags\": [\"a\", ],}, ], }";
+        ObjectNode root = jsonRepairUtil.extractAndRepairTree(rawText);
+        assertThat(root.get("items").get(0).get("title").asText()).isEqualTo("갑, }을");
+        assertThat(root.get("items").get(0).get("tags")).hasSize(1);
+    }
+
+    @Test
+    void testSmartQuotesReplacedOnlyOutsideStrings() {
+        String rawText = "{\u201Ctitle\u201D: \u201C\"무제한\" 배상\u201D, \"note\": \"\u201C을\u201D의 책임\"}";
+        ObjectNode root = jsonRepairUtil.extractAndRepairTree(rawText);
+        assertThat(root.get("title").asText()).isEqualTo("\"무제한\" 배상");
+        assertThat(root.get("note").asText()).isEqualTo("\u201C을\u201D의 책임");
+    }
+
+    @Test
+    void testStopsAtOutermostObject() {
+        String rawText = "```json\n{\"text\": \"} 닫는 괄호\", \"n\": {\"a\": 1}}\n```\n참고: {추가 설명}";
+        ObjectNode root = jsonRepairUtil.extractAndRepairTree(rawText);
+        assertThat(root.get("text").asText()).isEqualTo("} 닫는 괄호");
+        assertThat(root.get("n").get("a").asInt()).isEqualTo(1);
+    }
+
+    @Test
+    void testRejectsUnterminatedObject() {
+        assertThatThrownBy(() -> jsonRepairUtil.extractAndRepairTree("{\"items\": [{\"title\": \"잘린"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,108 @@
+package com.clause.app.common;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * AnalysisPostProcessor 이전의 후처리 체인(SchemaValidator.validate → sanitize → ForbiddenPhraseGuard.guard)을
+ * 비교 기준으로 고정해 둔 것. 검증/정리의 트리 단위 메서드는 운영 코드에서 지웠고, 금지 표현 검사와 항목 단위 검사는 운영 코드의 것을 그대로 쓴다.
+ */
+class LegacyAnalysisChain {
+
+    private final ObjectMapper objectMapper;
+    private final SchemaValidator schemaValidator;
+    private final ForbiddenPhraseGuard forbiddenPhraseGuard;
+
+    LegacyAnalysisChain(ObjectMapper objectMapper, SchemaValidator schemaValidator,
+                        ForbiddenPhraseGuard forbiddenPhraseGuard) {
+        this.objectMapper = objectMapper;
+        this.schemaValidator = schemaValidator;
+        this.forbiddenPhraseGuard = forbiddenPhraseGuard;
+    }
+
+    SchemaValidator.ValidationResult validate(JsonNode root) {
+        List<String> errors = new ArrayList<>();
+
+        if (!root.has("overall_summary")) {
+            errors.add("Missing 'overall_summary'");
+        } else {
+            JsonNode summary = root.get("overall_summary");
+            if (SchemaValidator.missingCountField(summary)) {
+                errors.add("Missing count fields in overall_summary");
+            }
+            if (summary.has("key_points") && summary.get("key_points").isArray()) {
+                summary.get("key_points").forEach(point -> {
+                    if (point.asText().length() > AnalysisSchema.MAX_KEY_POINT_LENGTH) {
+                        errors.add("key_point exceeds max length");
+                    }
+                });
+            }
+        }
+
+        if (!root.has("items") || !root.get("items").isArray()) {
+            errors.add("Missing or invalid 'items' array");
+        } else {
+            root.get("items").forEach(item -> schemaValidator.validateItem(item, errors));
+        }
+
+        if (!root.has("negotiation_suggestions") || !root.get("negotiation_suggestions").isArray()) {
+            errors.add("Missing or invalid 'negotiation_suggestions'");
+        } else {
+            root.get("negotiation_suggestions").forEach(suggestion -> {
+                if (suggestion.asText().length() > AnalysisSchema.MAX_SUGGESTION_LENGTH) {
+                    errors.add("negotiation_suggestion exceeds max length");
+                }
+            });
+        }
+
+        if (!root.has("disclaimer")) {
+            errors.add("Missing 'disclaimer'");
+        }
+
+        return new SchemaValidator.ValidationResult(errors.isEmpty(), errors);
+    }
+
+    ObjectNode sanitize(ObjectNode root) {
+        schemaValidator.sanitizeSummary(root);
+
+        if (!root.has("items") || !root.get("items").isArray()) {
+            root.set("items", objectMapper.createArrayNode());
+        } else {
+            ArrayNode items = (ArrayNode) root.get("items");
+            for (int i = 0; i < items.size(); i++) {
+                JsonNode item = items.get(i);
+                ObjectNode itemNode = schemaValidator.sanitizeItem(item);
+                if (itemNode != item) {
+                    items.set(i, itemNode);
+                }
+            }
+        }
+
+        if (!root.has("negotiation_suggestions") || !root.get("negotiation_suggestions").isArray()) {
+            root.set("negotiation_suggestions", objectMapper.createArrayNode());
+        } else {
+            ArrayNode suggestions = (ArrayNode) root.get("negotiation_suggestions");
+            for (int i = 0; i < suggestions.size(); i++) {
+                String suggestion = suggestions.get(i).asText();
+                if (suggestion.length() > AnalysisSchema.MAX_SUGGESTION_LENGTH) {
+                    suggestions.set(i, objectMapper.valueToTree(suggestion.substring(0, AnalysisSchema.MAX_SUGGESTION_LENGTH)));
+                }
+            }
+        }
+
+        if (!root.has("disclaimer")) {
+            root.put("disclaimer", AnalysisSchema.DISCLAIMER);
+        }
+
+        return root;
+    }
+
+    ObjectNode guard(JsonNode root) {
+        return (ObjectNode) forbiddenPhraseGuard.guard(root);
+    }
+}
@@ -0,0 +1,46 @@
+package com.clause.app.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PhraseMatcherTest {
+
+    @Test
+    void testFindsSpansInOriginalText() {
+        PhraseMatcher matcher = PhraseMatcher.compile(List.of("불법", "반드시", "100%"));
+
+        String text = "이 조항은 반드시 100% 불법입니다.";
+        List<PhraseMatcher.Match> matches = matcher.findAll(text);
+
+        assertThat(matches).extracting(PhraseMatcher.Match::phrase).containsExactly("반드시", "100%", "불법");
+        for (PhraseMatcher.Match match : matches) {
+            assertThat(text.substring(match.start(), match.end())).isEqualTo(match.phrase());
+        }
+        assertThat(matcher.matches(text)).isTrue();
+        assertThat(matcher.matches("계약 기간은 1년입니다.")).isFalse();
+        assertThat(matcher.findAll("계약 기간은 1년입니다.")).isEmpty();
+    }
+
+    @Test
+    void testPrefersLongestNonOverlappingMatch() {
+        PhraseMatcher matcher = PhraseMatcher.compile(List.of("법적", "법적으로", "적으로", "he", "she", "hers"));
+
+        assertThat(matcher.findAll("법적으로 문제"))
+                .extracting(PhraseMatcher.Match::phrase).containsExactly("법적으로");
+        // "she"와 "he", "hers"가 겹치면 먼저 시작하는 "she"만 남는다.
+        assertThat(matcher.findAll("ushers"))
+                .containsExactly(new PhraseMatcher.Match(1, 4, "she"));
+    }
+
+    @Test
+    void testIgnoresCaseAndDuplicates() {
+        PhraseMatcher matcher = PhraseMatcher.compile(List.of("Void", "void", " VOID ", ""));
+
+        assertThat(matcher.size()).isEqualTo(1);
+        assertThat(matcher.findAll("This is VoId."))
+                .containsExactly(new PhraseMatcher.Match(8, 12, "void"));
+    }
+}
@@ -0,0 +1,94 @@
+package com.clause.app.domain.analysis.service;
+
+import com.clause.app.common.ClauseException;
+import com.clause.app.domain.analysis.dto.AnalysisRequest;
+import com.clause.app.domain.analysis.entity.AnalysisResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AnalysisCoalescerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private static AnalysisRequest request(UUID documentId) {
+        return AnalysisRequest.builder()
+                .documentId(documentId)
+                .contractType("FREELANCER")
+                .userProfile("FREELANCER")
+                .language("ko-KR")
+                .build();
+    }
+
+    @Test
+    void testFollowerReceivesLeaderResult() throws Exception {
+        AnalysisCoalescer coalescer = new AnalysisCoalescer(meterRegistry, true, 5000);
+        UUID documentId = UUID.randomUUID();
+        AnalysisResult expected = AnalysisResult.builder().documentId(documentId).status("DONE").build();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+
+        CompletableFuture<AnalysisResult> leader = CompletableFuture.supplyAsync(() ->
+                coalescer.execute(request(documentId), () -> {
+                    executions.incrementAndGet();
+                    leaderStarted.countDown();
+                    await(release);
+                    return expected;
+                }));
+        assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<AnalysisResult> follower = CompletableFuture.supplyAsync(() ->
+                coalescer.execute(request(documentId), () -> {
+                    executions.incrementAndGet();
+                    return AnalysisResult.builder().build();
+                }));
+        while (meterRegistry.counter("clause.analysis.coalesce.requests", "role", "follower").count() < 1) {
+            Thread.sleep(10);
+        }
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isSameAs(expected);
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isSameAs(expected);
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    void testFollowerTimeoutDoesNotCancelLeader() throws Exception {
+        AnalysisCoalescer coalescer = new AnalysisCoalescer(meterRegistry, true, 50);
+        UUID documentId = UUID.randomUUID();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<AnalysisResult> leader = CompletableFuture.supplyAsync(() ->
+                coalescer.execute(request(documentId), () -> {
+                    leaderStarted.countDown();
+                    await(release);
+                    return AnalysisResult.builder().status("DONE").build();
+                }));
+        assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> coalescer.execute(request(documentId), AnalysisResult::new))
+                .isInstanceOf(ClauseException.class);
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo("DONE");
+        assertThat(meterRegistry.counter("clause.analysis.coalesce.follower.timeouts").count()).isEqualTo(1.0);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.clause.app.domain.analysis.service;
+
+import com.clause.app.domain.analysis.dto.AnalysisPayload;
+import com.clause.app.domain.analysis.dto.AnalysisResponse;
+import com.clause.app.domain.analysis.entity.AnalysisResult;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AnalysisPayloadCodecTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AnalysisPayloadCodec codec = new AnalysisPayloadCodec();
+
+    @Test
+    void testRoundTripDecodesIntoResponseTypes() throws Exception {
+        JsonNode root = objectMapper.readTree(sampleJson(3));
+
+        AnalysisPayload decoded = codec.decode(codec.encode(codec.toPayload(
+                root.get("overall_summary"), root.get("items"), root.get("negotiation_suggestions"),
+                List.of("UNLIMITED_LIABILITY"))));
+
+        assertThat(decoded.overallSummary().getWarningCount()).isEqualTo(3);
+        assertThat(decoded.overallSummary().getKeyPoints()).containsExactly("손해배상 범위를 확인해 보세요.");
+        assertThat(decoded.items()).hasSize(3);
+        AnalysisResponse.AnalysisItem item = decoded.items().get(0);
+        assertThat(item.getClauseId()).isEqualTo("C-0");
+        assertThat(item.getLabel()).isEqualTo("WARNING");
+        assertThat(item.getSoftSuggestion()).containsExactly("배상 범위를 통상 손해로 한정하는 문구를 제안해 볼 수 있어요.");
+        assertThat(decoded.negotiationSuggestions()).containsExactly("상한액을 정해 두는 방법도 있어요.");
+        assertThat(decoded.ruleTriggers()).containsExactly("UNLIMITED_LIABILITY");
+    }
+
+    @Test
+    void testEncodedPayloadIsSmallerThanJsonColumns() throws Exception {
+        String json = sampleJson(20);
+        JsonNode root = objectMapper.readTree(json);
+
+        byte[] encoded = codec.encode(codec.toPayload(
+                root.get("overall_summary"), root.get("items"), root.get("negotiation_suggestions"), List.of()));
+
+        assertThat(encoded[0]).isEqualTo((byte) AnalysisPayloadCodec.FORMAT_VERSION);
+        assertThat(encoded.length).isLessThan(json.getBytes(StandardCharsets.UTF_8).length / 2);
+    }
+
+    @Test
+    void testMissingSummaryCountsDefaultToZero() throws Exception {
+        JsonNode summary = objectMapper.readTree("{\"warning_count\":1}");
+
+        AnalysisPayload decoded = codec.decode(codec.encode(codec.toPayload(summary, null, null, null)));
+
+        assertThat(decoded.overallSummary().getCheckCount()).isZero();
+        assertThat(decoded.overallSummary().getOkCount()).isZero();
+        assertThat(decoded.overallSummary().getKeyPoints()).isEmpty();
+        assertThat(decoded.items()).isNull();
+    }
+
+    @Test
+    void testReadFallsBackToLegacyJsonColumns() throws Exception {
+        JsonNode root = objectMapper.readTree(sampleJson(2));
+        AnalysisResult legacy = AnalysisResult.builder()
+                .overallSummaryJson(root.get("overall_summary").toString())
+                .itemsJson(root.get("items").toString())
+                .negotiationSuggestionsJson(root.get("negotiation_suggestions").toString())
+                .ruleTriggersJson("[\"UNLIMITED_LIABILITY\"]")
+                .build();
+
+        AnalysisPayload read = codec.read(legacy);
+
+        assertThat(read.overallSummary().getWarningCount()).isEqualTo(2);
+        assertThat(read.items()).extracting(AnalysisResponse.AnalysisItem::getClauseId).containsExactly("C-0", "C-1");
+        assertThat(read.ruleTriggers()).containsExactly("UNLIMITED_LIABILITY");
+        assertThat(codec.read(AnalysisResult.builder().build())).isNull();
+    }
+
+    @Test
+    void testUnknownFormatVersionIsRejected() {
+        byte[] encoded = codec.encode(codec.toPayload(null, null, null, List.of()));
+        encoded[0] = (byte) (AnalysisPayloadCodec.FORMAT_VERSION + 1);
+
+        assertThatThrownBy(() -> codec.decode(encoded)).isInstanceOf(IllegalStateException.class);
+        assertThat(codec.decode(null)).isNull();
+    }
+
+    private static String sampleJson(int itemCount) {
+        StringBuilder items = new StringBuilder();
+        for (int i = 0; i < itemCount; i++) {
+            if (i > 0) {
+                items.append(',');
+            }
+            items.append("{\"clause_id\":\"C-").append(i).append("\",\"title\":\"제").append(i).append("조 (손해배상)\",")
+                    .append("\"label\":\"WARNING\",")
+                    .append("\"risk_reason\":\"을은 계약 위반 시 갑에게 발생한 손해를 전액 배상해야 하는 조항이에요.\",")
+                    .append("\"what_to_confirm\":[\"배상 범위에 간접 손해가 포함되는지\"],")
+                    .append("\"soft_suggestion\":[\"배상 범위를 통상 손해로 한정하는 문구를 제안해 볼 수 있어요.\"],")
+                    .append("\"triggers\":[\"UNLIMITED_LIABILITY\"]}");
+        }
+        return "{\"overall_summary\":{\"warning_count\":" + itemCount + ",\"check_count\":0,\"ok_count\":0,"
+                + "\"key_points\":[\"손해배상 범위를 확인해 보세요.\"]},"
+                + "\"items\":[" + items + "],"
+                + "\"negotiation_suggestions\":[\"상한액을 정해 두는 방법도 있어요.\"]}";
+    }
+}
@@ -0,0 +1,112 @@
+package com.clause.app.domain.analysis.service;
+
+import com.clause.app.config.LlmRoutingProperties;
+import com.clause.app.config.ModelTierProperties;
+import com.clause.app.domain.analysis.dto.AnalysisRequest;
+import com.clause.app.domain.analysis.repo.AnalysisRepository;
+import com.clause.app.domain.document.entity.Document;
+import com.clause.app.domain.llm.LlmEndpointRouter;
+import com.clause.app.domain.llm.ModelTierPolicy;
+import com.clause.app.domain.llm.PromptBuilder;
+import com.clause.app.domain.llm.ResponseFormatPolicy;
+import com.clause.app.domain.rules.engine.RuleCatalogLoader;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AnalysisResultCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RuleCatalogLoader ruleCatalogLoader = mock(RuleCatalogLoader.class);
+    private final PromptBuilder promptBuilder = mock(PromptBuilder.class);
+    private final LlmFanOutAnalyzer fanOutAnalyzer = mock(LlmFanOutAnalyzer.class);
+    private ResponseFormatPolicy responseFormatPolicy = new ResponseFormatPolicy(ResponseFormatPolicy.Mode.PROMPT);
+
+    private final Document document = Document.builder().textSha256("abc123").build();
+    private final AnalysisRequest request = AnalysisRequest.builder()
+            .contractType("FREELANCER")
+            .userProfile("STUDENT")
+            .language("ko-KR")
+            .build();
+
+    @Test
+    void testKeyChangesWithTierConfiguration() {
+        when(ruleCatalogLoader.getCatalogVersion()).thenReturn("v1");
+        ModelTierProperties tierOff = new ModelTierProperties();
+        ModelTierProperties tierOn = new ModelTierProperties();
+        tierOn.setEnabled(true);
+        ModelTierProperties tierOnSmallLight = new ModelTierProperties();
+        tierOnSmallLight.setEnabled(true);
+        tierOnSmallLight.setLight(new ModelTierProperties.TierModel("small-model", 1500));
+
+        String off = cache(new LlmRoutingProperties(), tierOff).keyFor(document, request);
+        String on = cache(new LlmRoutingProperties(), tierOn).keyFor(document, request);
+        String smallLight = cache(new LlmRoutingProperties(), tierOnSmallLight).keyFor(document, request);
+
+        assertThat(off).isEqualTo(cache(new LlmRoutingProperties(), new ModelTierProperties()).keyFor(document, request));
+        assertThat(on).isNotEqualTo(off);
+        assertThat(smallLight).isNotEqualTo(on);
+    }
+
+    @Test
+    void testKeyChangesWithEndpointTierModels() {
+        when(ruleCatalogLoader.getCatalogVersion()).thenReturn("v1");
+        ModelTierProperties tierOn = new ModelTierProperties();
+        tierOn.setEnabled(true);
+
+        String plain = cache(routing(endpoint()), tierOn).keyFor(document, request);
+        LlmRoutingProperties.Endpoint mapped = endpoint();
+        mapped.getTierModels().put(ModelTierPolicy.Tier.LIGHT, "gpt-4o-mini");
+        String withLight = cache(routing(mapped), tierOn).keyFor(document, request);
+
+        assertThat(withLight).isNotEqualTo(plain);
+    }
+
+    @Test
+    void testKeyChangesWithPromptConfiguration() {
+        when(ruleCatalogLoader.getCatalogVersion()).thenReturn("v1");
+        when(fanOutAnalyzer.signature()).thenReturn("fan-out:off");
+        when(promptBuilder.promptSignature()).thenReturn("rules:ALL|clause:FULL/160/600|budget:12000/600/350/4000");
+        String base = cache(new LlmRoutingProperties(), new ModelTierProperties()).keyFor(document, request);
+
+        when(promptBuilder.promptSignature()).thenReturn("rules:TRIGGERED|clause:FULL/160/600|budget:12000/600/350/4000");
+        String triggered = cache(new LlmRoutingProperties(), new ModelTierProperties()).keyFor(document, request);
+
+        when(promptBuilder.promptSignature()).thenReturn("rules:ALL|clause:FULL/160/600|budget:12000/600/350/4000");
+        when(fanOutAnalyzer.signature()).thenReturn("fan-out:3");
+        String fanOut = cache(new LlmRoutingProperties(), new ModelTierProperties()).keyFor(document, request);
+
+        when(fanOutAnalyzer.signature()).thenReturn("fan-out:off");
+        responseFormatPolicy = new ResponseFormatPolicy(ResponseFormatPolicy.Mode.STRUCTURED);
+        String structured = cache(new LlmRoutingProperties(), new ModelTierProperties()).keyFor(document, request);
+
+        assertThat(List.of(triggered, fanOut, structured)).doesNotContain(base).doesNotHaveDuplicates();
+    }
+
+    private AnalysisResultCache cache(LlmRoutingProperties routing, ModelTierProperties tierProperties) {
+        LlmEndpointRouter router = new LlmEndpointRouter(WebClient.builder(), meterRegistry, routing, tierProperties,
+                "http://127.0.0.1:1", "test-key", "gpt-4o");
+        return new AnalysisResultCache(mock(AnalysisRepository.class), ruleCatalogLoader, router, tierProperties,
+                promptBuilder, responseFormatPolicy, fanOutAnalyzer, meterRegistry, true, 1440, 10);
+    }
+
+    private static LlmRoutingProperties routing(LlmRoutingProperties.Endpoint endpoint) {
+        LlmRoutingProperties properties = new LlmRoutingProperties();
+        properties.setEndpoints(List.of(endpoint));
+        return properties;
+    }
+
+    private static LlmRoutingProperties.Endpoint endpoint() {
+        LlmRoutingProperties.Endpoint endpoint = new LlmRoutingProperties.Endpoint();
+        endpoint.setName("us");
+        endpoint.setBaseUrl("http://127.0.0.1:1");
+        endpoint.setModel("gpt-4o");
+        return endpoint;
+    }
+}
@@ -0,0 +1,69 @@
+package com.clause.app.domain.analysis.service;
+
+import com.clause.app.domain.analysis.entity.AnalysisBatchJob;
+import com.clause.app.domain.analysis.entity.AnalysisResult;
+import com.clause.app.domain.analysis.repo.AnalysisBatchJobRepository;
+import com.clause.app.domain.analysis.repo.AnalysisRepository;
+import com.clause.app.domain.llm.batch.LlmBatchClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BatchReanalysisJobTest {
+
+    private final AnalysisRepository analysisRepository = mock(AnalysisRepository.class);
+    private final AnalysisBatchJobRepository batchJobRepository = mock(AnalysisBatchJobRepository.class);
+    private final AnalysisService analysisService = mock(AnalysisService.class);
+    private final LlmBatchClient batchClient = mock(LlmBatchClient.class);
+
+    private final BatchReanalysisJob job = new BatchReanalysisJob(analysisRepository, batchJobRepository,
+            analysisService, batchClient, new SimpleMeterRegistry(), true, 1000, 3_600_000, 93_600_000);
+
+    @Test
+    void testExpiresOrphanedPreparingJobAndItsPendingResults() {
+        AnalysisBatchJob orphan = AnalysisBatchJob.builder()
+                .id(UUID.randomUUID())
+                .status(AnalysisBatchJob.STATUS_PREPARING)
+                .createdAt(Instant.now().minus(2, ChronoUnit.HOURS))
+                .build();
+        AnalysisResult pending = AnalysisResult.builder()
+                .id(UUID.randomUUID())
+                .status(AnalysisService.STATUS_BATCH_PENDING)
+                .build();
+        when(batchJobRepository.findByStatusAndCreatedAtBefore(eq(AnalysisBatchJob.STATUS_PREPARING), any()))
+                .thenReturn(List.of(orphan));
+        when(analysisRepository.findByBatchJobIdAndStatus(orphan.getId(), AnalysisService.STATUS_BATCH_PENDING))
+                .thenReturn(List.of(pending));
+
+        job.expireStaleJobs();
+
+        assertThat(orphan.getStatus()).isEqualTo(AnalysisBatchJob.STATUS_FAILED);
+        assertThat(orphan.getCompletedAt()).isNotNull();
+        verify(batchJobRepository).save(orphan);
+        verify(analysisService).failBatchAnalysis(eq(pending.getId()), anyString());
+    }
+
+    @Test
+    void testSkipsPollingWhenNothingIsStale() {
+        when(batchJobRepository.findByStatusAndCreatedAtBefore(anyString(), any())).thenReturn(List.of());
+        when(batchJobRepository.findByStatusOrderByCreatedAtAsc(AnalysisBatchJob.STATUS_SUBMITTED)).thenReturn(List.of());
+
+        job.pollSubmitted();
+
+        verify(batchJobRepository, never()).save(any());
+        verify(analysisService, never()).failBatchAnalysis(any(), anyString());
+    }
+}
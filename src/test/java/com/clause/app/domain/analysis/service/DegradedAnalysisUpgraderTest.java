@@ -0,0 +1,79 @@
+package com.clause.app.domain.analysis.service;
+
+import com.clause.app.common.ClauseException;
+import com.clause.app.common.ErrorCode;
+import com.clause.app.domain.analysis.entity.AnalysisResult;
+import com.clause.app.domain.analysis.repo.AnalysisRepository;
+import com.clause.app.domain.document.entity.Document;
+import com.clause.app.domain.document.repo.DocumentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = {
+        "clause.analysis.degraded.upgrade-enabled=true",
+        "clause.analysis.degraded.upgrade-interval-ms=3600000",
+        "clause.analysis.degraded.upgrade-batch-size=100",
+        "clause.analysis.degraded.upgrade-lease-ms=600000"
+})
+class DegradedAnalysisUpgraderTest {
+
+    @Autowired
+    private DegradedAnalysisUpgrader upgrader;
+
+    @Autowired
+    private AnalysisRepository analysisRepository;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @MockBean
+    private AnalysisService analysisService;
+
+    @Test
+    void testFailingResultDoesNotBlockLaterOnesAndIsNotRetriedWhileClaimed() throws Exception {
+        UUID documentId = documentRepository.save(Document.builder()
+                .originalFileName("test.pdf")
+                .contentType("application/pdf")
+                .sizeBytes(1000L)
+                .storagePath("test.pdf")
+                .extractedText("제1조 테스트")
+                .textSha256("test-hash-" + UUID.randomUUID())
+                .build()).getId();
+        UUID failing = saveDegraded(documentId);
+        UUID next = saveDegraded(documentId);
+        when(analysisService.upgradeDegraded(failing)).thenThrow(new ClauseException(ErrorCode.DOCUMENT_NOT_FOUND));
+
+        upgrader.upgradePending();
+        upgrader.upgradePending();
+
+        verify(analysisService, times(1)).upgradeDegraded(failing);
+        verify(analysisService, times(1)).upgradeDegraded(next);
+        AnalysisResult failed = analysisRepository.findById(failing).orElseThrow();
+        assertThat(failed.getUpgradeAttempts()).isEqualTo(1);
+        assertThat(failed.getUpgradeClaimedUntil()).isAfter(Instant.now());
+
+        // 다른 인스턴스가 이미 잡은 결과는 다시 잡을 수 없다.
+        assertThat(analysisRepository.claimUpgrade(failing, AnalysisService.STATUS_DEGRADED,
+                Instant.now(), Instant.now().plusSeconds(60))).isZero();
+    }
+
+    private UUID saveDegraded(UUID documentId) {
+        return analysisRepository.save(AnalysisResult.builder()
+                .documentId(documentId)
+                .contractType("FREELANCER")
+                .userProfile("FREELANCER")
+                .language("ko-KR")
+                .status(AnalysisService.STATUS_DEGRADED)
+                .build()).getId();
+    }
+}
@@ -0,0 +1,58 @@
+package com.clause.app.domain.analysis.service;
+
+import com.clause.app.common.ClauseException;
+import com.clause.app.common.ErrorCode;
+import com.clause.app.domain.analysis.dto.AnalysisRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "clause.analysis.idempotency.in-progress-lease-ms=200")
+class IdempotencyServiceTest {
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    private static AnalysisRequest request() {
+        return AnalysisRequest.builder()
+                .documentId(UUID.randomUUID())
+                .contractType("FREELANCER")
+                .userProfile("FREELANCER")
+                .language("ko-KR")
+                .build();
+    }
+
+    @Test
+    void testAbandonedClaimIsTakenOverAfterLease() throws Exception {
+        AnalysisRequest request = request();
+        String key = UUID.randomUUID().toString();
+
+        assertThat(idempotencyService.claim("10.0.0.1", key, request)).isEmpty();
+        assertThatThrownBy(() -> idempotencyService.claim("10.0.0.1", key, request))
+                .isInstanceOfSatisfying(ClauseException.class,
+                        e -> assertThat(e.getErrorCode()).isEqualTo(ErrorCode.IDEMPOTENCY_IN_PROGRESS));
+
+        Thread.sleep(300);
+
+        assertThat(idempotencyService.claim("10.0.0.1", key, request)).isEmpty();
+    }
+
+    @Test
+    void testCompletedKeyOutlivesLeaseAndIsScopedToClient() throws Exception {
+        AnalysisRequest request = request();
+        String key = UUID.randomUUID().toString();
+        UUID analysisId = UUID.randomUUID();
+
+        idempotencyService.claim("10.0.0.1", key, request);
+        idempotencyService.complete("10.0.0.1", key, analysisId);
+        Thread.sleep(300);
+
+        assertThat(idempotencyService.claim("10.0.0.1", key, request)).contains(analysisId);
+        assertThat(idempotencyService.claim("10.0.0.2", key, request)).isEmpty();
+    }
+}
@@ -0,0 +1,224 @@
+package com.clause.app.domain.analysis.service;
+
+import com.clause.app.common.ClauseException;
+import com.clause.app.common.ErrorCode;
+import com.clause.app.domain.llm.LlmAvailability;
+import com.clause.app.domain.llm.LlmClient;
+import com.clause.app.domain.llm.ModelTierPolicy;
+import com.clause.app.domain.llm.PromptBuilder;
+import com.clause.app.domain.llm.dto.LlmRequest;
+import com.clause.app.domain.llm.dto.LlmResponse;
+import com.clause.app.domain.rules.enums.ContractType;
+import com.clause.app.domain.rules.enums.UserProfile;
+import com.clause.app.domain.rules.model.ClauseCandidate;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = {
+        "clause.analysis.fan-out.enabled=true",
+        "clause.analysis.fan-out.group-size=1",
+        "clause.analysis.fan-out.max-concurrency=2"
+})
+class LlmFanOutAnalyzerTest {
+
+    @Autowired
+    private LlmFanOutAnalyzer fanOutAnalyzer;
+
+    @Autowired
+    private PromptBuilder promptBuilder;
+
+    @MockBean
+    private LlmClient llmClient;
+
+    private static ClauseCandidate candidate(String id) {
+        return ClauseCandidate.builder()
+                .id(id)
+                .title("제" + id.substring(2) + "조")
+                .text("계약 조항 " + id)
+                .ruleTriggers(List.of())
+                .build();
+    }
+
+    private static String itemJson(String clauseId, String label) {
+        return """
+                {"overall_summary": {"key_points": []}, "items": [{
+                  "clause_id": "%s", "title": "조항", "label": "%s", "risk_reason": "확인이 필요해요.",
+                  "what_to_confirm": ["확인"], "soft_suggestion": ["제안"], "triggers": []
+                }], "negotiation_suggestions": []}
+                """.formatted(clauseId, label);
+    }
+
+    private static LlmRequest settings() {
+        return LlmRequest.builder().temperature(0.3).build();
+    }
+
+    @Test
+    void testMergesGroups() {
+        when(llmClient.call(any(LlmRequest.class))).thenAnswer(invocation -> {
+            LlmRequest request = invocation.getArgument(0);
+            String content;
+            if (promptBuilder.buildSummaryDeveloperPrompt().equals(request.getDeveloperPrompt())) {
+                content = "{\"key_points\": [\"요약\"], \"negotiation_suggestions\": [\"협상\"]}";
+            } else if (request.getUserPrompt().contains("C-001")) {
+                content = itemJson("C-001", "WARNING");
+            } else if (request.getUserPrompt().contains("C-002")) {
+                content = itemJson("C-002", "OK");
+            } else {
+                content = itemJson("C-003", "CHECK");
+            }
+            return LlmResponse.builder().content(content).model("gpt-4o-mini").build();
+        });
+
+        List<ClauseCandidate> candidates = List.of(candidate("C-001"), candidate("C-002"), candidate("C-003"));
+        assertThat(fanOutAnalyzer.shouldFanOut(candidates)).isTrue();
+
+        LlmFanOutAnalyzer.FanOutResult result = fanOutAnalyzer.analyze(
+                candidates, ContractType.FREELANCER, UserProfile.FREELANCER, "ko-KR", settings());
+
+        JsonNode items = result.root().get("items");
+        assertThat(items).hasSize(3);
+        assertThat(items.get(0).get("clause_id").asText()).isEqualTo("C-001");
+        assertThat(items.get(2).get("clause_id").asText()).isEqualTo("C-003");
+        assertThat(result.candidates()).hasSize(3);
+        assertThat(result.root().get("overall_summary").get("key_points").get(0).asText()).isEqualTo("요약");
+        assertThat(result.root().get("negotiation_suggestions").get(0).asText()).isEqualTo("협상");
+        verify(llmClient, times(4)).call(any(LlmRequest.class));
+    }
+
+    @Test
+    void testRetriesFailedGroup() {
+        Map<String, Integer> attempts = new ConcurrentHashMap<>();
+        when(llmClient.call(any(LlmRequest.class))).thenAnswer(invocation -> {
+            LlmRequest request = invocation.getArgument(0);
+            String content;
+            if (promptBuilder.buildSummaryDeveloperPrompt().equals(request.getDeveloperPrompt())) {
+                content = "{\"key_points\": [\"요약\"], \"negotiation_suggestions\": [\"협상\"]}";
+            } else if (request.getUserPrompt().contains("C-002")) {
+                content = attempts.merge("C-002", 1, Integer::sum) == 1 ? "not json at all" : itemJson("C-002", "CHECK");
+            } else {
+                content = itemJson("C-001", "WARNING");
+            }
+            return LlmResponse.builder().content(content).model("gpt-4o-mini").build();
+        });
+
+        LlmFanOutAnalyzer.FanOutResult result = fanOutAnalyzer.analyze(List.of(candidate("C-001"), candidate("C-002")),
+                ContractType.FREELANCER, UserProfile.FREELANCER, "ko-KR", settings());
+
+        assertThat(result.degradedGroups()).isZero();
+        assertThat(result.root().get("items").get(1).get("label").asText()).isEqualTo("CHECK");
+        // 그룹 2개 + 재시도 1번 + 요약 1번
+        verify(llmClient, times(4)).call(any(LlmRequest.class));
+    }
+
+    @Test
+    void testDegradesOnlyFailedGroup() {
+        when(llmClient.call(any(LlmRequest.class))).thenAnswer(invocation -> {
+            LlmRequest request = invocation.getArgument(0);
+            String content;
+            if (promptBuilder.buildSummaryDeveloperPrompt().equals(request.getDeveloperPrompt())) {
+                content = "{\"key_points\": [\"요약\"], \"negotiation_suggestions\": [\"협상\"]}";
+            } else if (request.getUserPrompt().contains("C-002")) {
+                content = "not json at all";
+            } else if (request.getUserPrompt().contains("C-001")) {
+                content = itemJson("C-001", "WARNING");
+            } else {
+                content = itemJson("C-003", "CHECK");
+            }
+            return LlmResponse.builder().content(content).model("gpt-4o-mini").build();
+        });
+
+        List<ClauseCandidate> candidates = List.of(candidate("C-001"), candidate("C-002"), candidate("C-003"));
+        LlmFanOutAnalyzer.FanOutResult result = fanOutAnalyzer.analyze(
+                candidates, ContractType.FREELANCER, UserProfile.FREELANCER, "ko-KR", settings());
+
+        JsonNode items = result.root().get("items");
+        assertThat(result.degradedGroups()).isEqualTo(1);
+        assertThat(items).hasSize(3);
+        assertThat(items.get(0).get("label").asText()).isEqualTo("WARNING");
+        // 트리거가 없는 조항이라 규칙 기반 항목은 OK
+        assertThat(items.get(1).get("clause_id").asText()).isEqualTo("C-002");
+        assertThat(items.get(1).get("label").asText()).isEqualTo("OK");
+        assertThat(items.get(2).get("label").asText()).isEqualTo("CHECK");
+        assertThat(result.candidates()).hasSize(3);
+        // 그룹 3개 + C-002 재시도 1번 + 요약 1번
+        verify(llmClient, times(5)).call(any(LlmRequest.class));
+    }
+
+    @Test
+    void testFailsWhenEveryGroupFails() {
+        when(llmClient.call(any(LlmRequest.class))).thenReturn(
+                LlmResponse.builder().content("not json at all").model("gpt-4o-mini").build());
+
+        assertThatThrownBy(() -> fanOutAnalyzer.analyze(List.of(candidate("C-001"), candidate("C-002")),
+                ContractType.FREELANCER, UserProfile.FREELANCER, "ko-KR", settings()))
+                .isInstanceOfSatisfying(ClauseException.class,
+                        e -> assertThat(e.getErrorCode()).isEqualTo(ErrorCode.JSON_REPAIR_FAILED));
+        // 요약 호출까지 가지 않는다.
+        verify(llmClient, times(4)).call(any(LlmRequest.class));
+    }
+
+    @Test
+    void testGroupRequestsKeepPreparedSettings() {
+        when(llmClient.call(any(LlmRequest.class))).thenAnswer(invocation -> {
+            LlmRequest request = invocation.getArgument(0);
+            String id = request.getUserPrompt().contains("C-001") ? "C-001" : "C-002";
+            return LlmResponse.builder().content(itemJson(id, "OK")).model("gpt-4o-mini").build();
+        });
+        LlmRequest settings = LlmRequest.builder()
+                .tier(ModelTierPolicy.Tier.LIGHT)
+                .temperature(0.3)
+                .maxTokens(50)
+                .responseFormat("{\"type\":\"json_schema\"}")
+                .build();
+
+        fanOutAnalyzer.analyze(List.of(candidate("C-001"), candidate("C-002")),
+                ContractType.FREELANCER, UserProfile.FREELANCER, "ko-KR", settings);
+
+        ArgumentCaptor<LlmRequest> captor = ArgumentCaptor.forClass(LlmRequest.class);
+        verify(llmClient, times(3)).call(captor.capture());
+        List<LlmRequest> groupRequests = captor.getAllValues().stream()
+                .filter(request -> !promptBuilder.buildSummaryDeveloperPrompt().equals(request.getDeveloperPrompt()))
+                .toList();
+        assertThat(groupRequests).hasSize(2).allSatisfy(request -> {
+            assertThat(request.getTier()).isEqualTo(ModelTierPolicy.Tier.LIGHT);
+            assertThat(request.getResponseFormat()).isEqualTo("{\"type\":\"json_schema\"}");
+            assertThat(request.getMaxTokens()).isEqualTo(50);
+        });
+    }
+
+    @Test
+    void testPrefersCircuitOpenFailure() {
+        CircuitBreaker breaker = CircuitBreaker.ofDefaults("fan-out-test");
+        breaker.transitionToForcedOpenState();
+        when(llmClient.call(any(LlmRequest.class))).thenAnswer(invocation -> {
+            LlmRequest request = invocation.getArgument(0);
+            if (request.getUserPrompt().contains("C-001")) {
+                return LlmResponse.builder().content("not json at all").model("gpt-4o-mini").build();
+            }
+            throw new ClauseException(ErrorCode.LLM_UPSTREAM_ERROR, CallNotPermittedException.createCallNotPermittedException(breaker));
+        });
+
+        List<ClauseCandidate> candidates = List.of(candidate("C-001"), candidate("C-002"));
+
+        assertThatThrownBy(() -> fanOutAnalyzer.analyze(
+                candidates, ContractType.FREELANCER, UserProfile.FREELANCER, "ko-KR", settings()))
+                .satisfies(e -> assertThat(LlmAvailability.isCircuitOpen(e)).isTrue());
+    }
+}
@@ -0,0 +1,66 @@
+package com.clause.app.domain.analysis.service;
+
+import com.clause.app.common.SchemaValidator;
+import com.clause.app.domain.rules.engine.ClauseSegmenter;
+import com.clause.app.domain.rules.engine.RuleEngine;
+import com.clause.app.domain.rules.enums.ContractType;
+import com.clause.app.domain.rules.model.ClauseCandidate;
+import com.clause.app.domain.rules.model.RuleRunResult;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class RuleOnlyReportGeneratorTest {
+
+    @Autowired
+    private RuleOnlyReportGenerator generator;
+
+    @Autowired
+    private RuleEngine ruleEngine;
+
+    @Autowired
+    private ClauseSegmenter segmenter;
+
+    @Autowired
+    private SchemaValidator schemaValidator;
+
+    @Test
+    void testDocumentWithoutTriggersSkipsLlm() {
+        String text = "제1조 목적\n이 계약은 업무 협력에 관한 사항을 정한다.\n제2조 기간\n계약 기간은 서명일부터 1년으로 한다.";
+        RuleRunResult ruleResult = run(text);
+
+        assertThat(ruleResult.getTotalTriggers()).isZero();
+        assertThat(generator.shouldSkipLlm(ruleResult)).isTrue();
+
+        List<ClauseCandidate> candidates = ruleEngine.selectTopCandidates(
+                ruleResult.getCandidates(), 10, ContractType.FREELANCER);
+        ObjectNode root = generator.generate(candidates);
+
+        JsonNode items = root.get("items");
+        assertThat(items).hasSize(candidates.size());
+        for (JsonNode item : items) {
+            assertThat(item.get("label").asText()).isEqualTo("OK");
+            assertThat(schemaValidator.validateItem(item).valid()).isTrue();
+        }
+        assertThat(root.get("overall_summary").get("key_points")).isNotEmpty();
+        assertThat(root.get("negotiation_suggestions")).isNotEmpty();
+    }
+
+    @Test
+    void testWarningTriggerGoesToLlm() {
+        RuleRunResult ruleResult = run("제1조 손해배상\n계약 위반 시 위약금 500만원을 지급한다.");
+
+        assertThat(generator.shouldSkipLlm(ruleResult)).isFalse();
+    }
+
+    private RuleRunResult run(String text) {
+        return ruleEngine.runRules(text, ContractType.FREELANCER, segmenter.segment(text));
+    }
+}
@@ -0,0 +1,76 @@
+package com.clause.app.domain.llm;
+
+import com.clause.app.common.ClauseException;
+import com.clause.app.common.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testLimitShrinksOnOverloadAndGrowsOnSuccess() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(meterRegistry, 1, 1, 4, 0.5, 30000, 0, 0);
+
+        for (int i = 0; i < 3; i++) {
+            limiter.execute(() -> "ok");
+        }
+        assertThat(limiter.getLimit()).isGreaterThan(2.0);
+
+        assertThatThrownBy(() -> limiter.execute(() -> {
+            throw WebClientResponseException.create(429, "Too Many Requests", null, null, null);
+        })).isInstanceOf(WebClientResponseException.class);
+        assertThat(limiter.getLimit()).isLessThan(2.0);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void testErrorReleasesPermitWithoutAdjustingLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(meterRegistry, 2, 1, 4, 0.5, 30000, 0, 0);
+
+        assertThatThrownBy(() -> limiter.execute(() -> {
+            throw new AssertionError("boom");
+        })).isInstanceOf(AssertionError.class);
+        assertThat(limiter.getInFlight()).isZero();
+        assertThat(limiter.getLimit()).isEqualTo(2.0);
+    }
+
+    @Test
+    void testQueuedCallFailsFastAfterDeadline() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(meterRegistry, 1, 1, 1, 0.9, 30000, 1, 50);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> limiter.execute(() -> {
+                started.countDown();
+                try {
+                    return finish.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThatThrownBy(() -> limiter.execute(() -> "late"))
+                    .isInstanceOf(ClauseException.class)
+                    .extracting(e -> ((ClauseException) e).getErrorCode())
+                    .isEqualTo(ErrorCode.LLM_OVERLOADED);
+            assertThat(meterRegistry.get("clause.llm.concurrency.rejections").tag("reason", "timeout").counter().count())
+                    .isEqualTo(1);
+        } finally {
+            finish.countDown();
+            executor.shutdown();
+        }
+    }
+}
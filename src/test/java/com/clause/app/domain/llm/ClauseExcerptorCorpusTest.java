@@ -0,0 +1,180 @@
+package com.clause.app.domain.llm;
+
+import com.clause.app.domain.llm.token.TokenBudgetManager;
+import com.clause.app.domain.llm.token.TokenCounter;
+import com.clause.app.domain.rules.engine.ClauseSegmenter;
+import com.clause.app.domain.rules.engine.RuleCatalogLoader;
+import com.clause.app.domain.rules.engine.RuleEngine;
+import com.clause.app.domain.rules.enums.ContractType;
+import com.clause.app.domain.rules.enums.UserProfile;
+import com.clause.app.domain.rules.model.ClauseCandidate;
+import com.clause.app.domain.rules.model.RuleTrigger;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 저장된 분석 결과가 있는 계약서 코퍼스로 트리거 구간(WINDOWS) 모드를 전체 본문(FULL) 모드와 비교한다.
+ * 저장된 WARNING/CHECK 라벨의 근거(조항 ID, 제목, 감지된 규칙과 매칭 문구)가 두 모드의 프롬프트에서 같고,
+ * 달라지는 것은 트리거에서 먼 본문이 생략되는 것뿐인지 확인한다.
+ */
+@SpringBootTest
+class ClauseExcerptorCorpusTest {
+
+    @Autowired
+    private RuleCatalogLoader ruleCatalogLoader;
+
+    @Autowired
+    private RuleEngine ruleEngine;
+
+    @Autowired
+    private ClauseSegmenter segmenter;
+
+    @Autowired
+    private TokenBudgetManager tokenBudgetManager;
+
+    @Autowired
+    private TokenCounter tokenCounter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final ClauseExcerptor fullExcerptor = new ClauseExcerptor(ClauseExcerptor.Mode.FULL, 160, 600);
+    private final ClauseExcerptor windowExcerptor = new ClauseExcerptor(ClauseExcerptor.Mode.WINDOWS, 160, 600);
+
+    @Test
+    void testWindowModeSavesTokensAndKeepsEvidence() throws Exception {
+        PromptBuilder fullBuilder = new PromptBuilder(
+                ruleCatalogLoader, tokenBudgetManager, fullExcerptor, PromptBuilder.RuleScope.ALL);
+        PromptBuilder windowBuilder = new PromptBuilder(
+                ruleCatalogLoader, tokenBudgetManager, windowExcerptor, PromptBuilder.RuleScope.ALL);
+
+        JsonNode corpus;
+        try (InputStream is = new ClassPathResource("corpus/trigger-window-corpus.json").getInputStream()) {
+            corpus = objectMapper.readTree(is);
+        }
+
+        int fullClauseTokens = 0;
+        int windowClauseTokens = 0;
+        for (JsonNode document : corpus) {
+            ContractType contractType = ContractType.valueOf(document.get("contractType").asText());
+            String text = document.get("text").asText();
+            List<ClauseCandidate> segments = segmenter.segment(text);
+            List<ClauseCandidate> candidates = ruleEngine.selectTopCandidates(
+                    ruleEngine.runRules(text, contractType, segments).getCandidates(), 10, contractType);
+
+            String fullPrompt = fullBuilder.buildUserPrompt(candidates, contractType, UserProfile.FREELANCER, "ko-KR");
+            String windowPrompt = windowBuilder.buildUserPrompt(candidates, contractType, UserProfile.FREELANCER, "ko-KR");
+            String name = document.get("name").asText();
+            assertThat(tokenCounter.count(windowPrompt)).as(name).isLessThan(tokenCounter.count(fullPrompt));
+
+            Map<String, ClauseCandidate> byId = candidates.stream()
+                    .collect(Collectors.toMap(ClauseCandidate::getId, Function.identity()));
+            boolean elided = false;
+            for (ClauseCandidate candidate : candidates) {
+                String excerpt = windowExcerptor.excerpt(candidate);
+                fullClauseTokens += tokenCounter.count(candidate.getText());
+                windowClauseTokens += tokenCounter.count(excerpt);
+                elided |= excerpt.contains(ClauseExcerptor.ELISION);
+
+                assertThat(windowPrompt).contains("- **Clause ID:** " + candidate.getId() + "\n");
+                for (RuleTrigger trigger : candidate.getRuleTriggers()) {
+                    assertThat(excerpt).contains(trigger.getMatchedText());
+                }
+            }
+
+            // 코퍼스가 실제로 구간을 잘라내는 문서여야 비교가 의미 있다.
+            assertThat(elided).as(name).isTrue();
+
+            // 저장된 결과에서 WARNING/CHECK였던 조항은 같은 clause_id로, 근거가 된 규칙과 함께 전달돼야 하고,
+            // 모델이 보는 제목과 규칙 목록(매칭 문구 포함)은 FULL 모드와 한 글자도 달라지지 않아야 한다.
+            for (JsonNode item : document.get("storedItems")) {
+                String clauseId = item.get("clause_id").asText();
+                if ("OK".equals(item.get("label").asText())) {
+                    continue;
+                }
+                assertThat(byId).as(name).containsKey(clauseId);
+                ClauseSection full = ClauseSection.of(fullPrompt, clauseId);
+                ClauseSection window = ClauseSection.of(windowPrompt, clauseId);
+                assertThat(window.header()).as(name + " " + clauseId).isEqualTo(full.header());
+                assertThat(window.triggers()).as(name + " " + clauseId).isEqualTo(full.triggers());
+                for (RuleTrigger trigger : byId.get(clauseId).getRuleTriggers()) {
+                    assertThat(window.content()).as(name + " " + clauseId).contains(trigger.getMatchedText());
+                }
+                Set<String> firedRuleIds = byId.get(clauseId).getRuleTriggers().stream()
+                        .map(RuleTrigger::getRuleId)
+                        .collect(Collectors.toSet());
+                for (JsonNode ruleId : item.get("triggers")) {
+                    assertThat(firedRuleIds).contains(ruleId.asText());
+                }
+            }
+        }
+
+        // 조항 본문 토큰을 30% 넘게 줄여야 한다.
+        double savedRatio = 1.0 - (double) windowClauseTokens / fullClauseTokens;
+        assertThat(savedRatio).isGreaterThan(0.3);
+    }
+
+    /**
+     * 사용자 프롬프트에서 조항 하나의 절. header는 ID와 제목, content는 본문 코드 블록 안, triggers는 감지된 규칙 목록.
+     */
+    private record ClauseSection(String header, String content, String triggers) {
+
+        static ClauseSection of(String prompt, String clauseId) {
+            int start = prompt.indexOf("- **Clause ID:** " + clauseId + "\n");
+            assertThat(start).as(clauseId).isNotNegative();
+            int next = prompt.indexOf("### Clause ", start);
+            int nextSection = prompt.indexOf("\n## ", start);
+            int end = next < 0 ? (nextSection < 0 ? prompt.length() : nextSection)
+                    : (nextSection < 0 ? next : Math.min(next, nextSection));
+            String section = prompt.substring(start, end);
+
+            int contentHeader = section.indexOf("- **Clause Content");
+            int open = section.indexOf("```\n", contentHeader) + 4;
+            int close = section.indexOf("\n```\n", open);
+            return new ClauseSection(section.substring(0, contentHeader), section.substring(open, close),
+                    section.substring(close + 5));
+        }
+    }
+
+    @Test
+    void testShortClauseIsSentInFull() {
+        ClauseCandidate candidate = ClauseCandidate.builder()
+                .id("C-001")
+                .title("제6조 중도해지")
+                .text("제6조 중도해지\n중도해지 시 위약금을 지급해야 합니다.")
+                .ruleTriggers(List.of(RuleTrigger.builder().ruleId("R-W-PEN-001").startIndex(9).endIndex(20).build()))
+                .build();
+
+        assertThat(windowExcerptor.excerpt(candidate)).isEqualTo(candidate.getText());
+    }
+
+    @Test
+    void testOverlappingWindowsAreMerged() {
+        String text = "가".repeat(1000) + "위약금" + "나".repeat(30) + "위약벌" + "다".repeat(1000);
+        ClauseCandidate candidate = ClauseCandidate.builder()
+                .id("C-001")
+                .title("제1조")
+                .text(text)
+                .ruleTriggers(List.of(
+                        RuleTrigger.builder().ruleId("R-W-PEN-001").startIndex(1000).endIndex(1003).build(),
+                        RuleTrigger.builder().ruleId("R-W-PEN-001").startIndex(1033).endIndex(1036).build()))
+                .build();
+
+        String excerpt = new ClauseExcerptor(ClauseExcerptor.Mode.WINDOWS, 20, 600).excerpt(candidate);
+
+        assertThat(excerpt).isEqualTo(ClauseExcerptor.ELISION + "\n" + text.substring(980, 1056) + "\n" + ClauseExcerptor.ELISION);
+    }
+}
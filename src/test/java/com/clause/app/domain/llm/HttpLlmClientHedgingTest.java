@@ -0,0 +1,156 @@
+package com.clause.app.domain.llm;
+
+import com.clause.app.common.ClauseException;
+import com.clause.app.common.ErrorCode;
+import com.clause.app.config.LlmRoutingProperties;
+import com.clause.app.config.ModelTierProperties;
+import com.clause.app.domain.llm.dto.LlmRequest;
+import com.clause.app.domain.llm.dto.LlmResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HttpLlmClientHedgingTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testSlowPrimaryIsHedgedAndHedgeWins() throws Exception {
+        // 요청 도착 순서가 아니라 라우팅으로 느린 쪽을 정한다. 첫 요청은 목록의 첫 엔드포인트(slow)로 가고,
+        // 헤지 요청은 slow에 진행 중인 호출이 있으므로 fast로 간다.
+        try (StubLlmServer slow = new StubLlmServer("slow-model", index -> 3000);
+             StubLlmServer fast = new StubLlmServer("fast-model", index -> 50)) {
+            LlmRoutingProperties routing = new LlmRoutingProperties();
+            routing.setEndpoints(List.of(endpoint("slow", slow.baseUrl()), endpoint("fast", fast.baseUrl())));
+            HttpLlmClient client = newClient(routing, new LlmHedgingPolicy(
+                    meterRegistry, true, 0.95, 200, 0, 200, 20, 0.1, 5),
+                    new AdaptiveConcurrencyLimiter(meterRegistry, 8, 1, 64, 0.9, 30000, 50, 5000));
+
+            long start = System.nanoTime();
+            LlmResponse response = client.call(request());
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+            assertThat(response.getModel()).isEqualTo("fast-model");
+            assertThat(elapsedMs).isLessThan(2000);
+            assertThat(slow.requestCount()).isEqualTo(1);
+            assertThat(fast.requestCount()).isEqualTo(1);
+            assertThat(meterRegistry.get("clause.llm.hedge.wins").tag("winner", "hedge").counter().count())
+                    .isEqualTo(1);
+
+            // 진 첫 요청은 클라이언트가 끊었으므로 서버가 응답을 끝까지 쓰지 못한다.
+            long deadline = System.currentTimeMillis() + 5000;
+            while (slow.abortedCount() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            assertThat(slow.abortedCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void testPrimaryFailureAfterHedgeWaitsForHedge() throws Exception {
+        try (StubLlmServer server = new StubLlmServer("stub-model",
+                index -> index == 0 ? 300 : 400, index -> index == 0 ? 503 : 200)) {
+            HttpLlmClient client = newClient(server.baseUrl(), new LlmHedgingPolicy(
+                    meterRegistry, true, 0.95, 200, 0, 200, 20, 0.1, 5));
+
+            LlmResponse response = client.call(request());
+
+            assertThat(response.getModel()).isEqualTo("stub-model");
+            assertThat(server.requestCount()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void testFailsOnlyWhenBothAttemptsFail() throws Exception {
+        try (StubLlmServer server = new StubLlmServer("stub-model",
+                index -> index == 0 ? 300 : 100, index -> 503)) {
+            HttpLlmClient client = newClient(server.baseUrl(), new LlmHedgingPolicy(
+                    meterRegistry, true, 0.95, 200, 0, 200, 20, 0.1, 5));
+
+            assertThatThrownBy(() -> client.call(request()))
+                    .isInstanceOfSatisfying(ClauseException.class,
+                            e -> assertThat(e.getErrorCode()).isEqualTo(ErrorCode.LLM_UPSTREAM_ERROR));
+            assertThat(server.requestCount()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void testHedgeNeedsSpareConcurrencyPermit() throws Exception {
+        try (StubLlmServer server = new StubLlmServer("stub-model", index -> 600)) {
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(meterRegistry, 1, 1, 1, 0.9, 30000, 50, 5000);
+            HttpLlmClient client = newClient(server.baseUrl(), new LlmHedgingPolicy(
+                    meterRegistry, true, 0.95, 200, 0, 200, 20, 0.1, 5), limiter);
+
+            client.call(request());
+
+            assertThat(server.requestCount()).isEqualTo(1);
+            assertThat(meterRegistry.get("clause.llm.hedge.requests").tag("result", "limit_denied").counter().count())
+                    .isEqualTo(1);
+            assertThat(limiter.getInFlight()).isZero();
+        }
+    }
+
+    @Test
+    void testFastPrimaryIsNotHedged() throws Exception {
+        try (StubLlmServer server = new StubLlmServer("stub-model", index -> 20)) {
+            HttpLlmClient client = newClient(server.baseUrl(), new LlmHedgingPolicy(
+                    meterRegistry, true, 0.95, 1000, 0, 200, 20, 0.1, 5));
+
+            for (int i = 0; i < 3; i++) {
+                client.call(request());
+            }
+
+            assertThat(server.requestCount()).isEqualTo(3);
+            assertThat(meterRegistry.get("clause.llm.hedge.requests").tag("result", "fired").counter().count())
+                    .isZero();
+        }
+    }
+
+    private HttpLlmClient newClient(String baseUrl, LlmHedgingPolicy hedgingPolicy) {
+        return newClient(baseUrl, hedgingPolicy, new AdaptiveConcurrencyLimiter(meterRegistry, 8, 1, 64, 0.9, 30000, 50, 5000));
+    }
+
+    private HttpLlmClient newClient(String baseUrl, LlmHedgingPolicy hedgingPolicy, AdaptiveConcurrencyLimiter limiter) {
+        return newClient(new LlmRoutingProperties(), baseUrl, hedgingPolicy, limiter);
+    }
+
+    private HttpLlmClient newClient(LlmRoutingProperties routing, LlmHedgingPolicy hedgingPolicy,
+                                    AdaptiveConcurrencyLimiter limiter) {
+        return newClient(routing, "", hedgingPolicy, limiter);
+    }
+
+    private HttpLlmClient newClient(LlmRoutingProperties routing, String baseUrl, LlmHedgingPolicy hedgingPolicy,
+                                    AdaptiveConcurrencyLimiter limiter) {
+        return new HttpLlmClient(
+                new LlmEndpointRouter(WebClient.builder(), meterRegistry, routing, new ModelTierProperties(),
+                        baseUrl, "test-key", "gpt-4o-mini"),
+                new ObjectMapper(),
+                new LlmRetryPolicy(meterRegistry, 0, 0, 0, 0.1, 10),
+                limiter,
+                hedgingPolicy,
+                10000);
+    }
+
+    private static LlmRoutingProperties.Endpoint endpoint(String name, String baseUrl) {
+        LlmRoutingProperties.Endpoint endpoint = new LlmRoutingProperties.Endpoint();
+        endpoint.setName(name);
+        endpoint.setBaseUrl(baseUrl);
+        endpoint.setApiKey("test-key");
+        endpoint.setModel("gpt-4o-mini");
+        return endpoint;
+    }
+
+    private LlmRequest request() {
+        return LlmRequest.builder()
+                .systemPrompt("system")
+                .developerPrompt("developer")
+                .userPrompt("user")
+                .build();
+    }
+}
@@ -0,0 +1,78 @@
+package com.clause.app.domain.llm;
+
+import com.clause.app.common.ClauseException;
+import com.clause.app.common.ErrorCode;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class LlmCircuitBreakerTest {
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @AfterEach
+    void tearDown() {
+        circuitBreakerRegistry.circuitBreaker(LlmAvailability.CIRCUIT_BREAKER_NAME).reset();
+    }
+
+    @Test
+    void testLimiterRejectionsDoNotOpenBreaker() throws Exception {
+        CircuitBreaker breaker = circuitBreakerRegistry.circuitBreaker(LlmAvailability.CIRCUIT_BREAKER_NAME);
+        // 한도 1, 대기열 0: 첫 호출이 붙잡고 있는 동안 나머지는 모두 queue_full로 거절된다.
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                new SimpleMeterRegistry(), 1, 1, 1, 0.9, 30000, 0, 0);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> limiter.execute(() -> {
+                started.countDown();
+                try {
+                    return finish.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            for (int i = 0; i < 20; i++) {
+                assertThatThrownBy(() -> breaker.executeSupplier(() -> limiter.execute(() -> "ok")))
+                        .isInstanceOfSatisfying(ClauseException.class,
+                                e -> assertThat(e.getErrorCode()).isEqualTo(ErrorCode.LLM_OVERLOADED));
+            }
+
+            assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+            assertThat(breaker.getMetrics().getNumberOfFailedCalls()).isZero();
+        } finally {
+            finish.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testUpstreamFailuresStillOpenBreaker() {
+        CircuitBreaker breaker = circuitBreakerRegistry.circuitBreaker(LlmAvailability.CIRCUIT_BREAKER_NAME);
+
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> breaker.executeSupplier(() -> {
+                throw new ClauseException(ErrorCode.LLM_UPSTREAM_ERROR);
+            })).isInstanceOf(ClauseException.class);
+        }
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+}
@@ -0,0 +1,204 @@
+package com.clause.app.domain.llm;
+
+import com.clause.app.config.LlmRoutingProperties;
+import com.clause.app.config.ModelTierProperties;
+import com.clause.app.domain.llm.dto.LlmRequest;
+import com.clause.app.domain.llm.dto.LlmResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LlmEndpointRouterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testPrefersLowerLatencyEndpoint() throws Exception {
+        try (StubLlmServer slow = new StubLlmServer("model-a", index -> 400);
+             StubLlmServer fast = new StubLlmServer("model-b", index -> 20)) {
+            HttpLlmClient client = newClient(properties(
+                    endpoint("a", slow.baseUrl(), "model-a", 0),
+                    endpoint("b", fast.baseUrl(), "model-b", 0)));
+
+            for (int i = 0; i < 10; i++) {
+                client.call(request(1000));
+            }
+
+            assertThat(slow.requestCount()).isEqualTo(1);
+            assertThat(fast.requestCount()).isEqualTo(9);
+        }
+    }
+
+    @Test
+    void testFailsOverAndEjectsFailingEndpoint() throws Exception {
+        try (StubLlmServer broken = new StubLlmServer("model-a", index -> 0, index -> 503);
+             StubLlmServer healthy = new StubLlmServer("model-b", index -> 20)) {
+            LlmRoutingProperties properties = properties(
+                    endpoint("a", broken.baseUrl(), "model-a", 0),
+                    endpoint("b", healthy.baseUrl(), "model-b", 0));
+            properties.setEjectAfterFailures(2);
+            HttpLlmClient client = newClient(properties);
+
+            for (int i = 0; i < 5; i++) {
+                LlmResponse response = client.call(request(1000));
+                assertThat(response.getModel()).isEqualTo("model-b");
+            }
+
+            assertThat(broken.requestCount()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void testRoutesLargePromptsToEndpointThatFits() {
+        LlmEndpointRouter router = new LlmEndpointRouter(WebClient.builder(), meterRegistry, properties(
+                endpoint("small", "http://127.0.0.1:1", "small-model", 4000),
+                endpoint("large", "http://127.0.0.1:2", "large-model", 0)), new ModelTierProperties(), "", "", "gpt-4o-mini");
+
+        assertThat(router.select(1000).getName()).isEqualTo("small");
+        assertThat(router.select(9000).getName()).isEqualTo("large");
+    }
+
+    @Test
+    void testSlowEndpointDecaysBackToPrior() {
+        LlmEndpoint endpoint = new LlmEndpoint("slow", "model-a", 0, Map.of(), WebClient.create(),
+                0.3, 3, 30000, 3000, 1000, meterRegistry);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 20; i++) {
+            endpoint.recordSuccess(20000, now);
+        }
+        assertThat(endpoint.cost(now)).isGreaterThan(15000);
+
+        assertThat(endpoint.cost(now + 10_000)).isCloseTo(3000, within(10.0));
+    }
+
+    @Test
+    void testFirstSampleSeedsLatencyInsteadOfPrior() {
+        LlmEndpoint endpoint = new LlmEndpoint("fast", "model-a", 0, Map.of(), WebClient.create(),
+                0.3, 3, 30000, 3000, 60000, meterRegistry);
+        long now = System.currentTimeMillis();
+        endpoint.recordSuccess(20, now);
+        assertThat(endpoint.cost(now)).isCloseTo(20, within(1.0));
+
+        endpoint.recordSuccess(120, now);
+        assertThat(endpoint.cost(now)).isCloseTo(50, within(1.0));
+    }
+
+    @Test
+    void testProbesEndpointIdleLongerThanProbeInterval() throws Exception {
+        LlmRoutingProperties properties = properties(
+                endpoint("a", "http://127.0.0.1:1", "model-a", 0),
+                endpoint("b", "http://127.0.0.1:2", "model-b", 0));
+        properties.setProbeIntervalMs(100);
+        LlmEndpointRouter router = new LlmEndpointRouter(WebClient.builder(), meterRegistry, properties,
+                new ModelTierProperties(), "", "", "gpt-4o-mini");
+        LlmEndpoint slow = router.getEndpoints().get(0);
+        LlmEndpoint fast = router.getEndpoints().get(1);
+        long now = System.currentTimeMillis();
+        slow.recordSuccess(20000, now);
+        fast.recordSuccess(20, now);
+        assertThat(router.select(1000)).isSameAs(fast);
+
+        Thread.sleep(150);
+        fast.begin(System.currentTimeMillis());
+        fast.end();
+        assertThat(router.select(1000)).isSameAs(slow);
+
+        slow.begin(System.currentTimeMillis());
+        slow.end();
+        assertThat(router.select(1000)).isSameAs(fast);
+    }
+
+    @Test
+    void testResolvesTierToEachEndpointsOwnModel() {
+        LlmRoutingProperties.Endpoint us = endpoint("us", "http://127.0.0.1:1", "gpt-4o", 0);
+        us.getTierModels().put(ModelTierPolicy.Tier.LIGHT, "gpt-4o-mini");
+        LlmRoutingProperties.Endpoint eu = endpoint("eu", "http://127.0.0.1:2", "eu-large", 0);
+        ModelTierProperties tierProperties = new ModelTierProperties();
+        tierProperties.setLight(new ModelTierProperties.TierModel("global-light", 1500));
+
+        LlmEndpointRouter router = new LlmEndpointRouter(WebClient.builder(), meterRegistry,
+                properties(us, eu), tierProperties, "", "", "gpt-4o-mini");
+
+        LlmEndpoint usEndpoint = router.getEndpoints().get(0);
+        LlmEndpoint euEndpoint = router.getEndpoints().get(1);
+        assertThat(usEndpoint.modelFor(ModelTierPolicy.Tier.LIGHT)).isEqualTo("gpt-4o-mini");
+        assertThat(usEndpoint.modelFor(ModelTierPolicy.Tier.HEAVY)).isEqualTo("gpt-4o");
+        // 라우팅 엔드포인트에는 전역 등급 모델을 쓰지 않는다.
+        assertThat(euEndpoint.modelFor(ModelTierPolicy.Tier.LIGHT)).isEqualTo("eu-large");
+        assertThat(euEndpoint.modelFor(null)).isEqualTo("eu-large");
+    }
+
+    @Test
+    void testDefaultEndpointUsesGlobalTierModels() {
+        ModelTierProperties tierProperties = new ModelTierProperties();
+        tierProperties.setLight(new ModelTierProperties.TierModel("small-model", 1500));
+
+        LlmEndpointRouter router = new LlmEndpointRouter(WebClient.builder(), meterRegistry,
+                new LlmRoutingProperties(), tierProperties, "http://127.0.0.1:1", "test-key", "large-model");
+
+        LlmEndpoint endpoint = router.getEndpoints().get(0);
+        assertThat(endpoint.modelFor(ModelTierPolicy.Tier.LIGHT)).isEqualTo("small-model");
+        assertThat(endpoint.modelFor(ModelTierPolicy.Tier.STANDARD)).isEqualTo("large-model");
+    }
+
+    @Test
+    void testSendsTierModelOfSelectedEndpoint() throws Exception {
+        try (StubLlmServer server = new StubLlmServer("gpt-4o-mini", index -> 0)) {
+            LlmRoutingProperties.Endpoint endpoint = endpoint("us", server.baseUrl(), "gpt-4o", 0);
+            endpoint.getTierModels().put(ModelTierPolicy.Tier.LIGHT, "gpt-4o-mini");
+            HttpLlmClient client = newClient(properties(endpoint));
+
+            LlmRequest request = request(1000);
+            request.setTier(ModelTierPolicy.Tier.LIGHT);
+            client.call(request);
+            client.call(request(1000));
+
+            ObjectMapper objectMapper = new ObjectMapper();
+            assertThat(objectMapper.readTree(server.requestBodies().get(0)).get("model").asText()).isEqualTo("gpt-4o-mini");
+            assertThat(objectMapper.readTree(server.requestBodies().get(1)).get("model").asText()).isEqualTo("gpt-4o");
+        }
+    }
+
+    private HttpLlmClient newClient(LlmRoutingProperties properties) {
+        return new HttpLlmClient(
+                new LlmEndpointRouter(WebClient.builder(), meterRegistry, properties, new ModelTierProperties(),
+                        "", "", "gpt-4o-mini"),
+                new ObjectMapper(),
+                new LlmRetryPolicy(meterRegistry, 2, 0, 0, 0.1, 10),
+                new AdaptiveConcurrencyLimiter(meterRegistry, 8, 1, 64, 0.9, 30000, 50, 5000),
+                new LlmHedgingPolicy(meterRegistry, false, 0.95, 20000, 2000, 200, 20, 0.1, 5),
+                10000);
+    }
+
+    private LlmRoutingProperties properties(LlmRoutingProperties.Endpoint... endpoints) {
+        LlmRoutingProperties properties = new LlmRoutingProperties();
+        properties.setEndpoints(List.of(endpoints));
+        return properties;
+    }
+
+    private LlmRoutingProperties.Endpoint endpoint(String name, String baseUrl, String model, int maxInputTokens) {
+        LlmRoutingProperties.Endpoint endpoint = new LlmRoutingProperties.Endpoint();
+        endpoint.setName(name);
+        endpoint.setBaseUrl(baseUrl);
+        endpoint.setApiKey("test-key");
+        endpoint.setModel(model);
+        endpoint.setMaxInputTokens(maxInputTokens);
+        return endpoint;
+    }
+
+    private LlmRequest request(int estimatedInputTokens) {
+        return LlmRequest.builder()
+                .systemPrompt("system")
+                .developerPrompt("developer")
+                .userPrompt("user")
+                .estimatedInputTokens(estimatedInputTokens)
+                .build();
+    }
+}
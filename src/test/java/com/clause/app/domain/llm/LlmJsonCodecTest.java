@@ -0,0 +1,121 @@
+package com.clause.app.domain.llm;
+
+import com.clause.app.common.AnalysisSchema;
+import com.clause.app.domain.llm.dto.LlmRequest;
+import com.clause.app.domain.llm.dto.LlmResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LlmJsonCodecTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LlmJsonCodec codec = new LlmJsonCodec(objectMapper.getFactory());
+
+    @Test
+    void testWritesStaticPromptsAsSystemPrefix() throws Exception {
+        LlmRequest request = LlmRequest.builder()
+                .systemPrompt("시스템 \"프롬프트\"")
+                .developerPrompt("개발자 프롬프트")
+                .userPrompt("제1조 계약 기간\n제2조 손해배상")
+                .maxTokens(1500)
+                .build();
+
+        DataBuffer buffer = codec.writeRequest(DefaultDataBufferFactory.sharedInstance, request, "gpt-4o-mini", true);
+        JsonNode json;
+        try {
+            json = objectMapper.readTree(buffer.toString(StandardCharsets.UTF_8));
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+
+        assertThat(json.get("model").asText()).isEqualTo("gpt-4o-mini");
+        assertThat(json.get("temperature").asDouble()).isEqualTo(0.3);
+        assertThat(json.get("max_tokens").asInt()).isEqualTo(1500);
+        assertThat(json.get("stream").asBoolean()).isTrue();
+        assertThat(json.get("stream_options").get("include_usage").asBoolean()).isTrue();
+        assertThat(json.get("messages").get(0).get("content").asText()).isEqualTo("시스템 \"프롬프트\"\n\n개발자 프롬프트");
+        assertThat(json.get("messages").get(1).get("content").asText()).isEqualTo("제1조 계약 기간\n제2조 손해배상");
+        assertThat(json.has("response_format")).isFalse();
+    }
+
+    @Test
+    void testWritesResponseFormatVerbatim() throws Exception {
+        LlmRequest request = LlmRequest.builder()
+                .systemPrompt("시스템")
+                .userPrompt("제1조")
+                .responseFormat(AnalysisSchema.responseFormat())
+                .build();
+
+        DataBuffer buffer = codec.writeRequest(DefaultDataBufferFactory.sharedInstance, request, "gpt-4o-mini", false);
+        JsonNode json;
+        try {
+            json = objectMapper.readTree(buffer.toString(StandardCharsets.UTF_8));
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+
+        assertThat(json.get("response_format")).isEqualTo(objectMapper.readTree(AnalysisSchema.responseFormat()));
+        assertThat(json.get("response_format").get("json_schema").get("strict").asBoolean()).isTrue();
+    }
+
+    @Test
+    void testReadsOnlyNeededResponseFields() throws Exception {
+        String body = """
+                {
+                  "id": "chatcmpl-1",
+                  "system_fingerprint": {"content": "무시"},
+                  "choices": [
+                    {"index": 0, "logprobs": null, "message": {"role": "assistant", "content": "{\\"items\\": []}", "refusal": null}},
+                    {"index": 1, "message": {"content": "두 번째"}}
+                  ],
+                  "usage": {"prompt_tokens": 120, "completion_tokens": 30, "total_tokens": 150,
+                            "prompt_tokens_details": {"cached_tokens": 0}},
+                  "model": "gpt-4o-mini-2024-07-18"
+                }
+                """;
+
+        LlmResponse response = codec.readResponse(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), "gpt-4o-mini");
+
+        assertThat(response.getContent()).isEqualTo("{\"items\": []}");
+        assertThat(response.getModel()).isEqualTo("gpt-4o-mini-2024-07-18");
+        assertThat(response.getPromptTokens()).isEqualTo(120);
+        assertThat(response.getCompletionTokens()).isEqualTo(30);
+        assertThat(response.getUsageTokens()).isEqualTo(150);
+        assertThat(response.getCachedPromptTokens()).isZero();
+    }
+
+    @Test
+    void testRejectsResponseWithoutChoices() {
+        assertThatThrownBy(() -> codec.readResponse(
+                new ByteArrayInputStream("{\"choices\": []}".getBytes(StandardCharsets.UTF_8)), "gpt-4o-mini"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testReadsStreamChunks() throws Exception {
+        LlmJsonCodec.StreamChunk delta = codec.readChunk(
+                "{\"model\":\"gpt-4o-mini\",\"choices\":[{\"index\":0,\"delta\":{\"content\":\"조항\"}}]}");
+        LlmJsonCodec.StreamChunk usage = codec.readChunk(
+                "{\"choices\":[],\"usage\":{\"prompt_tokens\":10,\"completion_tokens\":5,\"total_tokens\":15,"
+                        + "\"prompt_tokens_details\":{\"cached_tokens\":8}}}");
+
+        assertThat(delta.model()).isEqualTo("gpt-4o-mini");
+        assertThat(delta.content()).isEqualTo("조항");
+        assertThat(delta.hasUsage()).isFalse();
+        assertThat(usage.content()).isNull();
+        assertThat(usage.hasUsage()).isTrue();
+        assertThat(usage.totalTokens()).isEqualTo(15);
+        assertThat(usage.cachedPromptTokens()).isEqualTo(8);
+    }
+}
@@ -0,0 +1,63 @@
+package com.clause.app.domain.llm;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LlmRetryPolicyTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testRetriesRetryableStatusUntilSuccess() {
+        LlmRetryPolicy policy = new LlmRetryPolicy(meterRegistry, 2, 0, 0, 0.1, 10);
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = policy.execute(() -> {
+            if (calls.incrementAndGet() < 3) {
+                throw WebClientResponseException.create(503, "Service Unavailable", null, null, null);
+            }
+            return "ok";
+        });
+
+        assertThat(result).isEqualTo("ok");
+        assertThat(calls.get()).isEqualTo(3);
+        assertThat(meterRegistry.get("clause.llm.call.attempts").tag("outcome", "success").summary().totalAmount())
+                .isEqualTo(3);
+    }
+
+    @Test
+    void testDoesNotRetryClientError() {
+        LlmRetryPolicy policy = new LlmRetryPolicy(meterRegistry, 2, 0, 0, 0.1, 10);
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> policy.execute(() -> {
+            calls.incrementAndGet();
+            throw WebClientResponseException.create(400, "Bad Request", null, null, null);
+        })).isInstanceOf(WebClientResponseException.class);
+
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void testBudgetStopsRetriesWhenExhausted() {
+        LlmRetryPolicy policy = new LlmRetryPolicy(meterRegistry, 2, 0, 0, 0.1, 2);
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> policy.execute(() -> {
+                calls.incrementAndGet();
+                throw WebClientResponseException.create(502, "Bad Gateway", null, null, null);
+            })).isInstanceOf(WebClientResponseException.class);
+        }
+
+        // 첫 호출이 토큰 2개를 모두 쓰고, 이후 호출은 재시도 없이 한 번씩만 나간다.
+        assertThat(calls.get()).isEqualTo(3 + 1 + 1);
+        assertThat(meterRegistry.get("clause.llm.retry.budget.exhausted").counter().count()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,47 @@
+package com.clause.app.domain.llm;
+
+import com.clause.app.config.LlmRoutingProperties;
+import com.clause.app.config.ModelTierProperties;
+import com.clause.app.config.LlmTransportConfig;
+import com.clause.app.domain.llm.dto.LlmRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LlmTransportTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LlmTransportConfig config = new LlmTransportConfig();
+
+    @Test
+    void testSequentialCallsReusePooledConnection() throws Exception {
+        ConnectionProvider provider = config.llmConnectionProvider(meterRegistry, 4, 10, 1000, 30000, 300000, 30000);
+        try (StubLlmServer server = new StubLlmServer("stub-model", index -> 0)) {
+            WebClient.Builder builder = config.llmWebClientBuilder(provider, meterRegistry, 1000, false, false);
+            HttpLlmClient client = new HttpLlmClient(
+                    new LlmEndpointRouter(builder, meterRegistry, new LlmRoutingProperties(), new ModelTierProperties(),
+                            server.baseUrl(), "test-key", "gpt-4o-mini"),
+                    new ObjectMapper(),
+                    new LlmRetryPolicy(meterRegistry, 0, 0, 0, 0.1, 10),
+                    new AdaptiveConcurrencyLimiter(meterRegistry, 8, 1, 64, 0.9, 30000, 50, 5000),
+                    new LlmHedgingPolicy(meterRegistry, false, 0.95, 20000, 2000, 200, 20, 0.1, 5),
+                    10000);
+
+            for (int i = 0; i < 3; i++) {
+                client.call(LlmRequest.builder().systemPrompt("system").developerPrompt("developer").userPrompt("user").build());
+            }
+
+            // 서버가 keep-alive 연결을 먼저 닫으면 새 연결이 생길 수 있으므로 새 연결 수는 정확히 세지 않는다.
+            assertThat(server.requestCount()).isEqualTo(3);
+            assertThat(meterRegistry.get("clause.llm.http.connections").tag("event", "reused").counter().count())
+                    .isGreaterThanOrEqualTo(1);
+            assertThat(meterRegistry.get("clause.llm.http.pool.total").gauge().value()).isLessThanOrEqualTo(4);
+        } finally {
+            provider.dispose();
+        }
+    }
+}
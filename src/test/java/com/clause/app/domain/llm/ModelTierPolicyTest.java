@@ -0,0 +1,83 @@
+package com.clause.app.domain.llm;
+
+import com.clause.app.config.ModelTierProperties;
+import com.clause.app.domain.rules.enums.ContractType;
+import com.clause.app.domain.rules.enums.RuleCategory;
+import com.clause.app.domain.rules.enums.RuleSeverity;
+import com.clause.app.domain.rules.model.ClauseCandidate;
+import com.clause.app.domain.rules.model.RuleTrigger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ModelTierPolicyTest {
+
+    @Test
+    void testChoosesTierFromRuleSignals() {
+        ModelTierPolicy policy = new ModelTierPolicy(properties(), new SimpleMeterRegistry());
+
+        ModelTierPolicy.Decision light = policy.decide(ContractType.FREELANCER,
+                List.of(candidate(RuleSeverity.CHECK, 5)), 1200, 950);
+        assertThat(light.tier()).isEqualTo(ModelTierPolicy.Tier.LIGHT);
+        assertThat(light.maxTokens()).isEqualTo(950);
+        assertThat(light.label("small-model-2024")).isEqualTo("light:small-model-2024");
+
+        ModelTierPolicy.Decision standard = policy.decide(ContractType.FREELANCER,
+                List.of(candidate(RuleSeverity.WARNING, 10)), 1200, 3000);
+        assertThat(standard.tier()).isEqualTo(ModelTierPolicy.Tier.STANDARD);
+
+        ModelTierProperties properties = properties();
+        assertThat(properties.modelFor(ModelTierPolicy.Tier.LIGHT, "default-model")).isEqualTo("small-model");
+        assertThat(properties.modelFor(ModelTierPolicy.Tier.STANDARD, "default-model")).isEqualTo("default-model");
+        assertThat(properties.modelFor(null, "default-model")).isEqualTo("default-model");
+
+        List<ClauseCandidate> risky = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            risky.add(candidate(RuleSeverity.WARNING, 10));
+        }
+        assertThat(policy.decide(ContractType.FREELANCER, risky, 1200, 4000).tier())
+                .isEqualTo(ModelTierPolicy.Tier.HEAVY);
+    }
+
+    @Test
+    void testContractTypeOverridesOnlyGivenThresholds() {
+        ModelTierProperties properties = properties();
+        ModelTierProperties.Thresholds lease = new ModelTierProperties.Thresholds();
+        lease.setLightMaxScore(3);
+        properties.getContractTypes().put(ContractType.LEASE, lease);
+        ModelTierPolicy policy = new ModelTierPolicy(properties, new SimpleMeterRegistry());
+
+        List<ClauseCandidate> candidates = List.of(candidate(RuleSeverity.CHECK, 5));
+        assertThat(policy.decide(ContractType.FREELANCER, candidates, 1200, 4000).tier())
+                .isEqualTo(ModelTierPolicy.Tier.LIGHT);
+        assertThat(policy.decide(ContractType.LEASE, candidates, 1200, 4000).tier())
+                .isEqualTo(ModelTierPolicy.Tier.STANDARD);
+    }
+
+    private ModelTierProperties properties() {
+        ModelTierProperties properties = new ModelTierProperties();
+        properties.setEnabled(true);
+        properties.setLight(new ModelTierProperties.TierModel("small-model", 1500));
+        properties.setStandard(new ModelTierProperties.TierModel("", 4000));
+        return properties;
+    }
+
+    private ClauseCandidate candidate(RuleSeverity severity, int weight) {
+        RuleTrigger trigger = RuleTrigger.builder()
+                .ruleId("R-TEST")
+                .category(RuleCategory.values()[0])
+                .severity(severity)
+                .weight(weight)
+                .build();
+        return ClauseCandidate.builder()
+                .id("C-001")
+                .text("조항")
+                .ruleTriggers(List.of(trigger))
+                .totalScore(weight)
+                .build();
+    }
+}
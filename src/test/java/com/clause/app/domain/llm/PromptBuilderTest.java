@@ -0,0 +1,97 @@
+package com.clause.app.domain.llm;
+
+import com.clause.app.domain.llm.token.TokenBudgetManager;
+import com.clause.app.domain.rules.engine.RuleCatalogLoader;
+import com.clause.app.domain.rules.enums.ContractType;
+import com.clause.app.domain.rules.enums.UserProfile;
+import com.clause.app.domain.rules.model.ClauseCandidate;
+import com.clause.app.domain.rules.model.RulePattern;
+import com.clause.app.domain.rules.model.RuleTrigger;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class PromptBuilderTest {
+
+    @Autowired
+    private PromptBuilder promptBuilder;
+
+    @Autowired
+    private RuleCatalogLoader ruleCatalogLoader;
+
+    @Autowired
+    private TokenBudgetManager tokenBudgetManager;
+
+    @Autowired
+    private ClauseExcerptor clauseExcerptor;
+
+    @Test
+    void testDeveloperPromptIsMemoized() {
+        String first = promptBuilder.buildDeveloperPrompt();
+        String second = promptBuilder.buildDeveloperPrompt();
+
+        assertThat(second).isSameAs(first);
+        assertThat(first).isEqualTo(promptBuilder.renderDeveloperPrompt());
+    }
+
+    @Test
+    void testStaticPrefixIsSharedAcrossContractTypes() {
+        ClauseCandidate candidate = ClauseCandidate.builder()
+                .id("C-001").title("제1조").text("계약 기간").ruleTriggers(List.of()).build();
+        PromptBundle lease = promptBuilder.buildPrompts(List.of(candidate), ContractType.LEASE, UserProfile.STUDENT, "ko-KR");
+        PromptBundle nda = promptBuilder.buildPrompts(List.of(candidate), ContractType.NDA, UserProfile.FREELANCER, "ko-KR");
+
+        assertThat(nda.systemPrompt()).isEqualTo(lease.systemPrompt());
+        assertThat(nda.developerPrompt()).isEqualTo(lease.developerPrompt());
+        assertThat(lease.developerPrompt()).doesNotContain("Contract Type: LEASE");
+        assertThat(lease.userPrompt()).contains("Contract Type: LEASE");
+        assertThat(nda.userPrompt()).contains("Contract Type: NDA");
+    }
+
+    @Test
+    void testPromptSignatureReflectsPromptSettings() {
+        PromptBuilder triggered = new PromptBuilder(
+                ruleCatalogLoader, tokenBudgetManager, clauseExcerptor, PromptBuilder.RuleScope.TRIGGERED);
+        PromptBuilder windows = new PromptBuilder(ruleCatalogLoader, tokenBudgetManager,
+                new ClauseExcerptor(ClauseExcerptor.Mode.WINDOWS, 160, 600), promptBuilder.getRuleScope());
+
+        assertThat(List.of(triggered.promptSignature(), windows.promptSignature()))
+                .doesNotContain(promptBuilder.promptSignature())
+                .doesNotHaveDuplicates();
+    }
+
+    @Test
+    void testTriggeredScopeListsOnlyFiredRules() {
+        PromptBuilder triggeredBuilder = new PromptBuilder(
+                ruleCatalogLoader, tokenBudgetManager, clauseExcerptor, PromptBuilder.RuleScope.TRIGGERED);
+        List<RulePattern> rules = ruleCatalogLoader.getRules();
+        RulePattern fired = rules.get(0);
+        RulePattern notFired = rules.get(rules.size() - 1);
+        ClauseCandidate candidate = ClauseCandidate.builder()
+                .id("C-001")
+                .title("제1조")
+                .text("위약금 조항")
+                .ruleTriggers(List.of(RuleTrigger.builder()
+                        .ruleId(fired.getId())
+                        .category(fired.getCategory())
+                        .severity(fired.getSeverity())
+                        .weight(fired.getBaseWeight())
+                        .build()))
+                .build();
+
+        PromptBundle scoped = triggeredBuilder.buildPrompts(
+                List.of(candidate), ContractType.LEASE, UserProfile.STUDENT, "ko-KR");
+        String full = promptBuilder.buildDeveloperPrompt();
+
+        assertThat(scoped.userPrompt()).contains("- " + fired.getId() + " | ");
+        assertThat(scoped.userPrompt()).doesNotContain(notFired.getId());
+        assertThat(scoped.developerPrompt()).doesNotContain(notFired.getId());
+        assertThat(scoped.developerPrompt()).contains("## Required JSON Schema");
+        assertThat(scoped.developerPrompt().length()).isLessThan(full.length());
+    }
+}
@@ -0,0 +1,51 @@
+package com.clause.app.domain.llm;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StreamingItemExtractorTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testEmitsEachItemWhenComplete() throws Exception {
+        String response = "```json\n" + """
+                {
+                  "overall_summary": {"warning_count": 1, "key_points": ["\\"items\\": [ {x} ]"]},
+                  "items": [
+                    {"clause_id": "C-001", "title": "제1조 {중괄호}", "label": "WARNING",
+                     "risk_reason": "따옴표 \\" 와 ] 가 포함돼요.", "triggers": ["R-W-PEN-001"]},
+                    {"clause_id": "C-002", "title": "제2조", "label": "CHECK", "triggers": []}
+                  ],
+                  "negotiation_suggestions": [{"ignored": true}]
+                }
+                """ + "```";
+
+        StreamingItemExtractor extractor = new StreamingItemExtractor();
+        List<String> items = new ArrayList<>();
+        for (int i = 0; i < response.length(); i += 7) {
+            items.addAll(extractor.feed(response.substring(i, Math.min(response.length(), i + 7))));
+        }
+
+        assertThat(items).hasSize(2);
+        JsonNode first = objectMapper.readTree(items.get(0));
+        assertThat(first.get("clause_id").asText()).isEqualTo("C-001");
+        assertThat(first.get("title").asText()).isEqualTo("제1조 {중괄호}");
+        assertThat(objectMapper.readTree(items.get(1)).get("label").asText()).isEqualTo("CHECK");
+    }
+
+    @Test
+    void testItemIsNotEmittedUntilClosed() {
+        StreamingItemExtractor extractor = new StreamingItemExtractor();
+
+        assertThat(extractor.feed("{\"items\": [{\"clause_id\": \"C-001\"")).isEmpty();
+        assertThat(extractor.feed(", \"label\": \"OK\"}")).hasSize(1);
+        assertThat(extractor.feed("]}")).isEmpty();
+    }
+}
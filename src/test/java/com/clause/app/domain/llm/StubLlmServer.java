@@ -0,0 +1,93 @@
+package com.clause.app.domain.llm;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * 테스트용 로컬 LLM 서버. /v1/chat/completions 요청마다 latency(요청 순번)만큼 기다린 뒤
+ * status(요청 순번)가 200이면 고정 응답을, 아니면 오류 본문을 돌려준다. 받은 요청 본문은 순서대로 남긴다.
+ * 응답 본문은 두 번에 나눠 보내므로, 클라이언트가 먼저 연결을 끊은 요청은 쓰기가 실패해 abortedCount()로 센다.
+ */
+class StubLlmServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger aborted = new AtomicInteger();
+    private final List<String> requestBodies = new CopyOnWriteArrayList<>();
+
+    StubLlmServer(String model, IntToLongFunction latencyMs) throws IOException {
+        this(model, latencyMs, index -> 200);
+    }
+
+    StubLlmServer(String model, IntToLongFunction latencyMs, IntUnaryOperator status) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1/chat/completions", exchange -> {
+            int index = requests.getAndIncrement();
+            requestBodies.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            try {
+                Thread.sleep(latencyMs.applyAsLong(index));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            int code = status.applyAsInt(index);
+            String body = code == 200
+                    ? """
+                      {"model": "%s", "choices": [{"message": {"content": "{\\"items\\": []}"}}],
+                       "usage": {"prompt_tokens": 10, "completion_tokens": 5, "total_tokens": 15}}
+                      """.formatted(model)
+                    : "{\"error\": \"stub\"}";
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            try {
+                exchange.sendResponseHeaders(code, 0);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(bytes, 0, bytes.length / 2);
+                    out.flush();
+                    Thread.sleep(50);
+                    out.write(bytes, bytes.length / 2, bytes.length - bytes.length / 2);
+                }
+            } catch (IOException e) {
+                // 헤지에서 진 요청은 클라이언트가 먼저 연결을 끊는다.
+                aborted.incrementAndGet();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    int requestCount() {
+        return requests.get();
+    }
+
+    int abortedCount() {
+        return aborted.get();
+    }
+
+    List<String> requestBodies() {
+        return requestBodies;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
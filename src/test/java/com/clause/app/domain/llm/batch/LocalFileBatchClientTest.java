@@ -0,0 +1,91 @@
+package com.clause.app.domain.llm.batch;
+
+import com.clause.app.config.ModelTierProperties;
+import com.clause.app.domain.llm.LlmClient;
+import com.clause.app.domain.llm.dto.LlmRequest;
+import com.clause.app.domain.llm.dto.LlmResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalFileBatchClientTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRoundTripsRequestsThroughBatchFiles() throws Exception {
+        List<LlmRequest> received = new ArrayList<>();
+        LlmClient responder = request -> {
+            received.add(request);
+            if (request.getUserPrompt().contains("실패")) {
+                throw new IllegalStateException("응답 생성 실패");
+            }
+            return LlmResponse.builder()
+                    .content("{\"items\": []}")
+                    .model("stub-model")
+                    .promptTokens(100)
+                    .completionTokens(10)
+                    .usageTokens(110)
+                    .build();
+        };
+        LocalFileBatchClient client = new LocalFileBatchClient(directory.toString(), responder, objectMapper, "gpt-4o-mini",
+                new ModelTierProperties());
+
+        String batchId = client.submit(List.of(
+                new LlmBatchClient.BatchEntry("a", request("제1조 계약 기간")),
+                new LlmBatchClient.BatchEntry("b", request("실패할 조항"))));
+
+        List<String> inputLines = Files.readAllLines(directory.resolve(batchId + ".input.jsonl"), StandardCharsets.UTF_8);
+        assertThat(inputLines).hasSize(2);
+        JsonNode first = objectMapper.readTree(inputLines.get(0));
+        assertThat(first.get("custom_id").asText()).isEqualTo("a");
+        assertThat(first.get("url").asText()).isEqualTo(LlmBatchFiles.ENDPOINT);
+        assertThat(first.get("body").get("model").asText()).isEqualTo("gpt-4o-mini");
+        assertThat(first.get("body").has("stream")).isFalse();
+
+        LlmBatchClient.BatchStatus status = client.poll(batchId);
+        assertThat(status.isTerminal()).isTrue();
+        assertThat(status.total()).isEqualTo(2);
+        assertThat(status.completed()).isEqualTo(1);
+        assertThat(status.failed()).isEqualTo(1);
+        assertThat(received.get(0).getSystemPrompt()).isEqualTo("시스템\n\n개발자");
+        assertThat(received.get(0).getMaxTokens()).isEqualTo(1500);
+
+        Map<String, LlmBatchClient.BatchResult> results = client.results(batchId).stream()
+                .collect(Collectors.toMap(LlmBatchClient.BatchResult::customId, Function.identity()));
+        assertThat(results.get("a").isSuccess()).isTrue();
+        assertThat(results.get("a").response().getContent()).isEqualTo("{\"items\": []}");
+        assertThat(results.get("a").response().getModel()).isEqualTo("stub-model");
+        assertThat(results.get("a").response().getUsageTokens()).isEqualTo(110);
+        assertThat(results.get("b").isSuccess()).isFalse();
+        assertThat(results.get("b").error()).isEqualTo("응답 생성 실패");
+
+        // 두 번째 poll은 다시 처리하지 않는다.
+        client.poll(batchId);
+        assertThat(received).hasSize(2);
+    }
+
+    private static LlmRequest request(String userPrompt) {
+        return LlmRequest.builder()
+                .systemPrompt("시스템")
+                .developerPrompt("개발자")
+                .userPrompt(userPrompt)
+                .maxTokens(1500)
+                .build();
+    }
+}
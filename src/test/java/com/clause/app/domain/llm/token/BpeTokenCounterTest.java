@@ -0,0 +1,37 @@
+package com.clause.app.domain.llm.token;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BpeTokenCounterTest {
+
+    @Test
+    void testMergesByRank() {
+        BpeTokenCounter counter = new BpeTokenCounter(new DefaultResourceLoader(), "classpath:tokenizer/test.tiktoken", true);
+
+        assertThat(counter.isVocabularyLoaded()).isTrue();
+        assertThat(counter.count("abc")).isEqualTo(1);
+        assertThat(counter.count("abd")).isEqualTo(2);
+        assertThat(counter.count("abc abd")).isEqualTo(4);
+        assertThat(counter.count("계약")).isEqualTo(6);
+    }
+
+    @Test
+    void testFallsBackToEstimateWithoutVocabulary() {
+        BpeTokenCounter counter = new BpeTokenCounter(new DefaultResourceLoader(), "classpath:tokenizer/missing.tiktoken", false);
+
+        assertThat(counter.isVocabularyLoaded()).isFalse();
+        assertThat(counter.count("abcdefgh")).isEqualTo(2);
+        assertThat(counter.count("계약서")).isEqualTo(3);
+    }
+
+    @Test
+    void testFailsWhenRequiredVocabularyIsMissing() {
+        assertThatThrownBy(() -> new BpeTokenCounter(new DefaultResourceLoader(), "classpath:tokenizer/missing.tiktoken", true))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("missing.tiktoken");
+    }
+}
@@ -0,0 +1,65 @@
+package com.clause.app.domain.llm.token;
+
+import com.clause.app.domain.rules.model.ClauseCandidate;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBudgetManagerTest {
+
+    // 글자 수를 그대로 토큰 수로 본다.
+    private final TokenCounter lengthCounter = text -> text == null ? 0 : text.length();
+
+    private static ClauseCandidate candidate(String id, int score, int length) {
+        return ClauseCandidate.builder()
+                .id(id)
+                .title(id)
+                .text("가".repeat(length))
+                .ruleTriggers(List.of())
+                .totalScore(score)
+                .build();
+    }
+
+    private static String render(List<ClauseCandidate> candidates) {
+        return candidates.stream().map(ClauseCandidate::getText).collect(Collectors.joining());
+    }
+
+    @Test
+    void testDropsLowestScoreThenLongestFirst() {
+        TokenBudgetManager manager = new TokenBudgetManager(lengthCounter, 262, 600, 350, 4000);
+        List<ClauseCandidate> candidates = List.of(
+                candidate("C-001", 5, 100),
+                candidate("C-002", 1, 50),
+                candidate("C-003", 1, 120),
+                candidate("C-004", 3, 100));
+
+        TokenBudgetManager.FittedPrompt fitted = manager.fit(candidates, 0, TokenBudgetManagerTest::render);
+
+        assertThat(fitted.candidates()).extracting(ClauseCandidate::getId)
+                .containsExactly("C-001", "C-002", "C-004");
+        assertThat(fitted.estimatedTokens()).isLessThanOrEqualTo(262);
+    }
+
+    @Test
+    void testTruncatesLastRemainingCandidate() {
+        TokenBudgetManager manager = new TokenBudgetManager(lengthCounter, 112, 600, 350, 4000);
+
+        TokenBudgetManager.FittedPrompt fitted = manager.fit(
+                List.of(candidate("C-001", 5, 500)), 0, TokenBudgetManagerTest::render);
+
+        assertThat(fitted.candidates()).hasSize(1);
+        assertThat(fitted.candidates().get(0).getText()).endsWith("(이하 생략)");
+        assertThat(fitted.estimatedTokens()).isLessThanOrEqualTo(112);
+    }
+
+    @Test
+    void testMaxOutputTokensScalesWithItems() {
+        TokenBudgetManager manager = new TokenBudgetManager(lengthCounter, 12000, 600, 350, 4000);
+
+        assertThat(manager.maxOutputTokens(2)).isEqualTo(1300);
+        assertThat(manager.maxOutputTokens(20)).isEqualTo(4000);
+    }
+}
@@ -1,5 +1,7 @@
 package com.clause.app.web;
 
+import com.clause.app.common.ClauseException;
+import com.clause.app.common.ErrorCode;
 import com.clause.app.domain.analysis.dto.AnalysisRequest;
 import com.clause.app.domain.document.entity.Document;
 import com.clause.app.domain.document.repo.DocumentRepository;
@@ -7,6 +9,8 @@ import com.clause.app.domain.llm.LlmClient;
 import com.clause.app.domain.llm.dto.LlmRequest;
 import com.clause.app.domain.llm.dto.LlmResponse;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,7 +22,10 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -50,7 +57,7 @@ class AnalysisControllerIntegrationTest {
                 .sizeBytes(1000L)
                 .storagePath("test.pdf")
                 .extractedText("제1조 테스트\n제2조 손해배상 무제한")
-                .textSha256("test-hash")
+                .textSha256("test-hash-" + UUID.randomUUID())
                 .build();
         document = documentRepository.save(document);
         documentId = document.getId();
@@ -146,5 +153,212 @@ class AnalysisControllerIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true));
     }
-}
 
+    @Test
+    void testIdenticalRequestIsServedFromCache() throws Exception {
+        when(llmClient.call(any(LlmRequest.class)))
+                .thenReturn(LlmResponse.builder()
+                        .content(CACHEABLE_JSON)
+                        .model("gpt-4o-mini")
+                        .build());
+
+        AnalysisRequest request = AnalysisRequest.builder()
+                .documentId(documentId)
+                .contractType("LEASE")
+                .userProfile("STUDENT")
+                .language("ko-KR")
+                .build();
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/v1/analyses")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.items[0].clause_id").value("C-001"));
+        }
+        verify(llmClient, times(1)).call(any(LlmRequest.class));
+
+        request.setBypassCache(true);
+        mockMvc.perform(post("/api/v1/analyses")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+        verify(llmClient, times(2)).call(any(LlmRequest.class));
+    }
+
+    @Test
+    void testOpenCircuitBreakerServesDegradedResult() throws Exception {
+        when(llmClient.call(any(LlmRequest.class)))
+                .thenThrow(new ClauseException(ErrorCode.LLM_UPSTREAM_ERROR,
+                        CallNotPermittedException.createCallNotPermittedException(CircuitBreaker.ofDefaults("test"))));
+
+        AnalysisRequest request = AnalysisRequest.builder()
+                .documentId(documentId)
+                .contractType("FREELANCER")
+                .userProfile("ENTRY_LEVEL")
+                .language("ko-KR")
+                .build();
+
+        mockMvc.perform(post("/api/v1/analyses")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.status").value("DEGRADED"))
+                .andExpect(jsonPath("$.data.items").isArray());
+    }
+
+    @Test
+    void testOpenCircuitBreakerPrefersCachedResult() throws Exception {
+        when(llmClient.call(any(LlmRequest.class)))
+                .thenReturn(LlmResponse.builder()
+                        .content(CACHEABLE_JSON)
+                        .model("gpt-4o-mini")
+                        .build())
+                .thenThrow(new ClauseException(ErrorCode.LLM_UPSTREAM_ERROR,
+                        CallNotPermittedException.createCallNotPermittedException(CircuitBreaker.ofDefaults("test"))));
+
+        AnalysisRequest request = AnalysisRequest.builder()
+                .documentId(documentId)
+                .contractType("NDA")
+                .userProfile("STUDENT")
+                .language("ko-KR")
+                .bypassCache(true)
+                .build();
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/v1/analyses")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.status").value("DONE"))
+                    .andExpect(jsonPath("$.data.items[0].clause_id").value("C-001"));
+        }
+        verify(llmClient, times(2)).call(any(LlmRequest.class));
+    }
+
+    @Test
+    void testIdempotencyKeyReplaysOriginalAnalysis() throws Exception {
+        when(llmClient.call(any(LlmRequest.class)))
+                .thenReturn(LlmResponse.builder()
+                        .content(CACHEABLE_JSON)
+                        .model("gpt-4o-mini")
+                        .build());
+
+        AnalysisRequest request = AnalysisRequest.builder()
+                .documentId(documentId)
+                .contractType("FREELANCER")
+                .userProfile("STUDENT")
+                .language("ko-KR")
+                .bypassCache(true)
+                .build();
+        String idempotencyKey = UUID.randomUUID().toString();
+
+        String firstBody = mockMvc.perform(post("/api/v1/analyses")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .header("Idempotency-Key", idempotencyKey))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String analysisId = objectMapper.readTree(firstBody).path("data").path("analysisId").asText();
+
+        mockMvc.perform(post("/api/v1/analyses")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .header("Idempotency-Key", idempotencyKey))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.analysisId").value(analysisId));
+        verify(llmClient, times(1)).call(any(LlmRequest.class));
+
+        request.setUserProfile("FREELANCER");
+        mockMvc.perform(post("/api/v1/analyses")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .header("Idempotency-Key", idempotencyKey))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
+    @Test
+    void testFailedAnalysisCanBeRetriedWithSameIdempotencyKey() throws Exception {
+        when(llmClient.call(any(LlmRequest.class)))
+                // ClauseException이 아닌 예외는 FAILED 상태의 결과로 저장된다.
+                .thenThrow(new IllegalStateException("connection reset"))
+                .thenReturn(LlmResponse.builder().content(CACHEABLE_JSON).model("gpt-4o-mini").build());
+
+        AnalysisRequest request = AnalysisRequest.builder()
+                .documentId(documentId)
+                .contractType("FREELANCER")
+                .userProfile("STUDENT")
+                .language("ko-KR")
+                .bypassCache(true)
+                .build();
+        String idempotencyKey = UUID.randomUUID().toString();
+
+        mockMvc.perform(post("/api/v1/analyses")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .header("Idempotency-Key", idempotencyKey))
+                .andExpect(jsonPath("$.data.status").value("FAILED"));
+        mockMvc.perform(post("/api/v1/analyses")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .header("Idempotency-Key", idempotencyKey))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.status").value("DONE"));
+        verify(llmClient, times(2)).call(any(LlmRequest.class));
+    }
+
+    @Test
+    void testIdempotencyKeyIsScopedToClient() throws Exception {
+        when(llmClient.call(any(LlmRequest.class)))
+                .thenReturn(LlmResponse.builder()
+                        .content(CACHEABLE_JSON)
+                        .model("gpt-4o-mini")
+                        .build());
+
+        AnalysisRequest request = AnalysisRequest.builder()
+                .documentId(documentId)
+                .contractType("FREELANCER")
+                .userProfile("STUDENT")
+                .language("ko-KR")
+                .bypassCache(true)
+                .build();
+        String idempotencyKey = UUID.randomUUID().toString();
+
+        String firstBody = mockMvc.perform(post("/api/v1/analyses")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .header("Idempotency-Key", idempotencyKey)
+                        .header("X-Forwarded-For", "10.0.0.1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String secondBody = mockMvc.perform(post("/api/v1/analyses")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .header("Idempotency-Key", idempotencyKey)
+                        .header("X-Forwarded-For", "10.0.0.2"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(objectMapper.readTree(secondBody).path("data").path("analysisId").asText())
+                .isNotEqualTo(objectMapper.readTree(firstBody).path("data").path("analysisId").asText());
+        verify(llmClient, times(2)).call(any(LlmRequest.class));
+    }
+
+    private static final String CACHEABLE_JSON = """
+            {
+              "overall_summary": {"warning_count": 0, "check_count": 1, "ok_count": 0, "key_points": ["테스트"]},
+              "items": [{
+                "clause_id": "C-001",
+                "title": "제1조",
+                "label": "CHECK",
+                "risk_reason": "확인이 필요해요.",
+                "what_to_confirm": ["확인사항"],
+                "soft_suggestion": ["제안사항"],
+                "triggers": []
+              }],
+              "negotiation_suggestions": ["협상 제안"],
+              "disclaimer": "면책"
+            }
+            """;
+}
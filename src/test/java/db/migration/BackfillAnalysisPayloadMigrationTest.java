@@ -0,0 +1,42 @@
+package db.migration;
+
+import com.clause.app.domain.analysis.dto.AnalysisPayload;
+import com.clause.app.domain.analysis.service.AnalysisPayloadCodec;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BackfillAnalysisPayloadMigrationTest {
+
+    private final V8__Backfill_analysis_payload migration = new V8__Backfill_analysis_payload();
+    private final AnalysisPayloadCodec codec = new AnalysisPayloadCodec();
+
+    @Test
+    void testBackfilledPayloadDecodesWithCurrentCodec() throws Exception {
+        byte[] payload = migration.encode(
+                "{\"warning_count\":1,\"key_points\":[\"손해배상 범위를 확인해 보세요.\"]}",
+                "[{\"clause_id\":\"C-1\",\"title\":\"제1조\",\"label\":\"WARNING\",\"risk_reason\":\"확인이 필요해요.\","
+                        + "\"what_to_confirm\":[\"범위\"],\"soft_suggestion\":[\"상한을 정해 보세요.\"],\"triggers\":[\"R1\"]}]",
+                "[\"상한액을 정해 두는 방법도 있어요.\"]",
+                "[\"UNLIMITED_LIABILITY\"]");
+
+        AnalysisPayload decoded = codec.decode(payload);
+
+        assertThat(decoded.overallSummary().getWarningCount()).isEqualTo(1);
+        assertThat(decoded.overallSummary().getCheckCount()).isZero();
+        assertThat(decoded.overallSummary().getKeyPoints()).containsExactly("손해배상 범위를 확인해 보세요.");
+        assertThat(decoded.items()).hasSize(1);
+        assertThat(decoded.items().get(0).getClauseId()).isEqualTo("C-1");
+        assertThat(decoded.items().get(0).getRiskReason()).isEqualTo("확인이 필요해요.");
+        assertThat(decoded.items().get(0).getSoftSuggestion()).containsExactly("상한을 정해 보세요.");
+        assertThat(decoded.negotiationSuggestions()).containsExactly("상한액을 정해 두는 방법도 있어요.");
+        assertThat(decoded.ruleTriggers()).containsExactly("UNLIMITED_LIABILITY");
+    }
+
+    @Test
+    void testEmptyRowIsLeftAloneAndMalformedRowThrows() throws Exception {
+        assertThat(migration.encode(null, null, null, null)).isNull();
+        assertThatThrownBy(() -> migration.encode(null, "[{\"clause_id\":", null, null)).isInstanceOf(Exception.class);
+    }
+}